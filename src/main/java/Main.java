@@ -1,10 +1,82 @@
+import controller.HeadlessController;
+import simu.data.ConfigManager;
+import simu.data.SimulationConfig;
+import simu.framework.Clock;
+import simu.framework.Trace;
+import simu.model.Customer;
+import simu.model.CustomerClass;
+import simu.model.MyEngine;
 import utils.CSVReport;
 import view.SimulatorGUI;
 
+import java.io.IOException;
+
 public class Main {
-	// Simulator using Java FX
+	/** A 14-hour trading day in simulation time units (minutes). */
+	private static final double TRADING_DAY = 14 * 60;
+
+	// Simulator using Java FX, or a headless run with --headless [--config name] [--time minutes]
 	public static void main(String args[]) {
 		CSVReport.resetReportFile();
+		if (args.length > 0 && args[0].equals("--headless")) {
+			runHeadless(args);
+			return;
+		}
 		SimulatorGUI.main(args);
 	}
+
+	/**
+	 * Runs one simulation without the user interface and without delays between events,
+	 * and prints a short summary.
+	 *
+	 * @param args The command line arguments
+	 */
+	private static void runHeadless(String[] args) {
+		SimulationConfig config = new SimulationConfig();
+		double time = TRADING_DAY;
+		for (int i = 1; i < args.length; i += 2) {
+			if (i + 1 == args.length) {
+				System.err.println("Missing value for option " + args[i]);
+				return;
+			}
+			switch (args[i]) {
+				case "--config" -> {
+					try {
+						config = ConfigManager.loadConfiguration(args[i + 1]);
+					} catch (IOException e) {
+						System.err.println("Error loading configuration: " + e.getMessage());
+						return;
+					}
+				}
+				case "--time" -> time = Double.parseDouble(args[i + 1]);
+				default -> System.err.println("Unknown option " + args[i]);
+			}
+		}
+
+		Trace.setTraceLevel(Trace.Level.WAR);
+		Clock.getInstance().setTime(0);
+		Customer.resetStatistics();
+
+		HeadlessController controller = new HeadlessController();
+		MyEngine engine = new MyEngine(controller, config);
+		engine.setSimulationTime(time);
+		engine.setDelay(0);
+
+		long start = System.nanoTime();
+		engine.run();
+		long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+		System.out.println("Simulated " + String.format("%.1f", controller.getEndTime()) + " time units in " + elapsed + " ms");
+		System.out.println("Random seed: " + engine.getRandomSeed());
+		System.out.println("Customers: " + controller.getCustomersCreated() + " entered, "
+				+ controller.getCustomersCompleted() + " completed, " + controller.getCustomersLeft() + " left early");
+		System.out.println("Mean time in store: " + String.format("%.2f", Customer.getMeanServiceTime()));
+		for (CustomerClass customerClass : CustomerClass.values()) {
+			if (Customer.getCompletedCustomers(customerClass) > 0) {
+				System.out.println("  " + customerClass + ": " + Customer.getCompletedCustomers(customerClass)
+						+ " completed, mean time in store " + String.format("%.2f", Customer.getMeanTimeInStore(customerClass))
+						+ ", mean wait " + String.format("%.2f", Customer.getMeanWaitingTime(customerClass)));
+			}
+		}
+	}
 }
@@ -692,6 +692,27 @@ public class Controller implements IControllerVtoM, IControllerMtoV {
 
 
 
+    /**
+     * Notifies the UI that a customer left the store without completing checkout,
+     * either balking at a long queue or giving up while waiting.
+     * Removes the customer from tracking and visualization without reporting results.
+     *
+     * @param customerId The ID of the customer that left
+     * @param type The service point type the customer left from
+     */
+    @Override
+    public void customerLeft(int customerId, ServicePointType type) {
+        activeCustomers.remove(customerId);
+
+        Platform.runLater(() -> {
+            if (ui != null && ui.getVisualisation() instanceof Visualisation vis) {
+                vis.removeCustomer(customerId);
+                queueSizes.merge(type, -1, (oldValue, value) -> Math.max(0, oldValue + value));
+                vis.decrementQueueSize(type);
+            }
+        });
+    }
+
     private int totalQueueLength() {
         return queueSizes.values().stream().mapToInt(Integer::intValue).sum();
     }
@@ -0,0 +1,79 @@
+package controller;
+
+import simu.model.Customer;
+import simu.model.ServicePointType;
+
+/**
+ * Controller for simulation runs without a user interface.
+ * Counts customers instead of animating them, so the engine can run at full speed.
+ */
+public class HeadlessController implements IControllerMtoV {
+    private int customersCreated = 0;
+    private int customersCompleted = 0;
+    private int customersLeft = 0;
+    private double endTime = 0.0;
+
+    @Override
+    public void showEndTime(double time) {
+        endTime = time;
+    }
+
+    @Override
+    public void customerCreated(Customer customer) {
+        customersCreated++;
+    }
+
+    @Override
+    public void customerMoved(int customerId, ServicePointType from, ServicePointType to) {
+    }
+
+    @Override
+    public void customerCompleted(int customerId, ServicePointType type) {
+        customersCompleted++;
+    }
+
+    @Override
+    public void customerLeft(int customerId, ServicePointType type) {
+        customersLeft++;
+    }
+
+    @Override
+    public void updateTimeLeft(int secondsLeft) {
+    }
+
+    /**
+     * Gets the number of customers that entered the store.
+     *
+     * @return The created customer count
+     */
+    public int getCustomersCreated() {
+        return customersCreated;
+    }
+
+    /**
+     * Gets the number of customers that completed checkout.
+     *
+     * @return The completed customer count
+     */
+    public int getCustomersCompleted() {
+        return customersCompleted;
+    }
+
+    /**
+     * Gets the number of customers that left without completing checkout.
+     *
+     * @return The count of customers who balked or reneged
+     */
+    public int getCustomersLeft() {
+        return customersLeft;
+    }
+
+    /**
+     * Gets the simulation time at which the run ended.
+     *
+     * @return The end time
+     */
+    public double getEndTime() {
+        return endTime;
+    }
+}
@@ -12,5 +12,7 @@ public interface IControllerMtoV {
 
     void customerCompleted(int customerId, ServicePointType type);
 
+    void customerLeft(int customerId, ServicePointType type);
+
     void updateTimeLeft(int secondsLeft);
 }
\ No newline at end of file
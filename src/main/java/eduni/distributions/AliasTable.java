@@ -0,0 +1,67 @@
+package eduni.distributions;
+
+/** Vose's alias table over the indices <code>0 .. n-1</code> of a list of weights.
+  * Building it costs O(n) once, after which one uniform number picks an index in O(1):
+  * it chooses a column and is reused to choose between the column's own index and
+  * its alias. The table draws nothing itself, so generators built on it keep their
+  * own source.
+  * @see Discrete
+  * @see Empirical
+  */
+
+final class AliasTable {
+    // probability of keeping a column's own index, otherwise its alias is returned
+    private final double[] keep;
+    private final int[] alias;
+
+    /**
+     * @param name The distribution the table is built for, for error messages
+     * @param weights The weight of each index, not necessarily summing to 1
+     */
+    AliasTable(String name, double[] weights) {
+        int n = weights.length;
+        if (n == 0)
+            throw new ParameterException(name + ": At least one weight is needed.");
+        double total = 0.0;
+        for (double w : weights) {
+            if (!(w >= 0) || Double.isInfinite(w))
+                throw new ParameterException(name + ": The weights must be finite and not negative.");
+            total += w;
+        }
+        if (total <= 0)
+            throw new ParameterException(name + ": At least one weight must be positive.");
+
+        keep = new double[n];
+        alias = new int[n];
+        // Vose: scale weights to mean 1 and pair each small column with a large one
+        double[] scaled = new double[n];
+        int[] small = new int[n], large = new int[n];
+        int smalls = 0, larges = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) small[smalls++] = i;
+            else large[larges++] = i;
+        }
+        while (smalls > 0 && larges > 0) {
+            int s = small[--smalls], l = large[--larges];
+            keep[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) small[smalls++] = l;
+            else large[larges++] = l;
+        }
+        // what is left is 1 up to rounding
+        while (larges > 0) { int l = large[--larges]; keep[l] = 1.0; alias[l] = l; }
+        while (smalls > 0) { int s = small[--smalls]; keep[s] = 1.0; alias[s] = s; }
+    }
+
+    /**
+     * @param u A number uniformly distributed between 0 and 1
+     * @return The index drawn
+     */
+    int indexAt(double u) {
+        double scaled = u * keep.length;
+        int column = Math.min((int) scaled, keep.length - 1);
+        return scaled - column < keep[column] ? column : alias[column];
+    }
+}
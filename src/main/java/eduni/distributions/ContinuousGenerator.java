@@ -4,4 +4,17 @@ package eduni.distributions;
  */
 public interface ContinuousGenerator extends Seedable {
     double sample(); 
+
+    /** Fills part of an array with samples, the same values <code>len</code> calls to
+     * <code>sample()</code> would return. Generators override this with a loop that
+     * keeps their state in registers and skips the call per value.
+     * @param out The array to fill
+     * @param off The index of the first sample
+     * @param len The number of samples
+     */
+    default void sample(double[] out, int off, int len) {
+	java.util.Objects.checkFromIndexSize(off, len, out.length);
+	for (int i = off; i < off + len; i++)
+	    out[i] = sample();
+    }
 }
@@ -0,0 +1,74 @@
+package eduni.distributions;
+
+/** A random number generator for a discrete distribution given by a table of values
+  * and their weights, such as a histogram of observed data. The table is turned into
+  * an alias table with Vose's method in O(n) once, after which every sample costs
+  * O(1): one uniform sample picks a column and is reused to choose between the
+  * column's own value and its alias.
+  */
+
+public class Discrete extends Generator implements DiscreteGenerator {
+    private long[] values;
+    private AliasTable table;
+
+    /**
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param values The values that can be drawn
+     * @param weights The weight of each value, not necessarily summing to 1
+     */
+    public Discrete(long[] values, double[] weights) {
+        super();
+        set(values, weights);
+    }
+
+    /**
+     * The constructor with which a specific seed is set for the random
+     * number generator
+     * @param values The values that can be drawn
+     * @param weights The weight of each value, not necessarily summing to 1
+     * @param seed The initial seed for the generator, two instances with
+     *             the same seed will generate the same sequence of numbers
+     */
+    public Discrete(long[] values, double[] weights, long seed) {
+        super(seed);
+        set(values, weights);
+    }
+
+    /**
+     * Draws the indices <code>0 .. weights.length-1</code>.
+     * @param weights The weight of each index
+     */
+    public Discrete(double[] weights) {
+        this(indices(weights.length), weights);
+    }
+
+    private static long[] indices(int n) {
+        long[] indices = new long[n];
+        for (int i = 0; i < n; i++) indices[i] = i;
+        return indices;
+    }
+
+    private void set(long[] values, double[] weights) {
+        if (values.length != weights.length)
+            throw new ParameterException("Discrete: There must be one weight for every value.");
+        table = new AliasTable("Discrete", weights);
+        this.values = values.clone();
+    }
+
+    /**
+     * Maps a uniform number to a value, for drawing from a stream of one's own.
+     * @param u A number uniformly distributed between 0 and 1
+     * @return The value drawn
+     */
+    public long valueAt(double u) {
+        return values[table.indexAt(u)];
+    }
+
+    /**
+     * Generate a new random number.
+     * @return The next random number in the sequence
+     */
+    public long sample() {
+        return valueAt(distrib.source.sample());
+    }
+}
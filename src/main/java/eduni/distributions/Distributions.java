@@ -9,29 +9,101 @@ public class Distributions {
      */
     ContinuousGenerator source;
     
+    private static RandomBackend defaultBackend = RandomBackend.LCG;
+
     /** The seed is automatically provided by a well-spaced <code>SeedGenerator</code>
      */
-    public Distributions() { source = new RandomGenerator(); }
+    public Distributions() { source = defaultBackend.create(); }
     /** The seed is manually set */
-    public Distributions(long seed) { source = new RandomGenerator(seed); }
+    public Distributions(long seed) { source = defaultBackend.create(seed); }
     /** This constructor allows for manually specially the continous generator 
      * shared to compute the distribution function.
      */
     public Distributions(ContinuousGenerator gen) { source = gen; }
 
+    /** Selects the generator that distributions created from now on draw from.
+     * Existing distributions keep their generator.
+     */
+    public static void setDefaultBackend(RandomBackend backend) { defaultBackend = backend; }
+    /** @return the generator new distributions draw from */
+    public static RandomBackend getDefaultBackend() { return defaultBackend; }
+
     // discrete distributions
     /** computes a Bernoulli's distribution
      * @return 1 iif <i>sample</i> &le; prob, 0 otherwise; <i>sample</i> is provided by the PRGN
      */
     public long bernoulli(double prob) { return source.sample()<=prob?1:0; }
 
-    /** computes a binomial distribution
-     * @return &sum;(i=0; i&lt;trials-1; bernoulli(prob))
+    /** Below this many expected successes (or failures) binomial samples are not drawn by
+     * transformed rejection, whose constants are only valid from there on */
+    private static final double BTRS_MIN_MEAN = 10.0;
+    /** Up to this many trials binomial samples are the sum of Bernoulli trials */
+    private static final int BERNOULLI_MAX_TRIALS = 50;
+
+    /** computes a binomial distribution, choosing the method by the parameters:
+     * the sum of Bernoulli trials for at most 50 trials, counting geometric waiting
+     * times for more trials but fewer than 10 expected successes, and Hörmann's
+     * transformed rejection (BTRS, 1993) otherwise, which costs O(1) whatever the
+     * number of trials
+     * @return the number of successes in <code>trials</code> Bernoulli trials
      */
     public long binomial(double prob, int trials) {
-	long sum = 0l;
-	for (int i=0; i<trials; i++) sum += bernoulli(prob);
-	return sum;
+	if (trials <= BERNOULLI_MAX_TRIALS) {
+	    long sum = 0l;
+	    for (int i=0; i<trials; i++) sum += bernoulli(prob);
+	    return sum;
+	}
+	// draw the rarer outcome and mirror
+	double p = Math.min(prob, 1.0 - prob);
+	long k = trials * p < BTRS_MIN_MEAN ? binomialWaiting(p, trials) : binomialBtrs(p, trials);
+	return p == prob ? k : trials - k;
+    }
+
+    /** the number of successes as the number of geometric waiting times that fit in
+     * <code>trials</code>, O(trials * p) */
+    private long binomialWaiting(double p, int trials) {
+	if (p <= 0.0) return 0;
+	double logq = Math.log(1.0 - p);
+	long k = 0, used = 0;
+	for (;;) {
+	    used += (long) Math.ceil(Math.log(source.sample()) / logq);
+	    if (used > trials) return k;
+	    k++;
+	}
+    }
+
+    // BTRS constants of the last parameters, which a generator reuses for every sample
+    private double btrsP = -1, btrsA, btrsB, btrsC, btrsVr, btrsAlpha, btrsLpq, btrsH;
+    private int btrsN;
+    private long btrsM;
+
+    /** transformed rejection with squeeze, for p &le; 0.5 and trials * p &ge; 10 */
+    private long binomialBtrs(double p, int n) {
+	if (p != btrsP || n != btrsN) {
+	    double q = 1.0 - p;
+	    double spq = Math.sqrt(n * p * q);
+	    btrsB = 1.15 + 2.53 * spq;
+	    btrsA = -0.0873 + 0.0248 * btrsB + 0.01 * p;
+	    btrsC = n * p + 0.5;
+	    btrsVr = 0.92 - 4.2 / btrsB;
+	    btrsAlpha = (2.83 + 5.1 / btrsB) * spq;
+	    btrsLpq = Math.log(p / q);
+	    btrsM = (long) Math.floor((n + 1) * p);
+	    btrsH = logFactorial(btrsM) + logFactorial(n - btrsM);
+	    btrsP = p;
+	    btrsN = n;
+	}
+	double a = btrsA, b = btrsB, c = btrsC, vr = btrsVr, alpha = btrsAlpha, lpq = btrsLpq, h = btrsH;
+	long m = btrsM;
+	for (;;) {
+	    double u = source.sample() - 0.5, v = source.sample();
+	    double us = 0.5 - Math.abs(u);
+	    long k = (long) Math.floor((2 * a / us + b) * u + c);
+	    if (k < 0 || k > n) continue;
+	    if (us >= 0.07 && v <= vr) return k;
+	    v = Math.log(v * alpha / (a / (us * us) + b));
+	    if (v <= h - logFactorial(k) - logFactorial(n - k) + (k - m) * lpq) return k;
+	}
     }
 
     /** computes a geometric distribution
@@ -51,10 +123,16 @@ public class Distributions {
 	return sum;
     }
 
-    /** computes a poisson distribution
-     * @return the smallest integer x so as &prod;(i=0; i&lt;x; <i>sample</i>) &le; exp(-mean) 
+    /** From this mean on Poisson samples are drawn by transformed rejection */
+    private static final double PTRS_MIN_MEAN = 10.0;
+
+    /** computes a poisson distribution. Below a mean of 10 it is
+     * the smallest integer x so as &prod;(i=0; i&lt;x; <i>sample</i>) &le; exp(-mean),
+     * which costs O(mean) samples; from 10 on Hörmann's transformed rejection with
+     * squeeze (PTRS, 1993) is used, which costs O(1) and never underflows
      */
     public long poisson(double mean) {
+	if (mean >= PTRS_MIN_MEAN) return poissonPtrs(mean);
 	long x = -1L;
 	double m = Math.exp(-mean), product=1;
 	do {
@@ -63,45 +141,62 @@ public class Distributions {
 	} while(m < product);
 	return x;
     }
+
+    // PTRS constants of the last mean
+    private double ptrsMean = -1, ptrsLogMean, ptrsA, ptrsB, ptrsInvAlpha, ptrsVr;
+
+    private long poissonPtrs(double mean) {
+	if (mean != ptrsMean) {
+	    ptrsLogMean = Math.log(mean);
+	    ptrsB = 0.931 + 2.53 * Math.sqrt(mean);
+	    ptrsA = -0.059 + 0.02483 * ptrsB;
+	    ptrsInvAlpha = 1.1239 + 1.1328 / (ptrsB - 3.4);
+	    ptrsVr = 0.9277 - 3.6224 / (ptrsB - 2);
+	    ptrsMean = mean;
+	}
+	double loglam = ptrsLogMean, b = ptrsB, a = ptrsA, invalpha = ptrsInvAlpha, vr = ptrsVr;
+	for (;;) {
+	    double u = source.sample() - 0.5, v = source.sample();
+	    double us = 0.5 - Math.abs(u);
+	    long k = (long) Math.floor((2 * a / us + b) * u + mean + 0.43);
+	    if (us >= 0.07 && v <= vr) return k;
+	    if (k < 0 || (us < 0.013 && v > us)) continue;
+	    if (Math.log(v * invalpha / (a / (us * us) + b)) <= -mean + k * loglam - logFactorial(k)) return k;
+	}
+    }
+
+    private static final double[] LOG_FACTORIALS = new double[10];
+    static {
+	for (int k = 1; k < LOG_FACTORIALS.length; k++)
+	    LOG_FACTORIALS[k] = LOG_FACTORIALS[k-1] + Math.log(k);
+    }
+
+    /** log(k!), from a table below 10 and from Stirling's series, accurate to 1e-10, above */
+    static double logFactorial(long k) {
+	if (k < LOG_FACTORIALS.length) return LOG_FACTORIALS[(int) k];
+	double x = k + 1.0, x2 = x * x;
+	return (x - 0.5) * Math.log(x) - x + 0.5 * Math.log(2 * Math.PI)
+	    + (1.0/12 - (1.0/360 - 1.0/(1260 * x2)) / x2) / x;
+    }
     
     // continuous distributions
     private double power(double a) {
 	return Math.pow(source.sample(), 1.0/a);
     }
     
-    /** computes a beta distribution using Cheng's method (1978) when shape_a&gt;1 or shape_b&gt;1
-     * and Berman's method (1970) otherwise
+    /** computes a beta distribution as X/(X+Y) with X and Y gamma distributed with
+     * shapes shape_a and shape_b, each drawn in O(1) by <code>standardGamma</code>
      */
     public double beta(double shape_a, double shape_b) {
-	if (shape_a == 1.0)
-	    return 1.0-power(shape_b);
-	if (shape_b == 1.0)
-	    return power(shape_a);
-	
-	if ((shape_a > 1.0) || (shape_b > 1.0)) {
-	    // Cheng's method (1978)
-	    double alpha = shape_a + shape_b;
-	    double min = Math.min(shape_a, shape_b);
-	    double beta;
-	    if (min <= 1.0) beta = 1.0/min;
-	    else
-		beta = Math.sqrt((alpha - 2.0)/(2.0*shape_a*shape_b - alpha));
-	    
-	    double gamma = shape_a + 1.0/shape_b;
-	    double w, el1, el2;
-	    do {
-		double u1 = source.sample(), 
-		    u2 = source.sample(),
-		    u3 = source.sample();
-		double v = beta*Math.log(u1/(1.0-u1));
-		w = alpha*Math.exp(v);
-		el1 = alpha*Math.log(alpha/(beta+w)) + gamma*v - Math.log(4.0);
-		el2 = Math.log(u1*u2*u3);
-	    } while(el1 < el2);
-	    return w/(beta+w);
-	} 
-	
-	// Berman's method (1970)
+	double x = standardGamma(shape_a);
+	return x / (x + standardGamma(shape_b));
+    }
+
+    /** Berman's method (1970) for shape_a&lt;=1 and shape_b&lt;=1, the case the method
+     * used before <code>beta</code> moved to gamma samples got right; kept to validate
+     * <code>beta</code> and <code>gammaClassic</code>
+     */
+    double betaClassic(double shape_a, double shape_b) {
 	double x, y;
 	do {
 	    x = power(shape_a);
@@ -125,20 +220,36 @@ public class Distributions {
     }
 
     /** computes a chisquare distribution
-     * @return &sum;(i=0; i&lt;deg_freedom; normal(0,1))
+     * @return 2 * standardGamma(deg_freedom/2), the same distribution as &sum;(i=0; i&lt;deg_freedom; normal(0,1)<sup>2</sup>)
      */
     public double chisquare(long deg_freedom) {
+	return deg_freedom <= 0 ? 0.0 : 2.0 * standardGamma(deg_freedom / 2.0);
+    }
+
+    /** the sum of squared normal samples, O(deg_freedom); kept to validate <code>chisquare</code>
+     */
+    double chisquareClassic(long deg_freedom) {
 	// use normal2 because sqrt(1)=1
 	double result = 0.0;
-	for (long i=0L; i < deg_freedom; i++)
-	    result += normal2(0.0, 1.0);
+	for (long i=0L; i < deg_freedom; i++) {
+	    double z = normal2(0.0, 1.0);
+	    result += z * z;
+	}
 	return result;
     }
     
-    /** computes an Erlang's distribution
-     * @return -scale * log ( &prod;(i=0; i&lt;shape; <i>sample</i>) ); <i>sample</i> is provided by the PRGN
+    /** computes an Erlang's distribution, a gamma distribution with an integer shape;
+     * a fractional shape is rounded up
+     * @return scale * standardGamma(&lceil;shape&rceil;)
      */
     public double erlang(double scale, double shape) {
+	return shape <= 0 ? 0.0 : scale * standardGamma(Math.ceil(shape));
+    }
+
+    /** -scale * log ( &prod;(i=0; i&lt;shape; <i>sample</i>) ), O(shape) and underflowing
+     * for large shapes; kept to validate <code>erlang</code>
+     */
+    double erlangClassic(double scale, double shape) {
 	double product = 1.0;
 	for (int i=0; i<shape; i++)
 	    product *= source.sample();
@@ -154,8 +265,37 @@ public class Distributions {
     }
 
     /** computes a gamma distribution
+     * @return scale * standardGamma(shape)
      */
     public double gamma(double scale, double shape) {
+	return scale * standardGamma(shape);
+    }
+
+    /** computes a gamma distribution with scale 1 by the method of Marsaglia and Tsang (2000):
+     * a transformed normal sample accepted with a squeeze in about 98% of cases, so the cost
+     * does not grow with the shape. Shapes below 1 are boosted by one and scaled back with
+     * <i>sample</i><sup>1/shape</sup>.
+     */
+    public double standardGamma(double shape) {
+	if (shape < 1.0)
+	    return standardGamma(shape + 1.0) * Math.pow(source.sample(), 1.0 / shape);
+	double d = shape - 1.0 / 3.0, c = 1.0 / Math.sqrt(9.0 * d);
+	for (;;) {
+	    double x = Ziggurat.normal(source);
+	    double v = 1.0 + c * x;
+	    if (v <= 0.0) continue;
+	    v = v * v * v;
+	    double u = source.sample();
+	    double x2 = x * x;
+	    if (u < 1.0 - 0.0331 * x2 * x2) return d * v;
+	    if (Math.log(u) < 0.5 * x2 + d * (1.0 - v + Math.log(v))) return d * v;
+	}
+    }
+
+    /** products of uniforms for integer shapes, and a beta and an exponential sample or a
+     * sum of both cases otherwise; kept to validate <code>gamma</code>
+     */
+    double gammaClassic(double scale, double shape) {
 	if (shape == Math.floor(shape)) {
 	    // The shape is an integer
 	    double product = 1.0;
@@ -166,11 +306,11 @@ public class Distributions {
 	} 
 	// not an integer
 	if (shape < 1.0)
-	    return scale * beta(shape, 1.0-shape) * negexp(1.0);
+	    return scale * betaClassic(shape, 1.0-shape) * negexp(1.0);
 	
 	// shape >= 1.0
 	double floor = Math.floor(shape);
-	return gamma(scale, floor) + gamma(scale, shape-floor);
+	return gammaClassic(scale, floor) + gammaClassic(scale, shape-floor);
     }
     
     /** computes an invgamma distribution
@@ -210,6 +350,24 @@ public class Distributions {
 	return -mean * Math.log(source.sample());
     }
     
+    /** computes a negexp distribution with the ziggurat method, which needs a
+     * <code>log</code> in about 1% of samples only
+     * @return mean * an exponential sample of mean 1
+     * @see Ziggurat
+     */
+    public double negexpZiggurat(double mean) {
+	return mean * Ziggurat.exponential(source);
+    }
+
+    /** fills part of an array with negexp samples, the values <code>len</code> calls to
+     * <code>negexp(mean)</code> would return
+     */
+    public void negexp(double mean, double[] out, int off, int len) {
+	source.sample(out, off, len);
+	for (int i = off; i < off + len; i++)
+	    out[i] = -mean * Math.log(out[i]);
+    }
+    
     /** computes a normal distribution; <i>sample</i> are provided by the same PRGN
      * @return mean + &radic;(variance) * cos (2&Pi; * <i>sample</i>) * &radic;(-2 * log (<i>sample</i>))
      */
@@ -226,6 +384,32 @@ public class Distributions {
 	return mean + std_dev * Math.cos(2 * Math.PI * u1) * Math.sqrt(-2 * Math.log(u2));
     }
 
+    /** computes a normal distribution with the ziggurat method, one uniform sample per
+     * value in about 99% of cases and no <code>cos</code>, <code>log</code> or <code>sqrt</code>
+     * @param std_dev is assumed to be the square root of the variance.
+     * @return mean + std_dev * a standard normal sample
+     * @see Ziggurat
+     */
+    public double normalZiggurat(double mean, double std_dev) {
+	return mean + std_dev * Ziggurat.normal(source);
+    }
+
+    /** fills part of an array with normal samples, the values <code>len</code> calls to
+     * <code>normal2(mean, std_dev)</code> would return
+     */
+    public void normal2(double mean, double std_dev, double[] out, int off, int len) {
+	java.util.Objects.checkFromIndexSize(off, len, out.length);
+	// two uniforms per sample, drawn a block at a time
+	double[] u = new double[2 * Math.min(len, 256)];
+	for (int done = 0; done < len; ) {
+	    int n = Math.min(len - done, u.length / 2);
+	    source.sample(u, 0, 2 * n);
+	    for (int i = 0; i < n; i++)
+		out[off + done + i] = mean + std_dev * Math.cos(2 * Math.PI * u[2 * i]) * Math.sqrt(-2 * Math.log(u[2 * i + 1]));
+	    done += n;
+	}
+    }
+
     /** computes a pareto distribution; <i>sample</i> is provided by the PRGN
      * @return scale / (<i>sample</i>^(1/shape))
      */
@@ -248,11 +432,21 @@ public class Distributions {
 	return (max-min) * source.sample() + min;
     }
 
+    /** fills part of an array with uniform samples, the values <code>len</code> calls to
+     * <code>uniform(min, max)</code> would return
+     */
+    public void uniform(double min, double max, double[] out, int off, int len) {
+	source.sample(out, off, len);
+	double range = max - min;
+	for (int i = off; i < off + len; i++)
+	    out[i] = range * out[i] + min;
+    }
+
     /** computes a weibull distribution; <i>sample</i> is provided by the PRGN
-     * @return scale * (<i>sample</i> ^ (1/shape))
+     * @return scale * (-log(<i>sample</i>) ^ (1/shape))
      */
     public double weibull(double scale, double shape) {
-	return scale * Math.pow(Math.log(source.sample()), 1/shape);
+	return scale * Math.pow(-Math.log(source.sample()), 1/shape);
     }
 }
 
@@ -0,0 +1,86 @@
+package eduni.distributions;
+
+import java.util.Arrays;
+
+/** A random number generator for a continuous distribution estimated from data.
+  * The cumulative distribution function is piecewise linear: the data is a histogram
+  * of bins, each bin is drawn with its weight through an alias table and the value is
+  * uniform within the bin. Building costs O(n) in the number of bins and every sample
+  * costs O(1) with two uniform samples.
+  * @see AliasTable
+  */
+
+public class Empirical extends Generator implements ContinuousGenerator {
+    private double[] edges;
+    private AliasTable bins;
+
+    /**
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param edges The bin edges in increasing order, one more than the weights
+     * @param weights The weight of each bin, not necessarily summing to 1
+     */
+    public Empirical(double[] edges, double[] weights) {
+        super();
+        set(edges, weights);
+    }
+
+    /**
+     * The constructor with which a specific seed is set for the random
+     * number generator
+     * @param edges The bin edges in increasing order, one more than the weights
+     * @param weights The weight of each bin, not necessarily summing to 1
+     * @param seed The initial seed for the generator, two instances with
+     *             the same seed will generate the same sequence of numbers
+     */
+    public Empirical(double[] edges, double[] weights, long seed) {
+        super(seed);
+        set(edges, weights);
+    }
+
+    /**
+     * Estimates the distribution from raw observations, with the cumulative distribution
+     * function interpolated linearly between the sorted observations. Sorting makes this
+     * O(n log n); samples are O(1) as for a histogram.
+     * @param data At least two observations, not all equal
+     * @return The empirical distribution, seeded by the <code>SeedGenerator</code>
+     */
+    public static Empirical fromData(double[] data) {
+        if (data.length < 2)
+            throw new ParameterException("Empirical: At least two observations are needed.");
+        double[] edges = data.clone();
+        Arrays.sort(edges);
+        double[] weights = new double[edges.length - 1];
+        Arrays.fill(weights, 1.0);
+        return new Empirical(edges, weights);
+    }
+
+    private void set(double[] edges, double[] weights) {
+        if (edges.length != weights.length + 1)
+            throw new ParameterException("Empirical: There must be one more edge than weights.");
+        for (int i = 1; i < edges.length; i++)
+            if (!(edges[i] >= edges[i-1]))
+                throw new ParameterException("Empirical: The edges must be in increasing order.");
+        this.edges = edges.clone();
+        bins = new AliasTable("Empirical", weights);
+    }
+
+    /**
+     * Maps two uniform numbers to a value, for drawing from a stream of one's own.
+     * @param binUniform A number uniformly distributed between 0 and 1 choosing the bin
+     * @param positionUniform A number uniformly distributed between 0 and 1 placing the value in the bin
+     * @return The value drawn
+     */
+    public double valueAt(double binUniform, double positionUniform) {
+        int bin = bins.indexAt(binUniform);
+        return edges[bin] + positionUniform * (edges[bin+1] - edges[bin]);
+    }
+
+    /**
+     * Generate a new random number.
+     * @return The next random number in the sequence
+     */
+    public double sample() {
+        double u = distrib.source.sample();
+        return valueAt(u, distrib.source.sample());
+    }
+}
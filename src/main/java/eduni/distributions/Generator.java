@@ -7,6 +7,14 @@ public abstract class Generator implements Seedable {
     protected Distributions distrib;
     Generator () { distrib = new Distributions(); }
     Generator (long seed) { distrib = new Distributions(seed); }
+
+    /** Replaces the uniform generator this generator draws from, for instance with a
+     * stream split from a <code>Xoshiro256PlusPlus</code>.
+     * @param source The new uniform generator
+     */
+    public void setSource(ContinuousGenerator source) { distrib = new Distributions(source); }
+    /** @return The uniform generator this generator draws from */
+    public ContinuousGenerator getSource() { return distrib.source; }
     
     // ----- implements Seedable { -----
     public void setSeed(long seed) { distrib.source.setSeed(seed); }
@@ -8,6 +8,7 @@ package eduni.distributions;
 
 public class Negexp extends Generator implements ContinuousGenerator {
     private double mean;
+    private boolean ziggurat = false;
     /**
      * the seed is aumatically provided by the <code>SeedGenerator</code>
      */
@@ -33,11 +34,44 @@ public class Negexp extends Generator implements ContinuousGenerator {
         this.mean = mean;
     }
 
+    /**
+     * Selects how samples are computed: by inversion, one <code>log</code> per sample,
+     * or with the ziggurat method, which is faster. The two give different sequences.
+     * @param ziggurat true for the ziggurat method
+     */
+    public void setZiggurat(boolean ziggurat) {
+        this.ziggurat = ziggurat;
+    }
+
+    /**
+     * @return true if samples are computed with the ziggurat method
+     */
+    public boolean isZiggurat() {
+        return ziggurat;
+    }
+
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
     public double sample() { 
-         return distrib.negexp(mean);
+         return ziggurat ? distrib.negexpZiggurat(mean) : distrib.negexp(mean);
+    }
+
+    /**
+     * Fills part of an array with random numbers, the values <code>len</code> calls to
+     * <code>sample()</code> would return.
+     * @param out The array to fill
+     * @param off The index of the first sample
+     * @param len The number of samples
+     */
+    public void sample(double[] out, int off, int len) {
+        if (!ziggurat) {
+            distrib.negexp(mean, out, off, len);
+            return;
+        }
+        java.util.Objects.checkFromIndexSize(off, len, out.length);
+        for (int i = off; i < off + len; i++)
+            out[i] = distrib.negexpZiggurat(mean);
     }
 }
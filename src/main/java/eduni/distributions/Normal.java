@@ -8,6 +8,7 @@ package eduni.distributions;
 
 public class Normal extends Generator implements ContinuousGenerator {
     protected double mean, std_dev;
+    private boolean ziggurat = false;
     
     /**
      * the seed is automatically provided by the <code>SeedGenerator</code>
@@ -39,9 +40,41 @@ public class Normal extends Generator implements ContinuousGenerator {
 	this.std_dev = Math.sqrt(variance);
     }
 
+    /**
+     * Selects how samples are computed: with Box-Muller, two uniform samples and a
+     * <code>cos</code>, <code>log</code> and <code>sqrt</code> per sample, or with the
+     * ziggurat method, which is faster. The two give different sequences.
+     * @param ziggurat true for the ziggurat method
+     */
+    public void setZiggurat(boolean ziggurat) { this.ziggurat = ziggurat; }
+
+    /**
+     * @return true if samples are computed with the ziggurat method
+     */
+    public boolean isZiggurat() { return ziggurat; }
+
     /**
      * Generate a new random number.
      * @return The next random number in the sequence
      */
-    public double sample() { return distrib.normal2(mean, std_dev); }
+    public double sample() {
+	return ziggurat ? distrib.normalZiggurat(mean, std_dev) : distrib.normal2(mean, std_dev);
+    }
+
+    /**
+     * Fills part of an array with random numbers, the values <code>len</code> calls to
+     * <code>sample()</code> would return.
+     * @param out The array to fill
+     * @param off The index of the first sample
+     * @param len The number of samples
+     */
+    public void sample(double[] out, int off, int len) {
+	if (!ziggurat) {
+	    distrib.normal2(mean, std_dev, out, off, len);
+	    return;
+	}
+	java.util.Objects.checkFromIndexSize(off, len, out.length);
+	for (int i = off; i < off + len; i++)
+	    out[i] = distrib.normalZiggurat(mean, std_dev);
+    }
 }
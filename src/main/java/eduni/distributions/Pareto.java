@@ -40,6 +40,6 @@ public class Pareto extends Generator implements ContinuousGenerator {
      * @return The next random number in the sequence
      */
     public double sample() { 
-         return distrib.pareto(shape, scale);
+         return distrib.pareto(scale, shape);
     }
 }
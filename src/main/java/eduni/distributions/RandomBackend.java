@@ -0,0 +1,32 @@
+package eduni.distributions;
+
+/**
+ * The uniform random number generators the distributions can draw from.
+ * New <code>Distributions</code>, and so new generators, use the default backend,
+ * which is the original LCG unless changed with
+ * {@link Distributions#setDefaultBackend(RandomBackend)}.
+ * @see Generator#setSource(ContinuousGenerator)
+ */
+public enum RandomBackend {
+    /** The 31-bit multiplicative LCG of <code>RandomGenerator</code>, period <code>2<sup>31</sup>-2</code> */
+    LCG {
+	public ContinuousGenerator create() { return new RandomGenerator(); }
+	public ContinuousGenerator create(long seed) { return new RandomGenerator(seed); }
+    },
+    /** xoshiro256++, period <code>2<sup>256</sup>-1</code>, with jump-ahead streams */
+    XOSHIRO256PP {
+	public ContinuousGenerator create() { return new Xoshiro256PlusPlus(); }
+	public ContinuousGenerator create(long seed) { return new Xoshiro256PlusPlus(seed); }
+    };
+
+    /**
+     * @return A new generator seeded by the default <code>SeedGenerator</code>
+     */
+    public abstract ContinuousGenerator create();
+
+    /**
+     * @param seed The initial seed
+     * @return A new generator with the given seed
+     */
+    public abstract ContinuousGenerator create(long seed);
+}
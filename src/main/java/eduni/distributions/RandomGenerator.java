@@ -17,9 +17,9 @@ package eduni.distributions;
 
 public class RandomGenerator implements ContinuousGenerator {
     // The multiplier
-    private final long a = 742938285;
+    private static final long a = 742938285;
     // The modulus
-    private final long m = 2147483647;
+    private static final long m = 2147483647;
     // The last computed random number
     private long seed;
     
@@ -30,6 +30,16 @@ public class RandomGenerator implements ContinuousGenerator {
     public double sample() { 
 	return ((double)nextLong()) / m;
     }
+
+    public void sample(double[] out, int off, int len) {
+	java.util.Objects.checkFromIndexSize(off, len, out.length);
+	long y = seed;
+	for (int i = off; i < off + len; i++) {
+	    y = (a * y) % m;
+	    out[i] = ((double)y) / m;
+	}
+	seed = y;
+    }
     // ----- } implements ContinuousGenerator -----
 
     /**
@@ -38,6 +48,41 @@ public class RandomGenerator implements ContinuousGenerator {
     public long nextLong() {
 	return seed = (a * seed) % m;
     }
+
+    /**
+     * Advances the generator as if <code>nextLong()</code> had been called <code>n</code> times,
+     * in O(log n) steps: <code>Y[n] = (a<sup>n</sup> mod m) * Y[0] mod m</code>.
+     * @param n The number of draws to skip, not negative
+     */
+    public void skip(long n) {
+	advance(multiplier(n));
+    }
+
+    /**
+     * @return <code>a<sup>n</sup> mod m</code>, the multiplier that skips <code>n</code> draws
+     */
+    static long multiplier(long n) {
+	return power(a, n);
+    }
+
+    /**
+     * @return <code>base<sup>n</sup> mod m</code> by square and multiply; products stay below 2<sup>62</sup>
+     */
+    static long power(long base, long n) {
+	if (n < 0)
+	    throw new IllegalArgumentException("Cannot skip a negative number of draws");
+	long result = 1;
+	for (; n > 0; n >>>= 1) {
+	    if ((n & 1) != 0) result = (result * base) % m;
+	    base = (base * base) % m;
+	}
+	return result;
+    }
+
+    /** Multiplies the state by a multiplier from <code>multiplier(n)</code> */
+    void advance(long multiplier) {
+	seed = (multiplier * seed) % m;
+    }
     
     // ----- implements Seedable { -----
     public void setSeed(long seed) { this.seed = seed; }
@@ -2,17 +2,21 @@ package eduni.distributions;
 
 /** A SeedGenerator is a DiscreteGenerator which produces well-spaced seeds
  *  according to its spacing attribute. It relies on a <code>RandomGenerator</code>
+ *  and moves <code>spacing</code> draws ahead in one multiplication by
+ *  <code>a<sup>spacing</sup> mod m</code>, so seeds cost the same whatever the spacing.
  */
 public class SeedGenerator implements DiscreteGenerator {
     private static long root = 4851L; // The root seed
     private int spacing;
     private boolean not_sampled = true; // to use the assigned seed (id Costas)
     private RandomGenerator source;
+    private long jump; // a^spacing mod m, skips one spacing of draws
 
     public SeedGenerator () { this(root, 100000); } //default spacing=100000
     public SeedGenerator (long seed, int spacing) { 
 	source = new RandomGenerator(seed);
 	this.spacing = spacing;
+	this.jump = RandomGenerator.multiplier(spacing);
     }
 
     // ----- implements Seedable { -----
@@ -24,11 +28,26 @@ public class SeedGenerator implements DiscreteGenerator {
     // ----- implements DiscreteGenerator { -----
     public long sample() {
 	if (not_sampled) not_sampled = false;
-	else
-	    for (int i=0; i<spacing; i++) source.nextLong();
+	else source.advance(jump);
 	return getSeed();
     }
 
+    /** Skips seeds as if <code>sample()</code> had been called <code>streams</code> times,
+     * in O(log streams) steps, so the next sample is the seed of stream
+     * <code>streams</code> counting from the next one.
+     * @param streams The number of seeds to skip, not negative
+     */
+    public void skip(long streams) {
+	if (streams < 0)
+	    throw new IllegalArgumentException("Cannot skip a negative number of seeds");
+	if (streams == 0) return;
+	if (not_sampled) {
+	    not_sampled = false;
+	    streams--;
+	}
+	source.advance(RandomGenerator.power(jump, streams));
+    }
+
     private static SeedGenerator defaut = new SeedGenerator();
     // package: accessible only from the generators within the package
     static SeedGenerator getDefaultSeedGenerator() { return defaut; }
@@ -0,0 +1,323 @@
+package eduni.distributions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/** A random number generator that samples a continuous distribution by inversion through
+  * a precomputed table of its quantile function (inverse CDF). A uniform sample picks a
+  * cell of the table and the value is interpolated linearly between the cell's ends, so
+  * every sample costs one uniform, a multiplication and an addition, whatever
+  * <code>pow</code>, <code>exp</code> or rejection loop the distribution would otherwise
+  * need.
+  * <p>
+  * The table splits the probabilities into {@value #CELLS} cells. When it is built, the
+  * interpolation in each cell is compared with the exact quantile at the cell's midpoint
+  * and quarter points. A cell whose relative error exceeds {@value #TOLERANCE}, towards
+  * the steep tails, is split into 64 finer steps, and if even those are not accurate
+  * enough, which happens in the outermost cells, the cell is sampled with the exact
+  * quantile. <b>Accuracy bound:</b> a sample
+  * differs from the exact quantile of the same uniform sample by at most
+  * {@value #TOLERANCE} of its value wherever the curvature of the quantile function keeps
+  * its sign within a cell, which holds for the distributions offered here. The
+  * distribution of the samples is then the exact one with every value moved by at most
+  * that fraction. {@link #getMaxError()} reports the largest error seen in the check.
+  * <p>
+  * Tables are cached by distribution and parameters and shared by every generator with
+  * the same parameterisation, so creating another generator costs nothing.
+  */
+
+public class Tabulated extends Generator implements ContinuousGenerator {
+    /** The number of cells in a table */
+    public static final int CELLS = 8192;
+    /** The largest relative error of an interpolated sample */
+    public static final double TOLERANCE = 1e-6;
+    // the number of finer steps a cell is split into where the quantile curves too much
+    private static final int SUBCELLS = 64;
+
+    private static final Map<String, Table> tables = new HashMap<>();
+
+    private final Table table;
+
+    /**
+     * the seed is automatically provided by the <code>SeedGenerator</code>
+     * @param key A name for the distribution and its parameters, under which the table is cached
+     * @param quantile The exact quantile function, for probabilities strictly between 0 and 1
+     */
+    public Tabulated(String key, DoubleUnaryOperator quantile) {
+        super();
+        table = table(key, quantile);
+    }
+
+    /**
+     * The constructor with which a specific seed is set for the random
+     * number generator
+     * @param key A name for the distribution and its parameters, under which the table is cached
+     * @param quantile The exact quantile function, for probabilities strictly between 0 and 1
+     * @param seed The initial seed for the generator, two instances with
+     *             the same seed will generate the same sequence of numbers
+     */
+    public Tabulated(String key, DoubleUnaryOperator quantile, long seed) {
+        super(seed);
+        table = table(key, quantile);
+    }
+
+    /**
+     * Tabulates the distribution of <code>LogNormal(mean, variance)</code>.
+     * @param mean The mean of the underlying normal distribution
+     * @param variance The variance of the underlying normal distribution
+     * @param seed The initial seed for the generator
+     * @return A generator sharing the cached table
+     */
+    public static Tabulated lognormal(double mean, double variance, long seed) {
+        if (variance < 0.0)
+            throw new ParameterException("LogNormal: The variance must not be negative.");
+        double std_dev = Math.sqrt(variance);
+        return new Tabulated("lognormal(" + mean + "," + variance + ")",
+                p -> Math.exp(mean + std_dev * normalQuantile(p)), seed);
+    }
+
+    /**
+     * Tabulates the distribution of <code>Weibull(scale, shape)</code>.
+     * @param scale The scale of the distribution
+     * @param shape The shape of the distribution
+     * @param seed The initial seed for the generator
+     * @return A generator sharing the cached table
+     */
+    public static Tabulated weibull(double scale, double shape, long seed) {
+        if (scale <= 0 || shape <= 0)
+            throw new ParameterException("Weibull:  Scale and shape parameters must be greater than 0.");
+        return new Tabulated("weibull(" + scale + "," + shape + ")",
+                p -> scale * Math.pow(-Math.log1p(-p), 1 / shape), seed);
+    }
+
+    /**
+     * Tabulates the distribution of <code>Beta(shape_a, shape_b)</code>.
+     * @param shape_a The a shape parameter of the distribution
+     * @param shape_b The b shape parameter of the distribution
+     * @param seed The initial seed for the generator
+     * @return A generator sharing the cached table
+     */
+    public static Tabulated beta(double shape_a, double shape_b, long seed) {
+        if ((shape_a <= 0.0) || (shape_b <= 0.0))
+            throw new ParameterException("Beta: The shape parameters must be greater than 0.");
+        return new Tabulated("beta(" + shape_a + "," + shape_b + ")",
+                p -> betaQuantile(p, shape_a, shape_b), seed);
+    }
+
+    /**
+     * Tabulates the distribution of <code>Pareto(scale, shape)</code>.
+     * @param scale The scale of the distribution, its smallest value
+     * @param shape The shape of the distribution
+     * @param seed The initial seed for the generator
+     * @return A generator sharing the cached table
+     */
+    public static Tabulated pareto(double scale, double shape, long seed) {
+        if (shape <= 0 || scale <= 0)
+            throw new ParameterException("Pareto: Shape and scale parameters must be greater than 0.");
+        return new Tabulated("pareto(" + scale + "," + shape + ")",
+                p -> scale * Math.exp(-Math.log1p(-p) / shape), seed);
+    }
+
+    private static synchronized Table table(String key, DoubleUnaryOperator quantile) {
+        return tables.computeIfAbsent(key, k -> new Table(quantile));
+    }
+
+    /**
+     * Generate a new random number.
+     * @return The next random number in the sequence
+     */
+    public double sample() {
+        return table.valueAt(distrib.source.sample());
+    }
+
+    /**
+     * @return The largest relative error of an interpolated sample found when the table was built
+     */
+    public double getMaxError() { return table.maxError; }
+
+    /**
+     * @return The share of samples drawn with the exact quantile because their cell could
+     *         not be interpolated accurately enough
+     */
+    public double getExactShare() { return (double) table.exactCells / CELLS; }
+
+    /** The interpolation table of one distribution. */
+    private static final class Table {
+        private final DoubleUnaryOperator quantile;
+        // the quantile at i / CELLS
+        private final double[] nodes = new double[CELLS + 1];
+        // the quantile at SUBCELLS finer steps in cells too curved for one step, or null
+        private final double[][] refined = new double[CELLS][];
+        private final boolean[] exact = new boolean[CELLS];
+        private int exactCells;
+        private double maxError;
+
+        Table(DoubleUnaryOperator quantile) {
+            this.quantile = quantile;
+            for (int i = 0; i <= CELLS; i++)
+                nodes[i] = i == 0 || i == CELLS ? Double.NaN : quantile.applyAsDouble((double) i / CELLS);
+            for (int i = 0; i < CELLS; i++) {
+                double width = 1.0 / CELLS;
+                double error = error(i * width, width, nodes[i], nodes[i + 1]);
+                if (error > TOLERANCE) {
+                    refined[i] = refine(i);
+                    if (refined[i] == null) {
+                        exact[i] = true;
+                        exactCells++;
+                        continue;
+                    }
+                    error = 0.0;
+                    for (int j = 0; j < SUBCELLS; j++)
+                        error = Math.max(error, error((i + (double) j / SUBCELLS) / CELLS, width / SUBCELLS,
+                                refined[i][j], refined[i][j + 1]));
+                }
+                maxError = Math.max(maxError, error);
+            }
+        }
+
+        /** @return The quantile at the finer steps of a cell, or null if they are still not accurate enough */
+        private double[] refine(int i) {
+            double[] sub = new double[SUBCELLS + 1];
+            sub[0] = nodes[i];
+            sub[SUBCELLS] = nodes[i + 1];
+            for (int j = 1; j < SUBCELLS; j++)
+                sub[j] = quantile.applyAsDouble((i + (double) j / SUBCELLS) / CELLS);
+            for (int j = 0; j < SUBCELLS; j++)
+                if (!(error((i + (double) j / SUBCELLS) / CELLS, 1.0 / CELLS / SUBCELLS, sub[j], sub[j + 1]) <= TOLERANCE))
+                    return null;
+            return sub;
+        }
+
+        /** The largest relative interpolation error at the midpoint and quarter points of a step. */
+        private double error(double p, double width, double a, double b) {
+            if (!Double.isFinite(a) || !Double.isFinite(b))
+                return Double.POSITIVE_INFINITY;
+            double error = 0.0;
+            for (int q = 1; q <= 3; q++) {
+                double x = quantile.applyAsDouble(p + q / 4.0 * width);
+                double relative = Math.abs(a + q / 4.0 * (b - a) - x) / Math.abs(x);
+                if (!(relative <= TOLERANCE)) return Double.POSITIVE_INFINITY;
+                error = Math.max(error, relative);
+            }
+            return error;
+        }
+
+        double valueAt(double u) {
+            double scaled = u * CELLS;
+            int i = Math.min((int) scaled, CELLS - 1);
+            double t = scaled - i;
+            double[] sub = refined[i];
+            if (sub != null) {
+                double fine = t * SUBCELLS;
+                int j = Math.min((int) fine, SUBCELLS - 1);
+                return sub[j] + (fine - j) * (sub[j + 1] - sub[j]);
+            }
+            if (exact[i]) return quantile.applyAsDouble(u);
+            return nodes[i] + t * (nodes[i + 1] - nodes[i]);
+        }
+    }
+
+    /**
+     * The standard normal quantile by Acklam's rational approximations, relative error
+     * below 1.15e-9.
+     */
+    static double normalQuantile(double p) {
+        if (p < 0.02425) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                    - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                    / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                    + 3.754408661907416e+00) * q + 1);
+        }
+        if (p > 1 - 0.02425)
+            return -normalQuantile(1 - p);
+        double q = p - 0.5, r = q * q;
+        return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+    }
+
+    /**
+     * The beta quantile, by Newton's method on the regularised incomplete beta function
+     * kept inside a bisection bracket.
+     */
+    static double betaQuantile(double p, double a, double b) {
+        if (p > 0.5)
+            return 1 - betaQuantile(1 - p, b, a);
+        double logBeta = logGamma(a) + logGamma(b) - logGamma(a + b);
+        double lo = 0.0, hi = 1.0;
+        // near 0 the CDF is about x^a / (a B(a,b))
+        double x = Math.min(Math.exp((Math.log(p * a) + logBeta) / a), a / (a + b));
+        for (int i = 0; i < 200; i++) {
+            double f = incompleteBeta(x, a, b, logBeta) - p;
+            if (f < 0) lo = x;
+            else hi = x;
+            double density = Math.exp((a - 1) * Math.log(x) + (b - 1) * Math.log1p(-x) - logBeta);
+            double next = x - f / density;
+            if (!(next > lo && next < hi))
+                next = 0.5 * (lo + hi);
+            if (Math.abs(next - x) <= 1e-15 * x || hi - lo <= 1e-15 * lo)
+                return next;
+            x = next;
+        }
+        return x;
+    }
+
+    /** The regularised incomplete beta function I<sub>x</sub>(a,b), by its continued fraction. */
+    private static double incompleteBeta(double x, double a, double b, double logBeta) {
+        if (x <= 0) return 0;
+        if (x >= 1) return 1;
+        double front = Math.exp(a * Math.log(x) + b * Math.log1p(-x) - logBeta);
+        if (x < (a + 1) / (a + b + 2))
+            return front * betaFraction(x, a, b) / a;
+        return 1 - front * betaFraction(1 - x, b, a) / b;
+    }
+
+    /** Lentz's evaluation of the continued fraction of the incomplete beta function. */
+    private static double betaFraction(double x, double a, double b) {
+        final double tiny = 1e-300;
+        double c = 1, d = 1 - (a + b) * x / (a + 1);
+        if (Math.abs(d) < tiny) d = tiny;
+        d = 1 / d;
+        double h = d;
+        for (int m = 1; m <= 300; m++) {
+            int m2 = 2 * m;
+            double aa = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1 + aa * d;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = 1 + aa / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            h *= d * c;
+            aa = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1 + aa * d;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = 1 + aa / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-16) break;
+        }
+        return h;
+    }
+
+    private static final double[] LANCZOS = {
+        0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+        -176.61502916214059, 12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6,
+        1.5056327351493116e-7
+    };
+
+    /** log &Gamma;(x) for x &gt; 0, by the Lanczos approximation with g = 7. */
+    private static double logGamma(double x) {
+        if (x < 0.5)
+            return Math.log(Math.PI / Math.sin(Math.PI * x)) - logGamma(1 - x);
+        x -= 1;
+        double sum = LANCZOS[0];
+        for (int i = 1; i < LANCZOS.length; i++) sum += LANCZOS[i] / (x + i);
+        double t = x + 7.5;
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+}
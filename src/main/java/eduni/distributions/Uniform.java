@@ -42,4 +42,15 @@ public class Uniform extends Generator implements ContinuousGenerator {
     public double sample() { 
          return distrib.uniform(min, max);
     }
+
+    /**
+     * Fills part of an array with random numbers, the values <code>len</code> calls to
+     * <code>sample()</code> would return.
+     * @param out The array to fill
+     * @param off The index of the first sample
+     * @param len The number of samples
+     */
+    public void sample(double[] out, int off, int len) {
+         distrib.uniform(min, max, out, off, len);
+    }
 }
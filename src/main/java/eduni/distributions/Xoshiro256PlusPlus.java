@@ -0,0 +1,135 @@
+package eduni.distributions;
+
+/**
+ * A random number generator based on xoshiro256++ (Blackman and Vigna, 2019).
+ * The state is four 64-bit words, each draw costs a few shifts, rotations and additions
+ * with no multiplication or modulo, and the period is <code>2<sup>256</sup>-1</code>,
+ * far beyond what any simulation run can use up.
+ * <p>
+ * The generator can jump ahead <code>2<sup>128</sup></code> draws, so a single seed gives
+ * up to <code>2<sup>128</sup></code> streams that never overlap. {@link #split()} hands
+ * out such streams one after the other.
+ * <p>
+ * A seed is expanded into the full state with SplitMix64, so nearby seeds still give
+ * unrelated sequences.
+ */
+public class Xoshiro256PlusPlus implements ContinuousGenerator {
+    private static final long[] JUMP = {
+        0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL
+    };
+    private static final long[] LONG_JUMP = {
+        0x76e15d3efefdcbbfL, 0xc5004e441c522fb3L, 0x77710069854ee241L, 0x39109bb02acbe635L
+    };
+
+    private long s0, s1, s2, s3;
+    // The seed the state was expanded from, reported by getSeed()
+    private long seed;
+
+    public Xoshiro256PlusPlus () { reseed(); }
+    public Xoshiro256PlusPlus (long seed) { setSeed(seed); }
+
+    private Xoshiro256PlusPlus (Xoshiro256PlusPlus other) {
+	s0 = other.s0; s1 = other.s1; s2 = other.s2; s3 = other.s3;
+	seed = other.seed;
+    }
+
+    // ----- implements ContinuousGenerator { -----
+    /**
+     * @return A number uniformly distributed strictly between <code>0</code> and <code>1</code>,
+     *         so that distributions taking its logarithm never see zero
+     */
+    public double sample() {
+	return ((nextLong() >>> 12) + 0.5) * 0x1.0p-52;
+    }
+
+    public void sample(double[] out, int off, int len) {
+	java.util.Objects.checkFromIndexSize(off, len, out.length);
+	long x0 = s0, x1 = s1, x2 = s2, x3 = s3;
+	for (int i = off; i < off + len; i++) {
+	    long result = Long.rotateLeft(x0 + x3, 23) + x0;
+	    long t = x1 << 17;
+	    x2 ^= x0;
+	    x3 ^= x1;
+	    x1 ^= x2;
+	    x0 ^= x3;
+	    x2 ^= t;
+	    x3 = Long.rotateLeft(x3, 45);
+	    out[i] = ((result >>> 12) + 0.5) * 0x1.0p-52;
+	}
+	s0 = x0; s1 = x1; s2 = x2; s3 = x3;
+    }
+    // ----- } implements ContinuousGenerator -----
+
+    /**
+     * @return The next 64 random bits in the sequence
+     */
+    public long nextLong() {
+	long result = Long.rotateLeft(s0 + s3, 23) + s0;
+	long t = s1 << 17;
+	s2 ^= s0;
+	s3 ^= s1;
+	s1 ^= s2;
+	s0 ^= s3;
+	s2 ^= t;
+	s3 = Long.rotateLeft(s3, 45);
+	return result;
+    }
+
+    /**
+     * Advances the generator by <code>2<sup>128</sup></code> draws.
+     */
+    public void jump() { jump(JUMP); }
+
+    /**
+     * Advances the generator by <code>2<sup>192</sup></code> draws, to hand out
+     * <code>2<sup>64</sup></code> groups of streams that can each be split further.
+     */
+    public void longJump() { jump(LONG_JUMP); }
+
+    /**
+     * Returns a generator continuing this sequence and jumps this one ahead
+     * <code>2<sup>128</sup></code> draws, so the two never overlap.
+     * @return A generator with the current state of this one
+     */
+    public Xoshiro256PlusPlus split() {
+	Xoshiro256PlusPlus stream = new Xoshiro256PlusPlus(this);
+	jump();
+	return stream;
+    }
+
+    private void jump(long[] polynomial) {
+	long t0 = 0, t1 = 0, t2 = 0, t3 = 0;
+	for (long word : polynomial) {
+	    for (int b = 0; b < 64; b++) {
+		if ((word & (1L << b)) != 0) {
+		    t0 ^= s0; t1 ^= s1; t2 ^= s2; t3 ^= s3;
+		}
+		nextLong();
+	    }
+	}
+	s0 = t0; s1 = t1; s2 = t2; s3 = t3;
+    }
+
+    // ----- implements Seedable { -----
+    public void setSeed(long seed) {
+	this.seed = seed;
+	long x = seed;
+	s0 = splitMix(x += 0x9e3779b97f4a7c15L);
+	s1 = splitMix(x += 0x9e3779b97f4a7c15L);
+	s2 = splitMix(x += 0x9e3779b97f4a7c15L);
+	s3 = splitMix(x += 0x9e3779b97f4a7c15L);
+    }
+    /**
+     * @return The seed the generator was last seeded with; the state itself has 256 bits
+     *         and moves on with each draw
+     */
+    public long getSeed() { return seed; }
+    public void reseed() { setSeed(SeedGenerator.getDefaultSeedGenerator().sample()); }
+    // ----- } implements Seedable -----
+
+    private static long splitMix(long z) {
+	z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+	z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+	return z ^ (z >>> 31);
+    }
+}
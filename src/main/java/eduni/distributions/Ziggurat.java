@@ -0,0 +1,95 @@
+package eduni.distributions;
+
+/**
+ * Normal and exponential samples with the ziggurat method of Marsaglia and Tsang (2000),
+ * in the floating point form of Doornik (2005). The density is covered by layers of
+ * equal area; a sample picks a layer and a point in it, and is accepted straight away
+ * when it lies in the part of the layer under the density, which happens in about 99%
+ * of cases. Only the rest needs an <code>exp</code> or <code>log</code>.
+ * <p>
+ * One uniform sample gives both the layer and the position in it, so any
+ * <code>ContinuousGenerator</code> can drive it. With the 31-bit LCG the position keeps
+ * 23 bits, with xoshiro256++ 44 bits.
+ * @see Distributions#normalZiggurat(double, double)
+ * @see Distributions#negexpZiggurat(double)
+ */
+final class Ziggurat {
+    // normal: 128 layers, start of the tail and area of each layer
+    private static final int N_LAYERS = 128;
+    private static final double N_R = 3.442619855899;
+    private static final double N_V = 9.91256303526217e-3;
+    // exponential: 256 layers
+    private static final int E_LAYERS = 256;
+    private static final double E_R = 7.69711747013104972;
+    private static final double E_V = 3.949659822581572e-3;
+
+    // layer widths X[i] with X[1] = R and X[layers] = 0, and the density F[i] = f(X[i])
+    private static final double[] NX = new double[N_LAYERS + 1], NF = new double[N_LAYERS + 1];
+    private static final double[] EX = new double[E_LAYERS + 1], EF = new double[E_LAYERS + 1];
+
+    static {
+	NX[0] = N_V / Math.exp(-0.5 * N_R * N_R);
+	NX[1] = N_R;
+	for (int i = 2; i < N_LAYERS; i++)
+	    NX[i] = Math.sqrt(-2 * Math.log(N_V / NX[i-1] + Math.exp(-0.5 * NX[i-1] * NX[i-1])));
+	for (int i = 0; i <= N_LAYERS; i++)
+	    NF[i] = Math.exp(-0.5 * NX[i] * NX[i]);
+
+	EX[0] = E_V / Math.exp(-E_R);
+	EX[1] = E_R;
+	for (int i = 2; i < E_LAYERS; i++)
+	    EX[i] = -Math.log(E_V / EX[i-1] + Math.exp(-EX[i-1]));
+	for (int i = 0; i <= E_LAYERS; i++)
+	    EF[i] = Math.exp(-EX[i]);
+    }
+
+    private Ziggurat() {}
+
+    /**
+     * @return A standard normal sample
+     */
+    static double normal(ContinuousGenerator source) {
+	for (;;) {
+	    // one uniform gives the layer, the sign and the position in the layer
+	    double scaled = source.sample() * (2 * N_LAYERS);
+	    int k = (int) scaled;
+	    int i = k >> 1;
+	    double x = (scaled - k) * NX[i];
+	    double sign = (k & 1) == 0 ? 1.0 : -1.0;
+	    if (x < NX[i+1])
+		return sign * x;
+	    if (i == 0) {
+		// the tail beyond R, by Marsaglia's method
+		double a, b;
+		do {
+		    a = -Math.log(source.sample()) / N_R;
+		    b = -Math.log(source.sample());
+		} while (b + b < a * a);
+		return sign * (N_R + a);
+	    }
+	    if (NF[i+1] + source.sample() * (NF[i] - NF[i+1]) < Math.exp(-0.5 * x * x))
+		return sign * x;
+	}
+    }
+
+    /**
+     * @return An exponential sample with mean 1
+     */
+    static double exponential(ContinuousGenerator source) {
+	double shift = 0.0;
+	for (;;) {
+	    double scaled = source.sample() * E_LAYERS;
+	    int i = (int) scaled;
+	    double x = (scaled - i) * EX[i];
+	    if (x < EX[i+1])
+		return shift + x;
+	    if (i == 0) {
+		// the tail beyond R is R plus another exponential sample
+		shift += E_R;
+		continue;
+	    }
+	    if (EF[i+1] + source.sample() * (EF[i] - EF[i+1]) < Math.exp(-x))
+		return shift + x;
+	}
+    }
+}
@@ -31,6 +31,8 @@ public class ConfigManager {
         // Arrival settings
         props.setProperty("arrivalDistribution", config.getArrivalDistribution());
         props.setProperty("arrivalParam", String.valueOf(config.getArrivalParam()));
+        props.setProperty("arrivalProfile", config.getArrivalProfile());
+        props.setProperty("arrivalProfileShape", config.getArrivalProfileShape());
 
         // Customer parameters
         props.setProperty("expressCustomerPercentage", String.valueOf(config.getExpressCustomerPercentage()));
@@ -38,6 +40,12 @@ public class ConfigManager {
         props.setProperty("maxRegularItems", String.valueOf(config.getMaxRegularItems()));
         props.setProperty("minExpressItems", String.valueOf(config.getMinExpressItems()));
         props.setProperty("maxExpressItems", String.valueOf(config.getMaxExpressItems()));
+        props.setProperty("regularItemHistogram", config.getRegularItemHistogram());
+        props.setProperty("expressItemHistogram", config.getExpressItemHistogram());
+        props.setProperty("classShares", config.getClassShares());
+        props.setProperty("meanGroupSize", String.valueOf(config.getMeanGroupSize()));
+        props.setProperty("maxGroupSize", String.valueOf(config.getMaxGroupSize()));
+        props.setProperty("groupCorrelation", String.valueOf(config.getGroupCorrelation()));
 
         // Service point parameters
         props.setProperty("serviceDistribution", config.getServiceDistribution());
@@ -47,9 +55,68 @@ public class ConfigManager {
         props.setProperty("expressMultiplier", String.valueOf(config.getExpressMultiplier()));
         props.setProperty("selfCheckoutMultiplier", String.valueOf(config.getSelfCheckoutMultiplier()));
 
+        // Server parameters
+        props.setProperty("shoppingServers", String.valueOf(config.getShoppingServers()));
+        props.setProperty("regularServers", String.valueOf(config.getRegularServers()));
+        props.setProperty("expressServers", String.valueOf(config.getExpressServers()));
+        props.setProperty("selfCheckoutServers", String.valueOf(config.getSelfCheckoutServers()));
+        props.setProperty("dedicatedLaneQueues", String.valueOf(config.isDedicatedLaneQueues()));
+
+        // Checkout queueing parameters
+        props.setProperty("queueDiscipline", config.getQueueDiscipline());
+        props.setProperty("balkingThreshold", String.valueOf(config.getBalkingThreshold()));
+        props.setProperty("meanPatience", String.valueOf(config.getMeanPatience()));
+        props.setProperty("lanePolicy", config.getLanePolicy());
+        props.setProperty("laneChoices", String.valueOf(config.getLaneChoices()));
+
+        // Staffing parameters
+        props.setProperty("staffingMode", config.getStaffingMode());
+        props.setProperty("staffingOpenThreshold", String.valueOf(config.getStaffingOpenThreshold()));
+        props.setProperty("staffingCloseThreshold", String.valueOf(config.getStaffingCloseThreshold()));
+        props.setProperty("minOpenServers", String.valueOf(config.getMinOpenServers()));
+
+        // Shift schedules
+        props.setProperty("regularShifts", config.getRegularShifts());
+        props.setProperty("expressShifts", config.getExpressShifts());
+        props.setProperty("selfCheckoutShifts", config.getSelfCheckoutShifts());
+
+        // Self-checkout kiosk failures
+        props.setProperty("kioskFailureDistribution", config.getKioskFailureDistribution());
+        props.setProperty("kioskMeanTimeToFailure", String.valueOf(config.getKioskMeanTimeToFailure()));
+        props.setProperty("kioskRepairDistribution", config.getKioskRepairDistribution());
+        props.setProperty("kioskMeanRepairTime", String.valueOf(config.getKioskMeanRepairTime()));
+        props.setProperty("kioskAttendants", String.valueOf(config.getKioskAttendants()));
+        props.setProperty("kioskAssistedCheckout", String.valueOf(config.isKioskAssistedCheckout()));
+
+        // Shared resources
+        props.setProperty("cartCount", String.valueOf(config.getCartCount()));
+
+        // Store layout
+        props.setProperty("storeLayout", config.getStoreLayout());
+        props.setProperty("aisleWeights", config.getAisleWeights());
+        props.setProperty("walkingSpeed", String.valueOf(config.getWalkingSpeed()));
+
+        // Agent-based shopping
+        props.setProperty("agentShopping", String.valueOf(config.isAgentShopping()));
+        props.setProperty("storeWidth", String.valueOf(config.getStoreWidth()));
+        props.setProperty("storeDepth", String.valueOf(config.getStoreDepth()));
+        props.setProperty("movementTimeStep", String.valueOf(config.getMovementTimeStep()));
+        props.setProperty("parallelMovement", String.valueOf(config.isParallelMovement()));
+
+        // Random number generation
+        props.setProperty("randomBackend", config.getRandomBackend());
+        props.setProperty("randomSeed", String.valueOf(config.getRandomSeed()));
+        props.setProperty("zigguratSampling", String.valueOf(config.isZigguratSampling()));
+        props.setProperty("presampling", String.valueOf(config.isPresampling()));
+
         // Default values
         props.setProperty("defaultDelay", String.valueOf(config.getDefaultDelay()));
 
+        // Warm-start settings
+        props.setProperty("warmStartMode", config.getWarmStartMode());
+        props.setProperty("warmStartStateName", config.getWarmStartStateName());
+        props.setProperty("saveEndState", String.valueOf(config.isSaveEndState()));
+
         // Save properties to file
         String filePath = CONFIG_DIR + File.separator + configName + FILE_EXTENSION;
         try (OutputStream os = new FileOutputStream(filePath)) {
@@ -83,6 +150,8 @@ public class ConfigManager {
         // Arrival settings
         config.setArrivalDistribution(props.getProperty("arrivalDistribution", config.getArrivalDistribution()));
         config.setArrivalParam(Double.parseDouble(props.getProperty("arrivalParam", String.valueOf(config.getArrivalParam()))));
+        config.setArrivalProfile(props.getProperty("arrivalProfile", config.getArrivalProfile()));
+        config.setArrivalProfileShape(props.getProperty("arrivalProfileShape", config.getArrivalProfileShape()));
 
         // Customer parameters
         config.setExpressCustomerPercentage(Double.parseDouble(props.getProperty("expressCustomerPercentage",
@@ -95,6 +164,15 @@ public class ConfigManager {
                 String.valueOf(config.getMinExpressItems()))));
         config.setMaxExpressItems(Integer.parseInt(props.getProperty("maxExpressItems",
                 String.valueOf(config.getMaxExpressItems()))));
+        config.setRegularItemHistogram(props.getProperty("regularItemHistogram", config.getRegularItemHistogram()));
+        config.setExpressItemHistogram(props.getProperty("expressItemHistogram", config.getExpressItemHistogram()));
+        config.setClassShares(props.getProperty("classShares", config.getClassShares()));
+        config.setMeanGroupSize(Double.parseDouble(props.getProperty("meanGroupSize",
+                String.valueOf(config.getMeanGroupSize()))));
+        config.setMaxGroupSize(Integer.parseInt(props.getProperty("maxGroupSize",
+                String.valueOf(config.getMaxGroupSize()))));
+        config.setGroupCorrelation(Double.parseDouble(props.getProperty("groupCorrelation",
+                String.valueOf(config.getGroupCorrelation()))));
 
         // Service point parameters
         config.setServiceDistribution(props.getProperty("serviceDistribution", config.getServiceDistribution()));
@@ -109,10 +187,97 @@ public class ConfigManager {
         config.setSelfCheckoutMultiplier(Double.parseDouble(props.getProperty("selfCheckoutMultiplier",
                 String.valueOf(config.getSelfCheckoutMultiplier()))));
 
+        // Server parameters
+        config.setShoppingServers(Integer.parseInt(props.getProperty("shoppingServers",
+                String.valueOf(config.getShoppingServers()))));
+        config.setRegularServers(Integer.parseInt(props.getProperty("regularServers",
+                String.valueOf(config.getRegularServers()))));
+        config.setExpressServers(Integer.parseInt(props.getProperty("expressServers",
+                String.valueOf(config.getExpressServers()))));
+        config.setSelfCheckoutServers(Integer.parseInt(props.getProperty("selfCheckoutServers",
+                String.valueOf(config.getSelfCheckoutServers()))));
+        config.setDedicatedLaneQueues(Boolean.parseBoolean(props.getProperty("dedicatedLaneQueues",
+                String.valueOf(config.isDedicatedLaneQueues()))));
+
+        // Checkout queueing parameters
+        config.setQueueDiscipline(props.getProperty("queueDiscipline", config.getQueueDiscipline()));
+        config.setBalkingThreshold(Integer.parseInt(props.getProperty("balkingThreshold",
+                String.valueOf(config.getBalkingThreshold()))));
+        config.setMeanPatience(Double.parseDouble(props.getProperty("meanPatience",
+                String.valueOf(config.getMeanPatience()))));
+        config.setLanePolicy(props.getProperty("lanePolicy", config.getLanePolicy()));
+        config.setLaneChoices(Integer.parseInt(props.getProperty("laneChoices",
+                String.valueOf(config.getLaneChoices()))));
+
+        // Staffing parameters
+        config.setStaffingMode(props.getProperty("staffingMode", config.getStaffingMode()));
+        config.setStaffingOpenThreshold(Double.parseDouble(props.getProperty("staffingOpenThreshold",
+                String.valueOf(config.getStaffingOpenThreshold()))));
+        config.setStaffingCloseThreshold(Double.parseDouble(props.getProperty("staffingCloseThreshold",
+                String.valueOf(config.getStaffingCloseThreshold()))));
+        config.setMinOpenServers(Integer.parseInt(props.getProperty("minOpenServers",
+                String.valueOf(config.getMinOpenServers()))));
+
+        // Shift schedules
+        config.setRegularShifts(props.getProperty("regularShifts", config.getRegularShifts()));
+        config.setExpressShifts(props.getProperty("expressShifts", config.getExpressShifts()));
+        config.setSelfCheckoutShifts(props.getProperty("selfCheckoutShifts", config.getSelfCheckoutShifts()));
+
+        // Self-checkout kiosk failures
+        config.setKioskFailureDistribution(props.getProperty("kioskFailureDistribution",
+                config.getKioskFailureDistribution()));
+        config.setKioskMeanTimeToFailure(Double.parseDouble(props.getProperty("kioskMeanTimeToFailure",
+                String.valueOf(config.getKioskMeanTimeToFailure()))));
+        config.setKioskRepairDistribution(props.getProperty("kioskRepairDistribution",
+                config.getKioskRepairDistribution()));
+        config.setKioskMeanRepairTime(Double.parseDouble(props.getProperty("kioskMeanRepairTime",
+                String.valueOf(config.getKioskMeanRepairTime()))));
+        config.setKioskAttendants(Integer.parseInt(props.getProperty("kioskAttendants",
+                String.valueOf(config.getKioskAttendants()))));
+        config.setKioskAssistedCheckout(Boolean.parseBoolean(props.getProperty("kioskAssistedCheckout",
+                String.valueOf(config.isKioskAssistedCheckout()))));
+
+        // Shared resources
+        config.setCartCount(Integer.parseInt(props.getProperty("cartCount",
+                String.valueOf(config.getCartCount()))));
+
+        // Store layout
+        config.setStoreLayout(props.getProperty("storeLayout", config.getStoreLayout()));
+        config.setAisleWeights(props.getProperty("aisleWeights", config.getAisleWeights()));
+        config.setWalkingSpeed(Double.parseDouble(props.getProperty("walkingSpeed",
+                String.valueOf(config.getWalkingSpeed()))));
+
+        // Agent-based shopping
+        config.setAgentShopping(Boolean.parseBoolean(props.getProperty("agentShopping",
+                String.valueOf(config.isAgentShopping()))));
+        config.setStoreWidth(Double.parseDouble(props.getProperty("storeWidth",
+                String.valueOf(config.getStoreWidth()))));
+        config.setStoreDepth(Double.parseDouble(props.getProperty("storeDepth",
+                String.valueOf(config.getStoreDepth()))));
+        config.setMovementTimeStep(Double.parseDouble(props.getProperty("movementTimeStep",
+                String.valueOf(config.getMovementTimeStep()))));
+        config.setParallelMovement(Boolean.parseBoolean(props.getProperty("parallelMovement",
+                String.valueOf(config.isParallelMovement()))));
+
+        // Random number generation
+        config.setRandomBackend(props.getProperty("randomBackend", config.getRandomBackend()));
+        config.setRandomSeed(Long.parseLong(props.getProperty("randomSeed",
+                String.valueOf(config.getRandomSeed()))));
+        config.setZigguratSampling(Boolean.parseBoolean(props.getProperty("zigguratSampling",
+                String.valueOf(config.isZigguratSampling()))));
+        config.setPresampling(Boolean.parseBoolean(props.getProperty("presampling",
+                String.valueOf(config.isPresampling()))));
+
         // Default values
         config.setDefaultDelay(Long.parseLong(props.getProperty("defaultDelay",
                 String.valueOf(config.getDefaultDelay()))));
 
+        // Warm-start settings
+        config.setWarmStartMode(props.getProperty("warmStartMode", config.getWarmStartMode()));
+        config.setWarmStartStateName(props.getProperty("warmStartStateName", config.getWarmStartStateName()));
+        config.setSaveEndState(Boolean.parseBoolean(props.getProperty("saveEndState",
+                String.valueOf(config.isSaveEndState()))));
+
         return config;
     }
 
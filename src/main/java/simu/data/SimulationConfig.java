@@ -4,6 +4,8 @@ public class SimulationConfig {
     // Arrival configuration
     private String arrivalDistribution = "Negexp";
     private double arrivalParam = 5.0;
+    private String arrivalProfile = "";
+    private String arrivalProfileShape = "Constant";
 
     // Customer parameters
     private double expressCustomerPercentage = 20.0;
@@ -11,6 +13,12 @@ public class SimulationConfig {
     private int maxRegularItems = 30;
     private int minExpressItems = 1;
     private int maxExpressItems = 10;
+    private String regularItemHistogram = "";
+    private String expressItemHistogram = "";
+    private String classShares = "";
+    private double meanGroupSize = 1.0;
+    private int maxGroupSize = 6;
+    private double groupCorrelation = 0.8;
 
     // Service point parameters
     private String serviceDistribution = "Normal";
@@ -20,9 +28,68 @@ public class SimulationConfig {
     private double expressMultiplier = 0.7;
     private double selfCheckoutMultiplier = 1.2;
 
+    // Server parameters
+    private int shoppingServers = 0;
+    private int regularServers = 1;
+    private int expressServers = 1;
+    private int selfCheckoutServers = 1;
+    private boolean dedicatedLaneQueues = false;
+
+    // Checkout queueing parameters
+    private String queueDiscipline = "FIFO";
+    private int balkingThreshold = 0;
+    private double meanPatience = 0.0;
+    private String lanePolicy = "FIXED";
+    private int laneChoices = 2;
+
+    // Staffing parameters
+    private String staffingMode = "None";
+    private double staffingOpenThreshold = 3.0;
+    private double staffingCloseThreshold = 0.0;
+    private int minOpenServers = 1;
+
+    // Shift schedules, start:servers pairs
+    private String regularShifts = "";
+    private String expressShifts = "";
+    private String selfCheckoutShifts = "";
+
+    // Self-checkout kiosk failures
+    private String kioskFailureDistribution = "Negexp";
+    private double kioskMeanTimeToFailure = 0.0;
+    private String kioskRepairDistribution = "Negexp";
+    private double kioskMeanRepairTime = 5.0;
+    private int kioskAttendants = 0;
+    private boolean kioskAssistedCheckout = false;
+
+    // Shared resources
+    private int cartCount = 0;
+
+    // Store layout, walkways as from-to:distance entries
+    private String storeLayout = "";
+    private String aisleWeights = "";
+    private double walkingSpeed = 20.0;
+
+    // Customers walking the shopping floor as agents
+    private boolean agentShopping = false;
+    private double storeWidth = 40.0;
+    private double storeDepth = 25.0;
+    private double movementTimeStep = 0.25;
+    private boolean parallelMovement = false;
+
+    // Uniform random number generator behind the distributions
+    private String randomBackend = "LCG";
+    private long randomSeed = 0;
+    private boolean zigguratSampling = false;
+    private boolean presampling = false;
+
     private long defaultDelay = 150;
     private long defaultSimulationTime = 1000;
 
+    // Warm-start parameters
+    private String warmStartMode = "None";
+    private String warmStartStateName = "last";
+    private boolean saveEndState = false;
+
     // Getters and setters
 
     /**
@@ -64,6 +131,42 @@ public class SimulationConfig {
         this.arrivalParam = arrivalParam;
     }
 
+    /**
+     * Gets the time-of-day arrival rate profile.
+     *
+     * @return The rates as comma separated time:rate pairs, empty for i.i.d. inter-arrival times
+     */
+    public String getArrivalProfile() {
+        return arrivalProfile;
+    }
+
+    /**
+     * Sets the time-of-day arrival rate profile. When set, it replaces the arrival distribution.
+     *
+     * @param arrivalProfile The rates as comma separated time:rate pairs, for example "0:0.5,240:2,360:1"
+     */
+    public void setArrivalProfile(String arrivalProfile) {
+        this.arrivalProfile = arrivalProfile;
+    }
+
+    /**
+     * Gets how the arrival rate changes between the times of the profile.
+     *
+     * @return "Constant" for a rate that holds until the next time, or "Linear"
+     */
+    public String getArrivalProfileShape() {
+        return arrivalProfileShape;
+    }
+
+    /**
+     * Sets how the arrival rate changes between the times of the profile.
+     *
+     * @param arrivalProfileShape "Constant" for a rate that holds until the next time, or "Linear"
+     */
+    public void setArrivalProfileShape(String arrivalProfileShape) {
+        this.arrivalProfileShape = arrivalProfileShape;
+    }
+
     /**
      * Gets the percentage of customers that are express customers (1-10 items).
      *
@@ -172,6 +275,114 @@ public class SimulationConfig {
         this.maxExpressItems = maxExpressItems;
     }
 
+    /**
+     * Gets the observed distribution of item counts of regular customers.
+     *
+     * @return The histogram as comma separated items:weight pairs, empty to draw uniformly from the item range
+     */
+    public String getRegularItemHistogram() {
+        return regularItemHistogram;
+    }
+
+    /**
+     * Sets the observed distribution of item counts of regular customers, which replaces the item range.
+     *
+     * @param regularItemHistogram The histogram as comma separated items:weight pairs, for example "12:40,20:35,35:10"
+     */
+    public void setRegularItemHistogram(String regularItemHistogram) {
+        this.regularItemHistogram = regularItemHistogram;
+    }
+
+    /**
+     * Gets the observed distribution of item counts of express customers.
+     *
+     * @return The histogram as comma separated items:weight pairs, empty to draw uniformly from the item range
+     */
+    public String getExpressItemHistogram() {
+        return expressItemHistogram;
+    }
+
+    /**
+     * Sets the observed distribution of item counts of express customers, which replaces the item range.
+     *
+     * @param expressItemHistogram The histogram as comma separated items:weight pairs, for example "1:30,3:50,8:20"
+     */
+    public void setExpressItemHistogram(String expressItemHistogram) {
+        this.expressItemHistogram = expressItemHistogram;
+    }
+
+    /**
+     * Gets the share of customers in each customer class.
+     *
+     * @return The shares as comma separated CLASS:percentage pairs, other customers are standard customers
+     */
+    public String getClassShares() {
+        return classShares;
+    }
+
+    /**
+     * Sets the share of customers in each customer class.
+     *
+     * @param classShares The shares as comma separated CLASS:percentage pairs, for example "LOYALTY:30,STAFF:2"
+     */
+    public void setClassShares(String classShares) {
+        this.classShares = classShares;
+    }
+
+    /**
+     * Gets the mean number of customers arriving together in one group.
+     *
+     * @return The mean group size, 1 if customers arrive alone
+     */
+    public double getMeanGroupSize() {
+        return meanGroupSize;
+    }
+
+    /**
+     * Sets the mean number of customers arriving together in one group.
+     *
+     * @param meanGroupSize The mean group size, 1 if customers arrive alone
+     */
+    public void setMeanGroupSize(double meanGroupSize) {
+        this.meanGroupSize = meanGroupSize;
+    }
+
+    /**
+     * Gets the largest number of customers arriving together.
+     *
+     * @return The maximum group size
+     */
+    public int getMaxGroupSize() {
+        return maxGroupSize;
+    }
+
+    /**
+     * Sets the largest number of customers arriving together.
+     *
+     * @param maxGroupSize The maximum group size
+     */
+    public void setMaxGroupSize(int maxGroupSize) {
+        this.maxGroupSize = maxGroupSize;
+    }
+
+    /**
+     * Gets the probability that a group member has the same type and class as the first customer of the group.
+     *
+     * @return The group correlation, between 0 and 1
+     */
+    public double getGroupCorrelation() {
+        return groupCorrelation;
+    }
+
+    /**
+     * Sets the probability that a group member has the same type and class as the first customer of the group.
+     *
+     * @param groupCorrelation The group correlation, between 0 and 1
+     */
+    public void setGroupCorrelation(double groupCorrelation) {
+        this.groupCorrelation = groupCorrelation;
+    }
+
     /**
      * Gets the base parameter for service time distributions.
      * For Normal: mean (variance calculated as param/3).
@@ -268,10 +479,677 @@ public class SimulationConfig {
         this.selfCheckoutMultiplier = selfCheckoutMultiplier;
     }
 
+    /**
+     * Gets the number of customers that can shop at the same time.
+     * 0 means the shopping area is unlimited, so customers never wait for each other.
+     *
+     * @return The number of shopping area servers, or 0 for unlimited
+     */
+    public int getShoppingServers() {
+        return shoppingServers;
+    }
+
+    /**
+     * Sets the number of customers that can shop at the same time.
+     *
+     * @param shoppingServers The number of shopping area servers, or 0 for unlimited
+     */
+    public void setShoppingServers(int shoppingServers) {
+        this.shoppingServers = shoppingServers;
+    }
+
+    /**
+     * Gets the number of cashiers at the regular checkout.
+     *
+     * @return The number of regular checkout servers
+     */
+    public int getRegularServers() {
+        return regularServers;
+    }
+
+    /**
+     * Sets the number of cashiers at the regular checkout.
+     *
+     * @param regularServers The number of regular checkout servers
+     */
+    public void setRegularServers(int regularServers) {
+        this.regularServers = regularServers;
+    }
+
+    /**
+     * Gets the number of cashiers at the express checkout.
+     *
+     * @return The number of express checkout servers
+     */
+    public int getExpressServers() {
+        return expressServers;
+    }
+
+    /**
+     * Sets the number of cashiers at the express checkout.
+     *
+     * @param expressServers The number of express checkout servers
+     */
+    public void setExpressServers(int expressServers) {
+        this.expressServers = expressServers;
+    }
+
+    /**
+     * Gets the number of self-checkout kiosks.
+     *
+     * @return The number of self-checkout servers
+     */
+    public int getSelfCheckoutServers() {
+        return selfCheckoutServers;
+    }
+
+    /**
+     * Sets the number of self-checkout kiosks.
+     *
+     * @param selfCheckoutServers The number of self-checkout servers
+     */
+    public void setSelfCheckoutServers(int selfCheckoutServers) {
+        this.selfCheckoutServers = selfCheckoutServers;
+    }
+
+    /**
+     * Checks whether every regular and express checkout lane has its own queue.
+     * When false, the cashiers of a checkout share one queue. Self-checkout kiosks
+     * always share one queue.
+     *
+     * @return True if lanes have dedicated queues
+     */
+    public boolean isDedicatedLaneQueues() {
+        return dedicatedLaneQueues;
+    }
+
+    /**
+     * Sets whether every regular and express checkout lane has its own queue.
+     *
+     * @param dedicatedLaneQueues True for one queue per lane
+     */
+    public void setDedicatedLaneQueues(boolean dedicatedLaneQueues) {
+        this.dedicatedLaneQueues = dedicatedLaneQueues;
+    }
+
+    /**
+     * Gets the order in which checkout queues serve waiting customers.
+     *
+     * @return The queue discipline ("FIFO", "PRIORITY", or "SPT")
+     */
+    public String getQueueDiscipline() {
+        return queueDiscipline;
+    }
+
+    /**
+     * Sets the order in which checkout queues serve waiting customers.
+     * "PRIORITY" serves express customers first, "SPT" serves customers with the fewest items first.
+     *
+     * @param queueDiscipline The queue discipline ("FIFO", "PRIORITY", or "SPT")
+     */
+    public void setQueueDiscipline(String queueDiscipline) {
+        this.queueDiscipline = queueDiscipline;
+    }
+
+    /**
+     * Gets the checkout queue length at which arriving customers balk and leave the store.
+     *
+     * @return The balking threshold, 0 if customers never balk
+     */
+    public int getBalkingThreshold() {
+        return balkingThreshold;
+    }
+
+    /**
+     * Sets the checkout queue length at which arriving customers balk and leave the store.
+     *
+     * @param balkingThreshold The balking threshold, 0 if customers never balk
+     */
+    public void setBalkingThreshold(int balkingThreshold) {
+        this.balkingThreshold = balkingThreshold;
+    }
+
+    /**
+     * Gets the mean time a customer waits in a checkout queue before giving up.
+     *
+     * @return The mean patience, 0 if customers never renege
+     */
+    public double getMeanPatience() {
+        return meanPatience;
+    }
+
+    /**
+     * Sets the mean time a customer waits in a checkout queue before giving up.
+     * Patience is exponentially distributed.
+     *
+     * @param meanPatience The mean patience, 0 if customers never renege
+     */
+    public void setMeanPatience(double meanPatience) {
+        this.meanPatience = meanPatience;
+    }
+
+    /**
+     * Gets how customers choose a checkout lane after shopping.
+     *
+     * @return The lane policy ("FIXED", "JSQ", "SHORTEST_WORK", or "POWER_OF_D")
+     */
+    public String getLanePolicy() {
+        return lanePolicy;
+    }
+
+    /**
+     * Sets how customers choose a checkout lane after shopping.
+     * "FIXED" keeps the express/self-checkout/regular split, the others pick the least loaded
+     * lane among the checkouts a customer may use.
+     *
+     * @param lanePolicy The lane policy ("FIXED", "JSQ", "SHORTEST_WORK", or "POWER_OF_D")
+     */
+    public void setLanePolicy(String lanePolicy) {
+        this.lanePolicy = lanePolicy;
+    }
+
+    /**
+     * Gets the number of lanes a customer compares under the "POWER_OF_D" lane policy.
+     *
+     * @return The number of sampled lanes
+     */
+    public int getLaneChoices() {
+        return laneChoices;
+    }
+
+    /**
+     * Sets the number of lanes a customer compares under the "POWER_OF_D" lane policy.
+     *
+     * @param laneChoices The number of sampled lanes
+     */
+    public void setLaneChoices(int laneChoices) {
+        this.laneChoices = laneChoices;
+    }
+
+    /**
+     * Gets how checkout servers are opened and closed during a run.
+     *
+     * @return The staffing mode ("None", "QueueLength", or "ExpectedWait")
+     */
+    public String getStaffingMode() {
+        return staffingMode;
+    }
+
+    /**
+     * Sets how checkout servers are opened and closed during a run.
+     * "None" keeps every server open, "QueueLength" and "ExpectedWait" open and close servers
+     * when the queue length or expected wait crosses the staffing thresholds.
+     *
+     * @param staffingMode The staffing mode ("None", "QueueLength", or "ExpectedWait")
+     */
+    public void setStaffingMode(String staffingMode) {
+        this.staffingMode = staffingMode;
+    }
+
+    /**
+     * Gets the queue length per open server, or expected wait, at which another server is opened.
+     *
+     * @return The open threshold
+     */
+    public double getStaffingOpenThreshold() {
+        return staffingOpenThreshold;
+    }
+
+    /**
+     * Sets the queue length per open server, or expected wait, at which another server is opened.
+     *
+     * @param staffingOpenThreshold The open threshold
+     */
+    public void setStaffingOpenThreshold(double staffingOpenThreshold) {
+        this.staffingOpenThreshold = staffingOpenThreshold;
+    }
+
+    /**
+     * Gets the queue length per remaining server, or expected wait, at which a server is closed.
+     *
+     * @return The close threshold
+     */
+    public double getStaffingCloseThreshold() {
+        return staffingCloseThreshold;
+    }
+
+    /**
+     * Sets the queue length per remaining server, or expected wait, at which a server is closed.
+     * Must be below the open threshold.
+     *
+     * @param staffingCloseThreshold The close threshold
+     */
+    public void setStaffingCloseThreshold(double staffingCloseThreshold) {
+        this.staffingCloseThreshold = staffingCloseThreshold;
+    }
+
+    /**
+     * Gets the number of servers per checkout that stay open when staffing is dynamic.
+     *
+     * @return The minimum open server count
+     */
+    public int getMinOpenServers() {
+        return minOpenServers;
+    }
+
+    /**
+     * Sets the number of servers per checkout that stay open when staffing is dynamic.
+     *
+     * @param minOpenServers The minimum open server count
+     */
+    public void setMinOpenServers(int minOpenServers) {
+        this.minOpenServers = minOpenServers;
+    }
+
+    /**
+     * Gets the shift schedule of the regular checkout.
+     *
+     * @return The schedule as start:servers pairs, empty if every server is always open
+     */
+    public String getRegularShifts() {
+        return regularShifts;
+    }
+
+    /**
+     * Sets the shift schedule of the regular checkout, for example "0:2,120:4,480:3".
+     * Each pair opens the given number of servers from its start time on.
+     *
+     * @param regularShifts The schedule as start:servers pairs, empty if every server is always open
+     */
+    public void setRegularShifts(String regularShifts) {
+        this.regularShifts = regularShifts;
+    }
+
+    /**
+     * Gets the shift schedule of the express checkout.
+     *
+     * @return The schedule as start:servers pairs, empty if every server is always open
+     */
+    public String getExpressShifts() {
+        return expressShifts;
+    }
+
+    /**
+     * Sets the shift schedule of the express checkout, for example "0:2,120:4,480:3".
+     * Each pair opens the given number of servers from its start time on.
+     *
+     * @param expressShifts The schedule as start:servers pairs, empty if every server is always open
+     */
+    public void setExpressShifts(String expressShifts) {
+        this.expressShifts = expressShifts;
+    }
+
+    /**
+     * Gets the shift schedule of the self-checkout.
+     *
+     * @return The schedule as start:servers pairs, empty if every server is always open
+     */
+    public String getSelfCheckoutShifts() {
+        return selfCheckoutShifts;
+    }
+
+    /**
+     * Sets the shift schedule of the self-checkout, for example "0:2,120:4,480:3".
+     * Each pair opens the given number of servers from its start time on.
+     *
+     * @param selfCheckoutShifts The schedule as start:servers pairs, empty if every server is always open
+     */
+    public void setSelfCheckoutShifts(String selfCheckoutShifts) {
+        this.selfCheckoutShifts = selfCheckoutShifts;
+    }
+
+    /**
+     * Gets the distribution of the time between self-checkout kiosk failures.
+     *
+     * @return The distribution type ("Negexp", "Normal", or "Uniform")
+     */
+    public String getKioskFailureDistribution() {
+        return kioskFailureDistribution;
+    }
+
+    /**
+     * Sets the distribution of the time between self-checkout kiosk failures.
+     *
+     * @param kioskFailureDistribution The distribution type ("Negexp", "Normal", or "Uniform")
+     */
+    public void setKioskFailureDistribution(String kioskFailureDistribution) {
+        this.kioskFailureDistribution = kioskFailureDistribution;
+    }
+
+    /**
+     * Gets the mean time from a kiosk repair to its next failure.
+     *
+     * @return The mean time to failure, 0 if kiosks never fail
+     */
+    public double getKioskMeanTimeToFailure() {
+        return kioskMeanTimeToFailure;
+    }
+
+    /**
+     * Sets the mean time from a kiosk repair to its next failure.
+     *
+     * @param kioskMeanTimeToFailure The mean time to failure, 0 if kiosks never fail
+     */
+    public void setKioskMeanTimeToFailure(double kioskMeanTimeToFailure) {
+        this.kioskMeanTimeToFailure = kioskMeanTimeToFailure;
+    }
+
+    /**
+     * Gets the distribution of self-checkout kiosk repair times.
+     *
+     * @return The distribution type ("Negexp", "Normal", or "Uniform")
+     */
+    public String getKioskRepairDistribution() {
+        return kioskRepairDistribution;
+    }
+
+    /**
+     * Sets the distribution of self-checkout kiosk repair times.
+     *
+     * @param kioskRepairDistribution The distribution type ("Negexp", "Normal", or "Uniform")
+     */
+    public void setKioskRepairDistribution(String kioskRepairDistribution) {
+        this.kioskRepairDistribution = kioskRepairDistribution;
+    }
+
+    /**
+     * Gets the mean time to repair a failed kiosk.
+     *
+     * @return The mean repair time
+     */
+    public double getKioskMeanRepairTime() {
+        return kioskMeanRepairTime;
+    }
+
+    /**
+     * Sets the mean time to repair a failed kiosk.
+     *
+     * @param kioskMeanRepairTime The mean repair time
+     */
+    public void setKioskMeanRepairTime(double kioskMeanRepairTime) {
+        this.kioskMeanRepairTime = kioskMeanRepairTime;
+    }
+
+    /**
+     * Gets the number of attendants repairing failed self-checkout kiosks.
+     *
+     * @return The attendant count, 0 if every kiosk is repaired at once
+     */
+    public int getKioskAttendants() {
+        return kioskAttendants;
+    }
+
+    /**
+     * Sets the number of attendants repairing failed self-checkout kiosks.
+     *
+     * @param kioskAttendants The attendant count, 0 if every kiosk is repaired at once
+     */
+    public void setKioskAttendants(int kioskAttendants) {
+        this.kioskAttendants = kioskAttendants;
+    }
+
+    /**
+     * Checks if every self-checkout customer is assisted by a kiosk attendant.
+     *
+     * @return True if a self-checkout service waits for and holds an attendant
+     */
+    public boolean isKioskAssistedCheckout() {
+        return kioskAssistedCheckout;
+    }
+
+    /**
+     * Sets whether every self-checkout customer is assisted by a kiosk attendant.
+     * Has no effect without kiosk attendants.
+     *
+     * @param kioskAssistedCheckout True if a self-checkout service waits for and holds an attendant
+     */
+    public void setKioskAssistedCheckout(boolean kioskAssistedCheckout) {
+        this.kioskAssistedCheckout = kioskAssistedCheckout;
+    }
+
+    /**
+     * Gets the number of shopping carts customers need to enter the store.
+     *
+     * @return The cart count, 0 for unlimited carts
+     */
+    public int getCartCount() {
+        return cartCount;
+    }
+
+    /**
+     * Sets the number of shopping carts customers need to enter the store.
+     *
+     * @param cartCount The cart count, 0 for unlimited carts
+     */
+    public void setCartCount(int cartCount) {
+        this.cartCount = cartCount;
+    }
+
+    /**
+     * Gets the store layout used for shopping routes.
+     *
+     * @return The walkways as comma separated from-to:distance entries, empty for a fixed shopping time per item
+     */
+    public String getStoreLayout() {
+        return storeLayout;
+    }
+
+    /**
+     * Sets the store layout used for shopping routes.
+     *
+     * @param storeLayout The walkways as comma separated from-to:distance entries, empty for a fixed shopping time per item
+     */
+    public void setStoreLayout(String storeLayout) {
+        this.storeLayout = storeLayout;
+    }
+
+    /**
+     * Gets how often items come from each aisle of the store layout.
+     *
+     * @return The weights as comma separated aisle:weight entries, aisles left out have weight 1
+     */
+    public String getAisleWeights() {
+        return aisleWeights;
+    }
+
+    /**
+     * Sets how often items come from each aisle of the store layout.
+     *
+     * @param aisleWeights The weights as comma separated aisle:weight entries, aisles left out have weight 1
+     */
+    public void setAisleWeights(String aisleWeights) {
+        this.aisleWeights = aisleWeights;
+    }
+
+    /**
+     * Gets the distance a customer walks per time unit in the store layout.
+     *
+     * @return The walking speed
+     */
+    public double getWalkingSpeed() {
+        return walkingSpeed;
+    }
+
+    /**
+     * Sets the distance a customer walks per time unit in the store layout.
+     *
+     * @param walkingSpeed The walking speed
+     */
+    public void setWalkingSpeed(double walkingSpeed) {
+        this.walkingSpeed = walkingSpeed;
+    }
+
+    /**
+     * Checks whether customers walk the shopping floor as agents that slow down in crowds.
+     *
+     * @return True for agent-based shopping, false for a shopping time per customer
+     */
+    public boolean isAgentShopping() {
+        return agentShopping;
+    }
+
+    /**
+     * Sets whether customers walk the shopping floor as agents that slow down in crowds.
+     *
+     * @param agentShopping True for agent-based shopping, false for a shopping time per customer
+     */
+    public void setAgentShopping(boolean agentShopping) {
+        this.agentShopping = agentShopping;
+    }
+
+    /**
+     * Gets the width of the shopping floor, from the entrance to the checkouts.
+     *
+     * @return The store width
+     */
+    public double getStoreWidth() {
+        return storeWidth;
+    }
+
+    /**
+     * Sets the width of the shopping floor, from the entrance to the checkouts.
+     *
+     * @param storeWidth The store width
+     */
+    public void setStoreWidth(double storeWidth) {
+        this.storeWidth = storeWidth;
+    }
+
+    /**
+     * Gets the depth of the shopping floor.
+     *
+     * @return The store depth
+     */
+    public double getStoreDepth() {
+        return storeDepth;
+    }
+
+    /**
+     * Sets the depth of the shopping floor.
+     *
+     * @param storeDepth The store depth
+     */
+    public void setStoreDepth(double storeDepth) {
+        this.storeDepth = storeDepth;
+    }
+
+    /**
+     * Gets the time between position updates of customers on the shopping floor.
+     *
+     * @return The movement time step
+     */
+    public double getMovementTimeStep() {
+        return movementTimeStep;
+    }
+
+    /**
+     * Sets the time between position updates of customers on the shopping floor.
+     *
+     * @param movementTimeStep The movement time step
+     */
+    public void setMovementTimeStep(double movementTimeStep) {
+        this.movementTimeStep = movementTimeStep;
+    }
+
+    /**
+     * Checks whether large crowds on the shopping floor are moved in parallel.
+     *
+     * @return True if position updates may use several threads
+     */
+    public boolean isParallelMovement() {
+        return parallelMovement;
+    }
+
+    /**
+     * Sets whether large crowds on the shopping floor are moved in parallel.
+     *
+     * @param parallelMovement True if position updates may use several threads
+     */
+    public void setParallelMovement(boolean parallelMovement) {
+        this.parallelMovement = parallelMovement;
+    }
+
+    /**
+     * Gets the uniform random number generator the distributions draw from.
+     *
+     * @return "LCG" for the original 31-bit generator or "XOSHIRO256PP" for xoshiro256++
+     */
+    public String getRandomBackend() {
+        return randomBackend;
+    }
+
+    /**
+     * Sets the uniform random number generator the distributions draw from.
+     *
+     * @param randomBackend "LCG" for the original 31-bit generator or "XOSHIRO256PP" for xoshiro256++
+     */
+    public void setRandomBackend(String randomBackend) {
+        this.randomBackend = randomBackend;
+    }
+
+    /**
+     * Gets the seed every random stream of a run is derived from.
+     *
+     * @return The run seed, 0 for a new seed every run
+     */
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    /**
+     * Sets the seed every random stream of a run is derived from. Runs with the same seed
+     * and configuration are identical.
+     *
+     * @param randomSeed The run seed, 0 for a new seed every run
+     */
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    /**
+     * Checks whether normal and exponential times are drawn with the ziggurat method.
+     *
+     * @return True for the ziggurat method, false for Box-Muller and inversion
+     */
+    public boolean isZigguratSampling() {
+        return zigguratSampling;
+    }
+
+    /**
+     * Sets whether normal and exponential times are drawn with the ziggurat method,
+     * which is faster but gives different numbers for the same seed.
+     *
+     * @param zigguratSampling True for the ziggurat method, false for Box-Muller and inversion
+     */
+    public void setZigguratSampling(boolean zigguratSampling) {
+        this.zigguratSampling = zigguratSampling;
+    }
+
+    /**
+     * Checks whether arrival, service and other drawn times are drawn ahead on a helper thread.
+     *
+     * @return True if the times are drawn ahead
+     */
+    public boolean isPresampling() {
+        return presampling;
+    }
+
+    /**
+     * Sets whether arrival, service and other drawn times are drawn ahead on a helper thread.
+     * The run is the same either way, only the random number work moves off the simulation thread.
+     *
+     * @param presampling True to draw the times ahead
+     */
+    public void setPresampling(boolean presampling) {
+        this.presampling = presampling;
+    }
+
     public void reset() {
         // Reset arrival configuration
         this.arrivalDistribution = "Negexp";
         this.arrivalParam = 5.0;
+        this.arrivalProfile = "";
+        this.arrivalProfileShape = "Constant";
 
         // Reset customer parameters
         this.expressCustomerPercentage = 20.0;
@@ -279,6 +1157,12 @@ public class SimulationConfig {
         this.maxRegularItems = 30;
         this.minExpressItems = 1;
         this.maxExpressItems = 10;
+        this.regularItemHistogram = "";
+        this.expressItemHistogram = "";
+        this.classShares = "";
+        this.meanGroupSize = 1.0;
+        this.maxGroupSize = 6;
+        this.groupCorrelation = 0.8;
 
         // Reset service point parameters
         this.serviceDistribution = "Normal";
@@ -287,6 +1171,65 @@ public class SimulationConfig {
         this.regularMultiplier = 1.0;
         this.expressMultiplier = 0.7;
         this.selfCheckoutMultiplier = 1.2;
+
+        // Reset server parameters
+        this.shoppingServers = 0;
+        this.regularServers = 1;
+        this.expressServers = 1;
+        this.selfCheckoutServers = 1;
+        this.dedicatedLaneQueues = false;
+
+        // Reset checkout queueing parameters
+        this.queueDiscipline = "FIFO";
+        this.balkingThreshold = 0;
+        this.meanPatience = 0.0;
+        this.lanePolicy = "FIXED";
+        this.laneChoices = 2;
+
+        // Reset staffing parameters
+        this.staffingMode = "None";
+        this.staffingOpenThreshold = 3.0;
+        this.staffingCloseThreshold = 0.0;
+        this.minOpenServers = 1;
+
+        // Reset shift schedules
+        this.regularShifts = "";
+        this.expressShifts = "";
+        this.selfCheckoutShifts = "";
+
+        // Reset kiosk failures
+        this.kioskFailureDistribution = "Negexp";
+        this.kioskMeanTimeToFailure = 0.0;
+        this.kioskRepairDistribution = "Negexp";
+        this.kioskMeanRepairTime = 5.0;
+        this.kioskAttendants = 0;
+        this.kioskAssistedCheckout = false;
+
+        // Reset shared resources
+        this.cartCount = 0;
+
+        // Reset store layout
+        this.storeLayout = "";
+        this.aisleWeights = "";
+        this.walkingSpeed = 20.0;
+
+        // Reset agent-based shopping
+        this.agentShopping = false;
+        this.storeWidth = 40.0;
+        this.storeDepth = 25.0;
+        this.movementTimeStep = 0.25;
+        this.parallelMovement = false;
+
+        // Reset random number generation
+        this.randomBackend = "LCG";
+        this.randomSeed = 0;
+        this.zigguratSampling = false;
+        this.presampling = false;
+
+        // Reset warm-start parameters
+        this.warmStartMode = "None";
+        this.warmStartStateName = "last";
+        this.saveEndState = false;
     }
 
     /**
@@ -317,4 +1260,62 @@ public class SimulationConfig {
         this.defaultDelay = defaultDelay;
     }
 
-}
\ No newline at end of file
+    /**
+     * Gets how the service point queues are initialised at the start of a run.
+     * "None" starts from an empty store, "Analytic" samples queue lengths from a
+     * steady-state queueing approximation and "Saved" restores a previously saved end state.
+     *
+     * @return The warm-start mode ("None", "Analytic", or "Saved")
+     */
+    public String getWarmStartMode() {
+        return warmStartMode;
+    }
+
+    /**
+     * Sets how the service point queues are initialised at the start of a run.
+     *
+     * @param warmStartMode The warm-start mode ("None", "Analytic", or "Saved")
+     */
+    public void setWarmStartMode(String warmStartMode) {
+        this.warmStartMode = warmStartMode;
+    }
+
+    /**
+     * Gets the name of the saved store state used by the "Saved" warm-start mode
+     * and written to when the end state is saved.
+     *
+     * @return The store state name
+     */
+    public String getWarmStartStateName() {
+        return warmStartStateName;
+    }
+
+    /**
+     * Sets the name of the saved store state.
+     *
+     * @param warmStartStateName The store state name
+     */
+    public void setWarmStartStateName(String warmStartStateName) {
+        this.warmStartStateName = warmStartStateName;
+    }
+
+    /**
+     * Checks whether the store state is saved at the end of a run so that it can
+     * be used to warm-start later runs.
+     *
+     * @return True if the end state is saved, false otherwise
+     */
+    public boolean isSaveEndState() {
+        return saveEndState;
+    }
+
+    /**
+     * Sets whether the store state is saved at the end of a run.
+     *
+     * @param saveEndState True to save the end state
+     */
+    public void setSaveEndState(boolean saveEndState) {
+        this.saveEndState = saveEndState;
+    }
+
+}
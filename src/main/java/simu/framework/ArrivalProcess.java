@@ -10,6 +10,8 @@
 		private ContinuousGenerator generator;
 		private EventList eventList;
 		private EventType type;
+		// Time-of-day arrival rate, null for i.i.d. inter-arrival times
+		private RateProfile profile;
 
 		/**
 		 * Constructs a new arrival process with the specified parameters.
@@ -24,13 +26,32 @@
 			this.type = type;
 		}
 
+		/**
+		 * Constructs an arrival process whose rate follows a time-of-day profile.
+		 *
+		 * @param profile The arrival rate over the day
+		 * @param exponential A generator of exponential samples with mean 1
+		 * @param tl The event list where new arrival events will be added
+		 * @param type The type of event to be generated
+		 */
+		public ArrivalProcess(RateProfile profile, ContinuousGenerator exponential, EventList tl, EventType type) {
+			this(exponential, tl, type);
+			this.profile = profile;
+		}
+
 		/**
 		 * Generates the next arrival event and adds it to the event list.
 		 * The arrival time is determined by adding a sample from the generator
-		 * to the current simulation time.
+		 * to the current simulation time, or from the rate profile if there is one.
+		 * No event is added once a profile's rate stays 0 for the rest of the run.
 		 */
 		public void generateNext() {
-			Event t = new Event(type, Clock.getInstance().getTime() + generator.sample());
+			double now = Clock.getInstance().getTime();
+			double time = profile == null ? now + generator.sample() : profile.nextArrival(now, generator.sample());
+			if (Double.isInfinite(time)) {
+				return;
+			}
+			Event t = new Event(type, time);
 			eventList.add(t);
 		}
 
@@ -204,18 +204,22 @@ public abstract class Engine extends Thread implements IEngine {
 
     /**
      * Checks if the simulation should continue.
+     * The simulation also ends early once no events are left.
      *
      * @return True if the simulation should continue, false otherwise
      */
     private boolean simulate() {
         Trace.out(Trace.Level.INFO, "Time is: " + clock.getTime());
-        return clock.getTime() < simulationTime;
+        return clock.getTime() < simulationTime && eventList.getNextTime() < Double.POSITIVE_INFINITY;
     }
 
     /**
      * Delays the simulation thread based on the current delay setting.
      */
     private void delay() {
+        if (delay <= 0) {
+            return; // Full speed, e.g. headless runs
+        }
         Trace.out(Trace.Level.INFO, "Delay " + delay);
         try {
             sleep(delay);
@@ -9,6 +9,8 @@ package simu.framework;
 public class Event implements Comparable<Event> {
 	private IEventType type;
 	private double time;
+	private int target = -1;
+	private boolean cancelled = false;
 
 	/**
 	 * Constructs a new event with the specified type and time.
@@ -21,6 +23,18 @@ public class Event implements Comparable<Event> {
 		this.time = time;
 	}
 
+	/**
+	 * Constructs a new event with the specified type, time and target.
+	 *
+	 * @param type The type of the event
+	 * @param time The simulation time at which the event is scheduled to occur
+	 * @param target The index of the server or other element the event applies to
+	 */
+	public Event(IEventType type, double time, int target) {
+		this(type, time);
+		this.target = target;
+	}
+
 	/**
 	 * Sets the type of the event.
 	 *
@@ -57,6 +71,32 @@ public class Event implements Comparable<Event> {
 		return time;
 	}
 
+	/**
+	 * Gets the index of the server or other element the event applies to.
+	 *
+	 * @return The target index, or -1 if the event has no target
+	 */
+	public int getTarget() {
+		return target;
+	}
+
+	/**
+	 * Cancels the event. A cancelled event stays in the event list
+	 * but is skipped when the list is processed.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Checks if the event has been cancelled.
+	 *
+	 * @return True if the event is cancelled, false otherwise
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
 	/**
 	 * Compares this event with another event based on their scheduled times.
 	 * Required for ordering events in the priority queue.
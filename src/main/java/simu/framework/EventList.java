@@ -5,6 +5,8 @@ import java.util.PriorityQueue;
 /**
  * Manages the list of scheduled events in the simulation.
  * Uses a PriorityQueue to automatically order events by their scheduled time.
+ * Cancelled events are left in the queue and discarded when they reach the front,
+ * so cancelling an event does not require searching for it.
  */
 public class EventList {
 	private PriorityQueue<Event> lista = new PriorityQueue<Event>();
@@ -22,6 +24,7 @@ public class EventList {
 	 * @return The next event to be processed
 	 */
 	public Event remove(){
+		discardCancelled();
 		return lista.remove();
 	}
 
@@ -38,10 +41,20 @@ public class EventList {
 	/**
 	 * Gets the scheduled time of the next event without removing it from the list.
 	 *
-	 * @return The scheduled time of the next event
+	 * @return The scheduled time of the next event, or {@link Double#POSITIVE_INFINITY} if no event is left
 	 */
 	public double getNextTime(){
-		return lista.peek().getTime();
+		discardCancelled();
+		return lista.isEmpty() ? Double.POSITIVE_INFINITY : lista.peek().getTime();
+	}
+
+	/**
+	 * Removes cancelled events from the front of the list.
+	 */
+	private void discardCancelled() {
+		while (!lista.isEmpty() && lista.peek().isCancelled()) {
+			lista.poll();
+		}
 	}
 
 	/**
@@ -0,0 +1,161 @@
+package simu.framework;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+import eduni.distributions.ContinuousGenerator;
+
+/**
+ * Draws random variates ahead of time on a helper thread, so that the simulation thread only
+ * reads the next value of a buffer and the random number work overlaps with event processing.
+ * Each wrapped generator gets a ring of {@value #BLOCKS} blocks of {@value #BLOCK_SIZE} values.
+ * The helper fills free blocks with the generator's bulk sample, and the simulation thread hands
+ * a block back once it has read it.
+ *
+ * <p>A wrapped generator is only ever drawn from by one thread at a time and always in bulk, so
+ * it returns exactly the values, in the same order, that the generator would have returned
+ * directly. Runs with and without the pipeline are therefore identical for the same seed. The
+ * generator must not be used except through its wrapper.</p>
+ *
+ * <p>Each wrapper is meant for the single thread running the simulation.</p>
+ */
+public class PresamplingPipeline {
+	private static final int BLOCKS = 4;
+	private static final int BLOCK_SIZE = 1024;
+
+	private final List<Buffer> buffers = new CopyOnWriteArrayList<>();
+	private final Thread helper;
+	private volatile boolean running = true;
+
+	/**
+	 * Creates the pipeline and starts its helper thread.
+	 */
+	public PresamplingPipeline() {
+		helper = new Thread(this::fill, "presampling");
+		helper.setDaemon(true);
+		helper.start();
+	}
+
+	/**
+	 * Wraps a generator so that its values are drawn ahead on the helper thread. The first
+	 * blocks are filled straight away.
+	 *
+	 * @param generator The generator to draw from, not to be used directly any more
+	 * @return A generator returning the same values as the wrapped one
+	 */
+	public ContinuousGenerator wrap(ContinuousGenerator generator) {
+		Buffer buffer = new Buffer(generator);
+		buffer.fillFree();
+		buffers.add(buffer);
+		return buffer;
+	}
+
+	/**
+	 * Stops the helper thread. Wrapped generators keep working and then draw on the thread
+	 * that uses them.
+	 */
+	public void stop() {
+		running = false;
+		LockSupport.unpark(helper);
+	}
+
+	/**
+	 * The helper thread: fills every free block and sleeps until a block is handed back.
+	 */
+	private void fill() {
+		while (running) {
+			boolean filled = false;
+			for (Buffer buffer : buffers) {
+				filled |= buffer.fillFree();
+			}
+			if (!filled) {
+				LockSupport.park(this);
+			}
+		}
+	}
+
+	/**
+	 * The ring of pre-drawn values of one generator.
+	 */
+	private final class Buffer implements ContinuousGenerator {
+		private final ContinuousGenerator generator;
+		private final double[] ring = new double[BLOCKS * BLOCK_SIZE];
+		// Blocks filled and blocks read so far; filled is written by the filling thread only,
+		// consumed by the reading thread only, and filled - consumed stays between 0 and BLOCKS
+		private volatile long filled;
+		private volatile long consumed;
+		// Next value to read, used by the reading thread only
+		private int position;
+
+		Buffer(ContinuousGenerator generator) {
+			this.generator = generator;
+		}
+
+		/**
+		 * Fills the blocks that have been read.
+		 *
+		 * @return True if any block was filled
+		 */
+		boolean fillFree() {
+			boolean any = false;
+			while (filled - consumed < BLOCKS) {
+				generator.sample(ring, (int) (filled % BLOCKS) * BLOCK_SIZE, BLOCK_SIZE);
+				filled = filled + 1;
+				any = true;
+			}
+			return any;
+		}
+
+		@Override
+		public double sample() {
+			if (position % BLOCK_SIZE == 0) {
+				awaitBlock();
+			}
+			double value = ring[position++];
+			if (position % BLOCK_SIZE == 0) {
+				if (position == ring.length) {
+					position = 0;
+				}
+				consumed = consumed + 1;
+				LockSupport.unpark(helper);
+			}
+			return value;
+		}
+
+		/**
+		 * Waits until the block at the read position is filled. Once the helper thread has
+		 * ended, the block is filled on this thread instead.
+		 */
+		private void awaitBlock() {
+			int spins = 0;
+			while (filled <= consumed) {
+				if (!helper.isAlive()) {
+					fillFree();
+					return;
+				}
+				LockSupport.unpark(helper);
+				if (++spins % 64 == 0) {
+					Thread.yield();
+				} else {
+					Thread.onSpinWait();
+				}
+			}
+		}
+
+		@Override
+		public void setSeed(long seed) {
+			throw new UnsupportedOperationException("A presampled generator cannot be reseeded");
+		}
+
+		@Override
+		public long getSeed() {
+			return generator.getSeed();
+		}
+
+		@Override
+		public void reseed() {
+			throw new UnsupportedOperationException("A presampled generator cannot be reseeded");
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package simu.framework;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import eduni.distributions.ContinuousGenerator;
+import eduni.distributions.RandomBackend;
+
+/**
+ * Independent random number streams for the parts of a simulation run, all derived from one
+ * run seed. Each stream has a name, such as {@code "arrivals"} or {@code "routing"}, and its
+ * seed depends only on the run seed and that name, so a stream gives the same numbers however
+ * much the other streams are used. Two runs with the same seed are identical, and scenarios
+ * compared with the same seed see the same arrivals and customers as long as they draw them
+ * from the same streams (common random numbers).
+ *
+ * <p>Every run has its own streams, so replications running in parallel share no generator.
+ * A stream is not thread safe and belongs to the thread running the simulation.</p>
+ */
+public class RandomStreams {
+	// Seeds of the 31-bit LCG must lie between 1 and its modulus minus 1
+	private static final long LCG_SEEDS = 2147483646L;
+
+	private static RandomStreams fallback;
+
+	private final long seed;
+	private final RandomBackend backend;
+	private final Map<String, ContinuousGenerator> streams = new HashMap<>();
+
+	/**
+	 * Creates the streams of a run.
+	 *
+	 * @param seed The run seed
+	 * @param backend The uniform generator behind every stream
+	 */
+	public RandomStreams(long seed, RandomBackend backend) {
+		this.seed = seed;
+		this.backend = backend;
+	}
+
+	/**
+	 * Gets the streams used by components created outside a simulation run, for example in
+	 * tests. They are seeded once per JVM.
+	 *
+	 * @return The shared fallback streams
+	 */
+	public static synchronized RandomStreams getDefault() {
+		if (fallback == null) {
+			fallback = new RandomStreams(System.nanoTime(), RandomBackend.XOSHIRO256PP);
+		}
+		return fallback;
+	}
+
+	/**
+	 * Gets the run seed the streams are derived from.
+	 *
+	 * @return The run seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Gets a uniform stream, creating it on first use.
+	 *
+	 * @param name The stream name
+	 * @return A generator of numbers uniformly distributed between 0 and 1
+	 */
+	public ContinuousGenerator get(String name) {
+		return streams.computeIfAbsent(name, this::create);
+	}
+
+	/**
+	 * Creates a new generator for a stream, giving the same numbers as {@link #get(String)}
+	 * but not shared with it, as the source of a distribution of its own:
+	 * {@code negexp.setSource(streams.create("arrivals"))}.
+	 *
+	 * @param name The stream name
+	 * @return A new generator of the backend, seeded for the stream
+	 */
+	public ContinuousGenerator create(String name) {
+		return backend.create(seedFor(name));
+	}
+
+	/**
+	 * Gets the seed of a stream, valid for the backend these streams were created with.
+	 *
+	 * @param name The stream name
+	 * @return The seed, valid for the backend
+	 */
+	public long seedFor(String name) {
+		long z = mix(seed ^ mix(name.hashCode() + 0x9E3779B97F4A7C15L));
+		return backend == RandomBackend.LCG ? 1 + Math.floorMod(z, LCG_SEEDS) : z;
+	}
+
+	/**
+	 * The SplitMix64 finaliser, which spreads every input bit over the whole result.
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
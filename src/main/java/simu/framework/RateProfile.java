@@ -0,0 +1,155 @@
+package simu.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An arrival rate that changes over the day, for non-homogeneous Poisson arrivals.
+ * A profile is written as comma separated {@code time:rate} pairs, for example
+ * {@code "0:0.5,240:2,360:1,600:2.5,780:0.5"}, where the rate is the expected number of
+ * arrivals per time unit. The rate is either constant from each time until the next, or
+ * changes linearly between them. After the last time the last rate stays, and before the
+ * first time the first rate applies.
+ *
+ * <p>Arrival times are found by inverting the cumulative rate: a unit exponential sample is
+ * added to the cumulative rate at the current time, and the arrival is the time the
+ * cumulative rate reaches the sum. The cumulative rate at every segment start is computed
+ * once, and a cursor follows the current segment as time advances, so each arrival costs
+ * O(1) expected work and no samples are thrown away as with thinning.</p>
+ */
+public class RateProfile {
+	private final double[] times;
+	private final double[] rates;
+	// Rate change per time unit within each segment, 0 for constant rates and the last segment
+	private final double[] slopes;
+	// Cumulative rate at the start of each segment
+	private final double[] cumulative;
+	private int cursor = 0;
+
+	/**
+	 * Parses a rate profile.
+	 *
+	 * @param profile The profile as {@code time:rate} pairs
+	 * @param linear True if the rate changes linearly between times, false if it is constant until the next time
+	 * @throws IllegalArgumentException If the profile is malformed
+	 */
+	public RateProfile(String profile, boolean linear) {
+		List<double[]> points = new ArrayList<>();
+		for (String entry : profile.split(",")) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			String[] parts = entry.trim().split(":");
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Rate should be time:rate, was " + entry.trim());
+			}
+			double time;
+			double rate;
+			try {
+				time = Double.parseDouble(parts[0].trim());
+				rate = Double.parseDouble(parts[1].trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid rate " + entry.trim(), e);
+			}
+			if (time < 0 || rate < 0) {
+				throw new IllegalArgumentException("Rate times and rates cannot be negative, was " + entry.trim());
+			}
+			if (!points.isEmpty() && time <= points.get(points.size() - 1)[0]) {
+				throw new IllegalArgumentException("Rate times must increase, was " + entry.trim());
+			}
+			points.add(new double[] {time, rate});
+		}
+		if (points.isEmpty()) {
+			throw new IllegalArgumentException("A rate profile needs at least one rate");
+		}
+		if (points.get(0)[0] > 0) {
+			points.add(0, new double[] {0.0, points.get(0)[1]});
+		}
+
+		int n = points.size();
+		times = new double[n];
+		rates = new double[n];
+		slopes = new double[n];
+		cumulative = new double[n];
+		for (int i = 0; i < n; i++) {
+			times[i] = points.get(i)[0];
+			rates[i] = points.get(i)[1];
+		}
+		for (int i = 0; i + 1 < n; i++) {
+			double length = times[i + 1] - times[i];
+			slopes[i] = linear ? (rates[i + 1] - rates[i]) / length : 0.0;
+			cumulative[i + 1] = cumulative[i] + rates[i] * length + 0.5 * slopes[i] * length * length;
+		}
+	}
+
+	/**
+	 * Gets the arrival rate at a time.
+	 *
+	 * @param time The simulation time
+	 * @return The expected arrivals per time unit
+	 */
+	public double getRate(double time) {
+		int i = segmentAt(time);
+		return rates[i] + slopes[i] * (Math.max(time, 0.0) - times[i]);
+	}
+
+	/**
+	 * Gets the expected number of arrivals from time 0 up to a time.
+	 *
+	 * @param time The simulation time
+	 * @return The cumulative rate
+	 */
+	public double getCumulativeRate(double time) {
+		int i = segmentAt(time);
+		double d = Math.max(time, 0.0) - times[i];
+		return cumulative[i] + rates[i] * d + 0.5 * slopes[i] * d * d;
+	}
+
+	/**
+	 * Gets the time of the next arrival.
+	 *
+	 * @param time The current simulation time
+	 * @param exponential A sample from the exponential distribution with mean 1
+	 * @return The arrival time, or {@link Double#POSITIVE_INFINITY} if the rate stays 0 for good
+	 */
+	public double nextArrival(double time, double exponential) {
+		double target = getCumulativeRate(time) + exponential;
+		int i = cursor;
+		while (i + 1 < times.length && cumulative[i + 1] <= target) {
+			i++;
+		}
+		double x = target - cumulative[i];
+		double r = rates[i];
+		double s = slopes[i];
+		double start = Math.max(times[i], time);
+		if (start > times[i]) {
+			// Measure from the current time within the cursor's segment
+			double d = time - times[i];
+			x -= r * d + 0.5 * s * d * d;
+			r += s * d;
+		}
+		if (s == 0.0) {
+			return r > 0 ? start + x / r : Double.POSITIVE_INFINITY;
+		}
+		// Solve r d + s d^2 / 2 = x in a form that is stable for both signs of the slope
+		double root = Math.sqrt(Math.max(0.0, r * r + 2 * s * x));
+		return r + root > 0 ? start + 2 * x / (r + root) : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Finds the segment a time falls in, moving the cursor forward from its last position,
+	 * or searching from the start if time went backwards.
+	 *
+	 * @param time The simulation time
+	 * @return The segment index
+	 */
+	private int segmentAt(double time) {
+		if (time < times[cursor]) {
+			cursor = 0;
+		}
+		while (cursor + 1 < times.length && times[cursor + 1] <= time) {
+			cursor++;
+		}
+		return cursor;
+	}
+}
@@ -0,0 +1,191 @@
+package simu.framework;
+
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * A pool of identical resource units, such as shopping carts or attendants, that entities
+ * need in addition to a server. An entity that finds no free unit waits in the pool, and a
+ * released unit is handed straight to the next waiter by calling its callback, so nobody
+ * has to poll for free units.
+ *
+ * <p>Waiters are served first come, first served, or by priority with ties served first
+ * come, first served. Acquiring and releasing are O(1) with FIFO waiters and O(log n) with
+ * priority waiters.</p>
+ */
+public class ResourcePool {
+	/**
+	 * The order in which waiting entities get released units.
+	 */
+	public enum WaitDiscipline {
+		/** First come, first served. */
+		FIFO,
+		/** Smallest priority value first, then first come, first served. */
+		PRIORITY
+	}
+
+	private static final class Waiter implements Comparable<Waiter> {
+		private final double priority;
+		private final long order;
+		private final double since;
+		private final Runnable onGranted;
+
+		private Waiter(double priority, long order, double since, Runnable onGranted) {
+			this.priority = priority;
+			this.order = order;
+			this.since = since;
+			this.onGranted = onGranted;
+		}
+
+		@Override
+		public int compareTo(Waiter other) {
+			int byPriority = Double.compare(priority, other.priority);
+			return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+		}
+	}
+
+	private final String name;
+	private final int capacity;
+	private final Queue<Waiter> waiters;
+	private int available;
+	private long nextOrder = 0;
+
+	// Statistics
+	private int grants = 0;
+	private int delayedGrants = 0;
+	private double totalWaitingTime = 0.0;
+
+	/**
+	 * Creates a pool with all units free.
+	 *
+	 * @param name The name of the resource, used in trace output
+	 * @param capacity The number of units
+	 * @param discipline The order in which waiters get released units
+	 */
+	public ResourcePool(String name, int capacity, WaitDiscipline discipline) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("A resource pool needs at least one unit");
+		}
+		this.name = name;
+		this.capacity = capacity;
+		this.available = capacity;
+		this.waiters = discipline == WaitDiscipline.PRIORITY ? new PriorityQueue<>() : new ArrayDeque<>();
+	}
+
+	/**
+	 * Acquires a unit, or waits for one with the lowest priority value.
+	 *
+	 * @param onGranted Called when a unit is handed over later
+	 * @return True if a unit was free and was taken at once, in which case onGranted is not called
+	 */
+	public boolean acquire(Runnable onGranted) {
+		return acquire(0.0, onGranted);
+	}
+
+	/**
+	 * Acquires a unit, or waits for one. With priority waiters, a smaller priority value
+	 * is served first.
+	 *
+	 * @param priority The priority of the request
+	 * @param onGranted Called when a unit is handed over later
+	 * @return True if a unit was free and was taken at once, in which case onGranted is not called
+	 */
+	public boolean acquire(double priority, Runnable onGranted) {
+		if (available > 0) {
+			available--;
+			grants++;
+			return true;
+		}
+		waiters.add(new Waiter(priority, nextOrder++, Clock.getInstance().getTime(), onGranted));
+		return false;
+	}
+
+	/**
+	 * Acquires a unit only if one is free.
+	 *
+	 * @return True if a unit was taken
+	 */
+	public boolean tryAcquire() {
+		if (available == 0) {
+			return false;
+		}
+		available--;
+		grants++;
+		return true;
+	}
+
+	/**
+	 * Releases a unit. If someone is waiting the unit is handed to the next waiter at once.
+	 */
+	public void release() {
+		Waiter next = waiters.poll();
+		if (next == null) {
+			if (available == capacity) {
+				throw new IllegalStateException("More " + name + " released than acquired");
+			}
+			available++;
+			return;
+		}
+		grants++;
+		delayedGrants++;
+		totalWaitingTime += Clock.getInstance().getTime() - next.since;
+		next.onGranted.run();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Gets the number of free units.
+	 *
+	 * @return The available unit count
+	 */
+	public int getAvailable() {
+		return available;
+	}
+
+	/**
+	 * Gets the number of requests waiting for a unit.
+	 *
+	 * @return The waiting request count
+	 */
+	public int getWaiting() {
+		return waiters.size();
+	}
+
+	/**
+	 * Gets the fraction of requests that had to wait for a unit.
+	 *
+	 * @return The share of delayed requests, between 0 and 1
+	 */
+	public double getDelayedShare() {
+		return grants > 0 ? (double) delayedGrants / grants : 0.0;
+	}
+
+	/**
+	 * Gets the mean time granted requests waited for a unit, counting those that did not wait.
+	 *
+	 * @return The average waiting time
+	 */
+	public double getAverageWaitingTime() {
+		return grants > 0 ? totalWaitingTime / grants : 0.0;
+	}
+
+	/**
+	 * Frees every unit and forgets all waiters and statistics.
+	 */
+	public void reset() {
+		waiters.clear();
+		available = capacity;
+		nextOrder = 0;
+		grants = 0;
+		delayedGrants = 0;
+		totalWaitingTime = 0.0;
+	}
+}
@@ -0,0 +1,102 @@
+package simu.model;
+
+import eduni.distributions.ContinuousGenerator;
+import simu.framework.Clock;
+import simu.framework.Event;
+import simu.framework.EventList;
+import simu.framework.ResourcePool;
+import simu.framework.Trace;
+
+/**
+ * Failures and repairs of the servers of one service point.
+ * Every server fails after a sampled time to failure, counted from its last repair,
+ * and is repaired after a sampled repair time. Failure and repair events carry the
+ * number of the server.
+ *
+ * <p>With a repair crew, a repair only starts once a crew member is free. Servers that
+ * failed in the middle of a service are repaired first.</p>
+ */
+public class BreakdownProcess {
+	private final ServicePoint servicePoint;
+	private final ContinuousGenerator timeToFailure;
+	private final ContinuousGenerator repairTime;
+	private final EventList eventList;
+	private final EventType failureType;
+	private final EventType repairType;
+	private ResourcePool repairCrew;
+
+	/**
+	 * Creates a breakdown process for the servers of a service point.
+	 *
+	 * @param servicePoint The service point whose servers fail
+	 * @param timeToFailure The generator for the time from a repair to the next failure
+	 * @param repairTime The generator for repair times
+	 * @param eventList The event list where failure and repair events will be scheduled
+	 * @param failureType The event type for failures
+	 * @param repairType The event type for completed repairs
+	 */
+	public BreakdownProcess(ServicePoint servicePoint, ContinuousGenerator timeToFailure, ContinuousGenerator repairTime,
+							EventList eventList, EventType failureType, EventType repairType) {
+		this.servicePoint = servicePoint;
+		this.timeToFailure = timeToFailure;
+		this.repairTime = repairTime;
+		this.eventList = eventList;
+		this.failureType = failureType;
+		this.repairType = repairType;
+	}
+
+	/**
+	 * Makes repairs wait for a member of a repair crew, such as an attendant shared by all kiosks.
+	 *
+	 * @param repairCrew The crew pool, or null to start every repair at once
+	 */
+	public void setRepairCrew(ResourcePool repairCrew) {
+		this.repairCrew = repairCrew;
+	}
+
+	/**
+	 * Schedules the first failure of every server.
+	 */
+	public void start() {
+		for (int s = 0; s < servicePoint.getServers(); s++) {
+			scheduleFailure(s);
+		}
+	}
+
+	/**
+	 * Handles a failure event: suspends the server and schedules its repair,
+	 * or waits for the repair crew.
+	 *
+	 * @param server The server that failed
+	 */
+	public void fail(int server) {
+		servicePoint.failServer(server);
+		Trace.out(Trace.Level.INFO, "Server " + (server + 1) + " failed at " + Clock.getInstance().getTime());
+		double priority = servicePoint.isServerBusy(server) ? 0.0 : 1.0;
+		if (repairCrew == null || repairCrew.acquire(priority, () -> scheduleRepair(server))) {
+			scheduleRepair(server);
+		}
+	}
+
+	/**
+	 * Handles a repair event: resumes the server and schedules its next failure.
+	 *
+	 * @param server The server that was repaired
+	 */
+	public void repair(int server) {
+		servicePoint.repairServer(server);
+		Trace.out(Trace.Level.INFO, "Server " + (server + 1) + " repaired at " + Clock.getInstance().getTime());
+		if (repairCrew != null) {
+			repairCrew.release();
+		}
+		scheduleFailure(server);
+	}
+
+	private void scheduleRepair(int server) {
+		eventList.add(new Event(repairType, Clock.getInstance().getTime() + repairTime.sample(), server));
+	}
+
+	private void scheduleFailure(int server) {
+		eventList.add(new Event(failureType, Clock.getInstance().getTime() + timeToFailure.sample(), server));
+	}
+}
@@ -0,0 +1,161 @@
+package simu.model;
+
+import eduni.distributions.ContinuousGenerator;
+import simu.framework.RandomStreams;
+
+/**
+ * Chooses the checkout and lane a customer queues at when it finishes shopping.
+ * Express customers and customers with few items may use the express checkout as well as
+ * the regular and self-checkouts; other customers may only use the latter two.
+ *
+ * <p>Every checkout keeps its lane loads in a tournament tree, so the least loaded lane
+ * of a checkout is known in O(1) and a routing decision costs O(1) per checkout
+ * whatever the number of lanes. Power-of-d sampling only looks at the d sampled lanes.</p>
+ */
+public class CheckoutRouter {
+	/** Customers with at most this many items may use the express checkout. */
+	public static final int EXPRESS_ITEM_LIMIT = 10;
+	/** Share of non-express customers choosing the self-checkout under the fixed rule. */
+	public static final double SELF_CHECKOUT_SHARE = 0.3;
+
+	private static final ServicePointType[] EXPRESS_ELIGIBLE = {
+			ServicePointType.EXPRESS_CHECKOUT, ServicePointType.REGULAR_CHECKOUT, ServicePointType.SELF_CHECKOUT
+	};
+	private static final ServicePointType[] REGULAR_ONLY = {
+			ServicePointType.REGULAR_CHECKOUT, ServicePointType.SELF_CHECKOUT
+	};
+
+	/**
+	 * A checkout and a lane in it.
+	 *
+	 * @param checkout The checkout service point type
+	 * @param lane The lane number, 0 for a checkout with one shared queue
+	 */
+	public record LaneChoice(ServicePointType checkout, int lane) {
+	}
+
+	private final ServicePoint[] servicePoints;
+	private final LanePolicy policy;
+	private final int choices;
+	private final ContinuousGenerator random;
+
+	/**
+	 * Creates a router over the service points of the store.
+	 * The service points are expected in the order of {@link ServicePointType}.
+	 *
+	 * @param servicePoints The service points of the store
+	 * @param policy The lane choice policy
+	 * @param choices The number of lanes sampled by {@link LanePolicy#POWER_OF_D}
+	 */
+	public CheckoutRouter(ServicePoint[] servicePoints, LanePolicy policy, int choices) {
+		this(servicePoints, policy, choices, RandomStreams.getDefault().get("routing"));
+	}
+
+	/**
+	 * Creates a router over the service points of the store that draws its random choices
+	 * from a random stream.
+	 *
+	 * @param servicePoints The service points of the store
+	 * @param policy The lane choice policy
+	 * @param choices The number of lanes sampled by {@link LanePolicy#POWER_OF_D}
+	 * @param random The uniform stream routing choices are drawn from
+	 */
+	public CheckoutRouter(ServicePoint[] servicePoints, LanePolicy policy, int choices, ContinuousGenerator random) {
+		if (choices < 1) {
+			throw new IllegalArgumentException("Power of d choices needs at least one choice");
+		}
+		this.servicePoints = servicePoints;
+		this.policy = policy;
+		this.choices = choices;
+		this.random = random;
+		for (ServicePointType type : EXPRESS_ELIGIBLE) {
+			servicePoints[type.ordinal()].setLanePolicy(policy);
+		}
+	}
+
+	/**
+	 * Checks whether a customer may use the express checkout.
+	 *
+	 * @param customer The customer
+	 * @return True for express customers and customers with few items
+	 */
+	public static boolean isExpressEligible(Customer customer) {
+		return customer.getType() == CustomerType.EXPRESS || customer.getItems() <= EXPRESS_ITEM_LIMIT;
+	}
+
+	/**
+	 * Chooses the checkout lane for a customer who finished shopping.
+	 *
+	 * @param customer The customer
+	 * @return The chosen checkout and lane
+	 */
+	public LaneChoice choose(Customer customer) {
+		ServicePointType[] candidates = isExpressEligible(customer) ? EXPRESS_ELIGIBLE : REGULAR_ONLY;
+		return switch (policy) {
+			case FIXED -> fixed(customer);
+			case POWER_OF_D -> sampled(candidates);
+			default -> leastLoaded(candidates);
+		};
+	}
+
+	private LaneChoice fixed(Customer customer) {
+		ServicePointType checkout;
+		if (isExpressEligible(customer)) {
+			checkout = ServicePointType.EXPRESS_CHECKOUT;
+		} else if (random.sample() > 1 - SELF_CHECKOUT_SHARE) {
+			checkout = ServicePointType.SELF_CHECKOUT;
+		} else {
+			checkout = ServicePointType.REGULAR_CHECKOUT;
+		}
+		return new LaneChoice(checkout, servicePoints[checkout.ordinal()].getLeastLoadedLane());
+	}
+
+	/**
+	 * Picks the least loaded lane over the candidate checkouts. Ties go to the earlier candidate.
+	 */
+	private LaneChoice leastLoaded(ServicePointType[] candidates) {
+		ServicePointType best = candidates[0];
+		double bestLoad = servicePoints[best.ordinal()].getLeastLaneLoad();
+		for (int i = 1; i < candidates.length; i++) {
+			double load = servicePoints[candidates[i].ordinal()].getLeastLaneLoad();
+			if (load < bestLoad) {
+				best = candidates[i];
+				bestLoad = load;
+			}
+		}
+		return new LaneChoice(best, servicePoints[best.ordinal()].getLeastLoadedLane());
+	}
+
+	/**
+	 * Samples d servers uniformly over the candidate checkouts and picks the least loaded lane among them.
+	 * Every server of a shared-queue checkout stands for that one queue. If every sampled lane is
+	 * closed or failed, the least loaded lane over all candidates is taken instead.
+	 */
+	private LaneChoice sampled(ServicePointType[] candidates) {
+		int total = 0;
+		for (ServicePointType type : candidates) {
+			total += servicePoints[type.ordinal()].getServers();
+		}
+
+		LaneChoice best = null;
+		double bestLoad = Double.POSITIVE_INFINITY;
+		for (int d = 0; d < choices; d++) {
+			int pick = (int) (random.sample() * total);
+			for (ServicePointType type : candidates) {
+				ServicePoint sp = servicePoints[type.ordinal()];
+				if (pick < sp.getServers()) {
+					int lane = sp.hasDedicatedQueues() ? pick : 0;
+					double load = sp.getLaneLoad(lane);
+					if (load < bestLoad) {
+						best = new LaneChoice(type, lane);
+						bestLoad = load;
+					}
+					break;
+				}
+				pick -= sp.getServers();
+			}
+		}
+		// Every sampled lane was closed or failed
+		return best != null ? best : leastLoaded(candidates);
+	}
+}
@@ -0,0 +1,161 @@
+package simu.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bucketed priority queue with one first come, first served queue per priority class.
+ * The key of a customer is its class number, from 0 (served first) to the number of classes
+ * minus one. A bit mask of the classes with waiting customers finds the first non-empty
+ * class with one instruction, so adding, taking the first customer and removing any
+ * customer are all O(1).
+ *
+ * <p>Each class queue is a doubly linked list threaded through the customers themselves,
+ * which is what lets a reneging customer leave from the middle of the queue in O(1).</p>
+ */
+class ClassQueue implements CustomerQueue {
+	/** Most classes a queue can have, one bit of the mask each. */
+	static final int MAX_CLASSES = 64;
+
+	private final Customer[] heads;
+	private final Customer[] tails;
+	private long nonEmpty = 0L;
+	private int size = 0;
+
+	/**
+	 * Creates an empty queue.
+	 *
+	 * @param classes The number of priority classes
+	 */
+	ClassQueue(int classes) {
+		if (classes < 1 || classes > MAX_CLASSES) {
+			throw new IllegalArgumentException("A class queue needs 1 to " + MAX_CLASSES + " classes");
+		}
+		heads = new Customer[classes];
+		tails = new Customer[classes];
+	}
+
+	/**
+	 * Adds a customer to the back of its class.
+	 *
+	 * @param customer The customer to add
+	 * @param key The class number of the customer
+	 */
+	@Override
+	public void add(Customer customer, double key) {
+		int c = (int) key;
+		if (c < 0 || c >= heads.length) {
+			throw new IllegalArgumentException("No class " + key + " in a queue of " + heads.length + " classes");
+		}
+		customer.setHeapIndex(c);
+		customer.setClassQueue(this);
+		customer.setQueuePrevious(tails[c]);
+		customer.setQueueNext(null);
+		if (tails[c] == null) {
+			heads[c] = customer;
+			nonEmpty |= 1L << c;
+		} else {
+			tails[c].setQueueNext(customer);
+		}
+		tails[c] = customer;
+		size++;
+	}
+
+	@Override
+	public Customer peek() {
+		return nonEmpty == 0 ? null : heads[Long.numberOfTrailingZeros(nonEmpty)];
+	}
+
+	@Override
+	public Customer poll() {
+		Customer customer = peek();
+		if (customer != null) {
+			unlink(customer);
+		}
+		return customer;
+	}
+
+	@Override
+	public boolean remove(Customer customer) {
+		if (!contains(customer)) {
+			return false;
+		}
+		unlink(customer);
+		return true;
+	}
+
+	@Override
+	public boolean contains(Customer customer) {
+		return customer.getClassQueue() == this;
+	}
+
+	/**
+	 * Takes a customer out of its class list.
+	 *
+	 * @param customer A customer in this queue
+	 */
+	private void unlink(Customer customer) {
+		int c = customer.getHeapIndex();
+		Customer previous = customer.getQueuePrevious();
+		Customer next = customer.getQueueNext();
+		if (previous == null) {
+			heads[c] = next;
+		} else {
+			previous.setQueueNext(next);
+		}
+		if (next == null) {
+			tails[c] = previous;
+		} else {
+			next.setQueuePrevious(previous);
+		}
+		if (heads[c] == null) {
+			nonEmpty &= ~(1L << c);
+		}
+		detach(customer);
+		size--;
+	}
+
+	private static void detach(Customer customer) {
+		customer.setHeapIndex(-1);
+		customer.setClassQueue(null);
+		customer.setQueuePrevious(null);
+		customer.setQueueNext(null);
+	}
+
+	@Override
+	public List<Customer> toSortedList() {
+		List<Customer> customers = new ArrayList<>(size);
+		for (Customer head : heads) {
+			for (Customer customer = head; customer != null; customer = customer.getQueueNext()) {
+				customers.add(customer);
+			}
+		}
+		return customers;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void clear() {
+		for (int c = 0; c < heads.length; c++) {
+			Customer customer = heads[c];
+			while (customer != null) {
+				Customer next = customer.getQueueNext();
+				detach(customer);
+				customer = next;
+			}
+			heads[c] = null;
+			tails[c] = null;
+		}
+		nonEmpty = 0L;
+		size = 0;
+	}
+}
@@ -1,57 +1,91 @@
 package simu.model;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import eduni.distributions.ContinuousGenerator;
+import eduni.distributions.Discrete;
+import eduni.distributions.ParameterException;
 import simu.data.SimulationConfig;
 import simu.framework.Clock;
+import simu.framework.Event;
+import simu.framework.RandomStreams;
 import simu.framework.Trace;
 import utils.CSVReport;
 
 /**
  * Represents a customer in the store simulation.
- * Customers have a type (regular or express) and a number of items they are purchasing.
+ * Customers have a type (regular or express), a class (such as loyalty or staff) and a number
+ * of items they are purchasing.
  */
 public class Customer {
 	private double arrivalTime;
 	private double removalTime;
 	private int id;
 	private CustomerType type;
+	private CustomerClass customerClass;
 	private int items;
 	private ServicePointType currentLocation;
 	private ServicePointType previousLocation;
-	private SimulationConfig config;
 
 	// Statistics tracking
 	private static int i = 1;
-	private static long totalTime = 0;
+	private static double totalTime = 0;
 	private static int totalCustomers = 0;
+	private static final double[] classTime = new double[CustomerClass.values().length];
+	private static final double[] classWaitingTime = new double[CustomerClass.values().length];
+	private static final int[] classCustomers = new int[CustomerClass.values().length];
+	// Alias tables of the item histograms in use, by histogram
+	private static final Map<String, Discrete> itemTables = new HashMap<>();
 
 	// Timestamps for tracking service points
 	private double entranceTime;
 	private double shoppingStartTime;
 	private double shoppingEndTime;
 	private double checkoutStartTime;
+	private double queueEntryTime;
+	private double waitingTime;
+
+	// Position of the customer in the heap of the station it is in, -1 if none
+	private int heapIndex = -1;
+	// Neighbours in the class queue the customer waits in, and that queue, null if none
+	private Customer queuePrevious;
+	private Customer queueNext;
+	private ClassQueue classQueue;
+	// Lane the customer waits in, and its pending departure or patience event
+	private int lane = 0;
+	private Event timer;
+	// True while the customer holds one of a limited number of shopping carts
+	private boolean hasCart = false;
 
 	/**
 	 * Creates a new customer with a unique ID and records arrival time.
+	 * The customer is drawn from the default random streams.
 	 */
 	public Customer(SimulationConfig cfg) {
+		this(cfg, RandomStreams.getDefault());
+	}
+
+	/**
+	 * Creates a new customer with a unique ID and records arrival time.
+	 * @param cfg The configuration holding the customer mix.
+	 * @param streams The random streams of the run the customer arrives in.
+	 */
+	public Customer(SimulationConfig cfg, RandomStreams streams) {
 		id = i++;
 		arrivalTime = Clock.getInstance().getTime();
 		entranceTime = arrivalTime;
-		config = cfg;
-		if (config.getExpressCustomerPercentage() <= 0) {
+		if (cfg.getExpressCustomerPercentage() <= 0) {
 			type = CustomerType.REGULAR;
 		} else {
-			boolean isExpress = Math.random() * 100 < config.getExpressCustomerPercentage();
+			boolean isExpress = streams.get("customer.type").sample() * 100 < cfg.getExpressCustomerPercentage();
 			type = isExpress ? CustomerType.EXPRESS : CustomerType.REGULAR;
 		}
 
-		if (type == CustomerType.EXPRESS) {
-			items = config.getMinExpressItems() +
-					(int) (Math.random() * (config.getMaxExpressItems() - config.getMinExpressItems() + 1));
-		} else {
-			items = config.getMinRegularItems() +
-					(int) (Math.random() * (config.getMaxRegularItems() - config.getMinRegularItems() + 1));
-		}
+		drawItems(cfg, streams.get("customer.items"));
+
+		customerClass = CustomerClass.draw(cfg.getClassShares(), streams.get("customer.class"));
 
 		// Initial location
 		currentLocation = ServicePointType.ENTRANCE;
@@ -128,6 +162,94 @@ public class Customer {
 		this.type = type;
 	}
 
+	/**
+	 * Draws the number of items for the customer's type, from the configured item histogram
+	 * if there is one and uniformly from the configured range otherwise.
+	 * @param config The configuration holding the item ranges and histograms.
+	 * @param random The uniform stream to draw from.
+	 */
+	void drawItems(SimulationConfig config, ContinuousGenerator random) {
+		String histogram = type == CustomerType.EXPRESS
+				? config.getExpressItemHistogram() : config.getRegularItemHistogram();
+		if (histogram != null && !histogram.isBlank()) {
+			items = (int) itemTable(histogram).valueAt(random.sample());
+		} else if (type == CustomerType.EXPRESS) {
+			items = config.getMinExpressItems() +
+					(int) (random.sample() * (config.getMaxExpressItems() - config.getMinExpressItems() + 1));
+		} else {
+			items = config.getMinRegularItems() +
+					(int) (random.sample() * (config.getMaxRegularItems() - config.getMinRegularItems() + 1));
+		}
+	}
+
+	/**
+	 * Gets the alias table of an item histogram, building it on first use.
+	 * @param histogram The histogram as comma separated items:weight pairs.
+	 * @return The table drawing item counts.
+	 * @throws IllegalArgumentException If the histogram is malformed.
+	 */
+	private static synchronized Discrete itemTable(String histogram) {
+		Discrete table = itemTables.get(histogram);
+		if (table != null) {
+			return table;
+		}
+		String[] entries = histogram.split(",");
+		long[] counts = new long[entries.length];
+		double[] weights = new double[entries.length];
+		for (int k = 0; k < entries.length; k++) {
+			String[] parts = entries[k].trim().split(":");
+			try {
+				counts[k] = Long.parseLong(parts[0].trim());
+				weights[k] = Double.parseDouble(parts[1].trim());
+			} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+				throw new IllegalArgumentException("Item histogram entry should be items:weight, was " + entries[k].trim());
+			}
+			if (counts[k] < 0 || weights[k] < 0) {
+				throw new IllegalArgumentException("Item counts and weights cannot be negative, was " + entries[k].trim());
+			}
+		}
+		try {
+			// The table is only read through valueAt, so its own generator gets a fixed seed
+			table = new Discrete(counts, weights, 1);
+		} catch (ParameterException e) {
+			throw new IllegalArgumentException("Invalid item histogram " + histogram + ": " + e.getMessage());
+		}
+		itemTables.put(histogram, table);
+		return table;
+	}
+
+	/**
+	 * Gets the class of the customer, such as loyalty or staff.
+	 * @return The customer class.
+	 */
+	public CustomerClass getCustomerClass() {
+		return customerClass;
+	}
+
+	/**
+	 * Sets the class of the customer.
+	 * @param customerClass The customer class to set.
+	 */
+	public void setCustomerClass(CustomerClass customerClass) {
+		this.customerClass = customerClass;
+	}
+
+	/**
+	 * Gets the total time the customer has waited in queues before service.
+	 * @return The waiting time.
+	 */
+	public double getWaitingTime() {
+		return waitingTime;
+	}
+
+	/**
+	 * Adds time the customer waited in a queue before service started.
+	 * @param time The time waited.
+	 */
+	void addWaitingTime(double time) {
+		waitingTime += time;
+	}
+
 	/**
 	 * Gets the number of items the customer is purchasing.
 	 * @return The item count.
@@ -165,6 +287,115 @@ public class Customer {
 		checkoutStartTime = Clock.getInstance().getTime();
 	}
 
+	/**
+	 * Gets the time when the customer joined the queue of its current service point.
+	 * @return The queue entry time.
+	 */
+	public double getQueueEntryTime() {
+		return queueEntryTime;
+	}
+
+	/**
+	 * Sets the time when the customer joined the queue of its current service point.
+	 * @param queueEntryTime The queue entry time to set.
+	 */
+	public void setQueueEntryTime(double queueEntryTime) {
+		this.queueEntryTime = queueEntryTime;
+	}
+
+	/**
+	 * Gets the position of the customer in the heap of the station it is in.
+	 * @return The heap position, or -1 if the customer is not in a heap.
+	 */
+	int getHeapIndex() {
+		return heapIndex;
+	}
+
+	/**
+	 * Sets the position of the customer in the heap of the station it is in.
+	 * @param heapIndex The heap position, or -1 when the customer leaves the heap.
+	 */
+	void setHeapIndex(int heapIndex) {
+		this.heapIndex = heapIndex;
+	}
+
+	Customer getQueuePrevious() {
+		return queuePrevious;
+	}
+
+	void setQueuePrevious(Customer queuePrevious) {
+		this.queuePrevious = queuePrevious;
+	}
+
+	Customer getQueueNext() {
+		return queueNext;
+	}
+
+	void setQueueNext(Customer queueNext) {
+		this.queueNext = queueNext;
+	}
+
+	/**
+	 * Gets the class queue the customer waits in.
+	 * @return The class queue, or null if the customer is not in one.
+	 */
+	ClassQueue getClassQueue() {
+		return classQueue;
+	}
+
+	void setClassQueue(ClassQueue classQueue) {
+		this.classQueue = classQueue;
+	}
+
+	/**
+	 * Gets the lane the customer is waiting in at its current service point.
+	 * @return The lane number.
+	 */
+	int getLane() {
+		return lane;
+	}
+
+	/**
+	 * Sets the lane the customer is waiting in at its current service point.
+	 * @param lane The lane number.
+	 */
+	void setLane(int lane) {
+		this.lane = lane;
+	}
+
+	/**
+	 * Gets the event scheduled for the customer alone, such as its departure from the
+	 * shopping area or the moment its patience runs out in a queue.
+	 * @return The pending event, or null if there is none.
+	 */
+	Event getTimer() {
+		return timer;
+	}
+
+	/**
+	 * Sets the event scheduled for the customer alone.
+	 * @param timer The pending event, or null to clear it.
+	 */
+	void setTimer(Event timer) {
+		this.timer = timer;
+	}
+
+	/**
+	 * Checks whether the customer holds a shopping cart from the store's limited supply.
+	 * @return True if the customer has a cart to return.
+	 */
+	public boolean hasCart() {
+		return hasCart;
+	}
+
+	/**
+	 * Sets whether the customer holds a shopping cart from the store's limited supply.
+	 * @param hasCart True if the customer has a cart to return.
+	 */
+	public void setHasCart(boolean hasCart) {
+		this.hasCart = hasCart;
+	}
+
 	/**
 	 * Calculates how long the customer spent shopping.
 	 * @return The shopping duration.
@@ -210,14 +441,18 @@ public class Customer {
 		totalTime += (removalTime - arrivalTime);
 		totalCustomers++;
 		double mean = totalTime / totalCustomers;
+		int c = customerClass.ordinal();
+		classTime[c] += removalTime - arrivalTime;
+		classWaitingTime[c] += waitingTime;
+		classCustomers[c]++;
 
 		// Save to CSV
 		CSVReport.save(this, mean);
 
-		System.out.println("Customer #" + id + " (" + type + ") with " + items +
+		Trace.out(Trace.Level.INFO, "Customer #" + id + " (" + type + ") with " + items +
 				" items completed in " + String.format("%.2f", (removalTime - arrivalTime)) +
 				" time units");
-		System.out.println("Current mean customer service time: " + String.format("%.2f", mean));
+		Trace.out(Trace.Level.INFO, "Current mean customer service time: " + String.format("%.2f", mean));
 	}
 
 	/**
@@ -247,6 +482,38 @@ public class Customer {
 		i = 1;
 		totalTime = 0;
 		totalCustomers = 0;
+		Arrays.fill(classTime, 0.0);
+		Arrays.fill(classWaitingTime, 0.0);
+		Arrays.fill(classCustomers, 0);
+	}
+
+	/**
+	 * Gets the number of customers of a class that have completed service.
+	 * @param customerClass The customer class.
+	 * @return The completed customers of the class.
+	 */
+	public static int getCompletedCustomers(CustomerClass customerClass) {
+		return classCustomers[customerClass.ordinal()];
+	}
+
+	/**
+	 * Gets the mean time customers of a class spent in the store.
+	 * @param customerClass The customer class.
+	 * @return The mean time in store, 0 if no customer of the class has completed.
+	 */
+	public static double getMeanTimeInStore(CustomerClass customerClass) {
+		int c = customerClass.ordinal();
+		return classCustomers[c] > 0 ? classTime[c] / classCustomers[c] : 0.0;
+	}
+
+	/**
+	 * Gets the mean time customers of a class waited in queues.
+	 * @param customerClass The customer class.
+	 * @return The mean waiting time, 0 if no customer of the class has completed.
+	 */
+	public static double getMeanWaitingTime(CustomerClass customerClass) {
+		int c = customerClass.ordinal();
+		return classCustomers[c] > 0 ? classWaitingTime[c] / classCustomers[c] : 0.0;
 	}
 	public static int getLatestCustomerId() {
 		return i -1;
@@ -0,0 +1,124 @@
+package simu.model;
+
+import eduni.distributions.ContinuousGenerator;
+import simu.framework.RandomStreams;
+
+/**
+ * Enumeration of customer classes in the store simulation.
+ * Classes are independent of the customer type: an express customer can also be a loyalty
+ * customer. When a checkout serves by class, classes are served in the order listed here.
+ *
+ * <p>The classes and their priorities are fixed here; a configuration only sets the share of
+ * customers in each. {@link ClassQueue} and the per-class statistics are sized from
+ * {@code values().length}, so another class is added by adding a constant in its priority
+ * position.</p>
+ */
+public enum CustomerClass {
+    /**
+     * A staff member shopping during a break, served first.
+     */
+    STAFF,
+
+    /**
+     * A customer collecting an order made online.
+     */
+    CLICK_AND_COLLECT,
+
+    /**
+     * A loyalty programme member.
+     */
+    LOYALTY,
+
+    /**
+     * Any other customer.
+     */
+    STANDARD;
+
+    private static String cachedShares;
+    private static double[] cachedLimits;
+
+    /**
+     * Gets the priority of the class, used by the class priority queue discipline.
+     * A lower value is served first.
+     *
+     * @return The priority
+     */
+    public int getPriority() {
+        return ordinal();
+    }
+
+    /**
+     * Draws the class of a new customer. The shares are written as comma separated
+     * {@code CLASS:percentage} pairs, for example {@code "LOYALTY:30,STAFF:2"}, and customers
+     * not in any listed class are standard customers.
+     *
+     * @param shares The class shares, empty if every customer is a standard customer
+     * @return The drawn class
+     * @throws IllegalArgumentException If the shares are malformed or add up to more than 100
+     */
+    public static CustomerClass draw(String shares) {
+        return draw(shares, RandomStreams.getDefault().get("customer.class"));
+    }
+
+    /**
+     * Draws the class of a new customer from a random stream.
+     *
+     * @param shares The class shares, empty if every customer is a standard customer
+     * @param random The uniform stream to draw from
+     * @return The drawn class
+     * @throws IllegalArgumentException If the shares are malformed or add up to more than 100
+     */
+    public static CustomerClass draw(String shares, ContinuousGenerator random) {
+        if (shares == null || shares.isBlank()) {
+            return STANDARD;
+        }
+        double[] limits = limits(shares);
+        double u = random.sample() * 100;
+        for (int c = 0; c < limits.length; c++) {
+            if (u < limits[c]) {
+                return values()[c];
+            }
+        }
+        return STANDARD;
+    }
+
+    /**
+     * Parses class shares into cumulative percentages by class. The last parsed shares are
+     * cached, since every customer of a run uses the same ones.
+     *
+     * @param shares The class shares
+     * @return The cumulative percentage up to and including each class
+     */
+    private static synchronized double[] limits(String shares) {
+        if (shares.equals(cachedShares)) {
+            return cachedLimits;
+        }
+        double[] percentages = new double[values().length];
+        for (String entry : shares.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Class share should be CLASS:percentage, was " + entry.trim());
+            }
+            try {
+                percentages[valueOf(parts[0].trim()).ordinal()] = Double.parseDouble(parts[1].trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid class share " + entry.trim(), e);
+            }
+        }
+        double[] limits = new double[percentages.length];
+        double total = 0.0;
+        for (int c = 0; c < percentages.length; c++) {
+            total += percentages[c];
+            limits[c] = total;
+        }
+        if (total > 100.0) {
+            throw new IllegalArgumentException("Class shares add up to more than 100%");
+        }
+        cachedShares = shares;
+        cachedLimits = limits;
+        return limits;
+    }
+}
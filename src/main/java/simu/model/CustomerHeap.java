@@ -0,0 +1,207 @@
+package simu.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A binary min-heap of customers ordered by a key, with ties broken by insertion order.
+ * Each customer stores its own position in the heap, so any customer can be removed
+ * in O(log n) without searching for it. A customer can be in at most one heap at a time.
+ */
+class CustomerHeap implements CustomerQueue {
+	private Customer[] heap = new Customer[16];
+	private double[] keys = new double[16];
+	private long[] order = new long[16];
+	private long nextOrder = 0;
+	private int size = 0;
+
+	/**
+	 * Adds a customer to the heap.
+	 *
+	 * @param customer The customer to add
+	 * @param key The key the customer is ordered by, smallest first
+	 */
+	@Override
+	public void add(Customer customer, double key) {
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, size * 2);
+			keys = Arrays.copyOf(keys, size * 2);
+			order = Arrays.copyOf(order, size * 2);
+		}
+		set(size, customer, key, nextOrder++);
+		siftUp(size++);
+	}
+
+	/**
+	 * Gets the customer with the smallest key without removing it.
+	 *
+	 * @return The first customer, or null if the heap is empty
+	 */
+	@Override
+	public Customer peek() {
+		return size > 0 ? heap[0] : null;
+	}
+
+	/**
+	 * Removes and returns the customer with the smallest key.
+	 *
+	 * @return The first customer, or null if the heap is empty
+	 */
+	@Override
+	public Customer poll() {
+		if (size == 0) {
+			return null;
+		}
+		Customer customer = heap[0];
+		removeAt(0);
+		return customer;
+	}
+
+	/**
+	 * Removes a customer from anywhere in the heap.
+	 *
+	 * @param customer The customer to remove
+	 * @return True if the customer was in the heap
+	 */
+	@Override
+	public boolean remove(Customer customer) {
+		if (!contains(customer)) {
+			return false;
+		}
+		removeAt(customer.getHeapIndex());
+		return true;
+	}
+
+	/**
+	 * Checks whether a customer is in this heap.
+	 *
+	 * @param customer The customer
+	 * @return True if the customer is in the heap
+	 */
+	@Override
+	public boolean contains(Customer customer) {
+		int i = customer.getHeapIndex();
+		return i >= 0 && i < size && heap[i] == customer;
+	}
+
+	/**
+	 * Gets the customer at a heap position, for iterating over the heap in no particular order.
+	 *
+	 * @param i The heap position, from 0 to size - 1
+	 * @return The customer at the position
+	 */
+	Customer get(int i) {
+		return heap[i];
+	}
+
+	/**
+	 * Gets the key of the customer at a heap position.
+	 *
+	 * @param i The heap position, from 0 to size - 1
+	 * @return The key at the position
+	 */
+	double keyAt(int i) {
+		return keys[i];
+	}
+
+	/**
+	 * Gets the customers in key order. Sorts a copy of the heap, so it is meant for reporting only.
+	 *
+	 * @return The customers, smallest key first
+	 */
+	@Override
+	public List<Customer> toSortedList() {
+		Integer[] positions = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			positions[i] = i;
+		}
+		Arrays.sort(positions, Comparator.comparingDouble((Integer i) -> keys[i]).thenComparingLong(i -> order[i]));
+		List<Customer> customers = new ArrayList<>(size);
+		for (int i : positions) {
+			customers.add(heap[i]);
+		}
+		return customers;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all customers from the heap.
+	 */
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			heap[i].setHeapIndex(-1);
+			heap[i] = null;
+		}
+		size = 0;
+	}
+
+	private void removeAt(int i) {
+		heap[i].setHeapIndex(-1);
+		size--;
+		if (i != size) {
+			set(i, heap[size], keys[size], order[size]);
+			siftDown(i);
+			siftUp(i);
+		}
+		heap[size] = null;
+	}
+
+	private boolean less(int i, int j) {
+		return keys[i] < keys[j] || (keys[i] == keys[j] && order[i] < order[j]);
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (!less(i, parent)) {
+				break;
+			}
+			swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int i) {
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && less(child + 1, child)) {
+				child++;
+			}
+			if (!less(child, i)) {
+				break;
+			}
+			swap(i, child);
+			i = child;
+		}
+	}
+
+	private void swap(int i, int j) {
+		Customer customer = heap[i];
+		double key = keys[i];
+		long o = order[i];
+		set(i, heap[j], keys[j], order[j]);
+		set(j, customer, key, o);
+	}
+
+	private void set(int i, Customer customer, double key, long o) {
+		heap[i] = customer;
+		keys[i] = key;
+		order[i] = o;
+		customer.setHeapIndex(i);
+	}
+}
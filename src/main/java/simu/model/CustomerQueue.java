@@ -0,0 +1,63 @@
+package simu.model;
+
+import java.util.List;
+
+/**
+ * A queue of waiting customers ordered by a key, with customers of equal keys served
+ * first come, first served. A customer can be in at most one queue at a time.
+ */
+interface CustomerQueue {
+	/**
+	 * Adds a customer to the queue.
+	 *
+	 * @param customer The customer to add
+	 * @param key The key the customer is ordered by, smallest first
+	 */
+	void add(Customer customer, double key);
+
+	/**
+	 * Gets the first customer without removing it.
+	 *
+	 * @return The first customer, or null if the queue is empty
+	 */
+	Customer peek();
+
+	/**
+	 * Removes and returns the first customer.
+	 *
+	 * @return The first customer, or null if the queue is empty
+	 */
+	Customer poll();
+
+	/**
+	 * Removes a customer from anywhere in the queue.
+	 *
+	 * @param customer The customer to remove
+	 * @return True if the customer was in the queue
+	 */
+	boolean remove(Customer customer);
+
+	/**
+	 * Checks whether a customer is in this queue.
+	 *
+	 * @param customer The customer
+	 * @return True if the customer is in the queue
+	 */
+	boolean contains(Customer customer);
+
+	/**
+	 * Gets the customers in the order they would be served, for reporting.
+	 *
+	 * @return The customers, first served first
+	 */
+	List<Customer> toSortedList();
+
+	int size();
+
+	boolean isEmpty();
+
+	/**
+	 * Removes all customers from the queue.
+	 */
+	void clear();
+}
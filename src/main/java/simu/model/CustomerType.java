@@ -9,11 +9,28 @@ public enum CustomerType {
      * Regular customer with normal amount of items.
      * Typically shops with more items and uses regular checkout lanes.
      */
-    REGULAR,
+    REGULAR(1),
 
     /**
      * Express customer with few items.
      * Shops with fewer items and is eligible for express checkout lanes.
+     * Served ahead of regular customers when a checkout uses priority queueing.
      */
-    EXPRESS
-}
\ No newline at end of file
+    EXPRESS(0);
+
+    private final int priority;
+
+    CustomerType(int priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Gets the priority class of the customer type, used by priority queue disciplines.
+     * A lower value is served first.
+     *
+     * @return The priority class
+     */
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,238 @@
+package simu.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import eduni.distributions.ContinuousGenerator;
+import simu.framework.Clock;
+import simu.framework.Event;
+import simu.framework.EventList;
+
+/**
+ * An infinite-server (M/G/&infin;) service point.
+ * Every customer is served as soon as it arrives, so nobody waits for anyone else;
+ * each entering customer schedules its own departure event.
+ *
+ * <p>The customers present are kept in a {@link CustomerHeap} keyed on departure time, and
+ * each customer holds its own departure event. When a departure event fires, the customer
+ * leaving is the one at the top of the heap. A customer can also be taken out of the station
+ * ahead of time in O(log n), which cancels its departure.</p>
+ */
+public class DelayStation extends ServicePoint {
+	private final CustomerHeap heap = new CustomerHeap();
+
+	private int customersServed = 0;
+	private double totalServiceTime = 0.0;
+
+	/**
+	 * Creates a new infinite-server service point.
+	 *
+	 * @param generator The continuous generator used for service time sampling
+	 * @param eventList The event list where departure events will be scheduled
+	 * @param type The event type to be generated upon service completion
+	 */
+	public DelayStation(ContinuousGenerator generator, EventList eventList, EventType type) {
+		super(generator, eventList, type);
+	}
+
+	/**
+	 * Adds a customer to the station and schedules its departure straight away.
+	 *
+	 * @param a The customer entering the station
+	 */
+	@Override
+	public void addQueue(Customer a) {
+		a.setQueueEntryTime(Clock.getInstance().getTime());
+		schedule(a, serviceTimeFor(a));
+	}
+
+	/**
+	 * Adds a customer to the station. There are no lanes, so the lane is ignored.
+	 *
+	 * @param a The customer entering the station
+	 * @param lane Ignored
+	 */
+	@Override
+	public void addQueue(Customer a, int lane) {
+		addQueue(a);
+	}
+
+	/**
+	 * Adds a customer to the station. Nobody waits here, so customers never balk.
+	 *
+	 * @param a The customer entering the station
+	 * @return Always true
+	 */
+	@Override
+	public boolean tryJoin(Customer a) {
+		addQueue(a);
+		return true;
+	}
+
+	/**
+	 * Adds a customer whose service is already in progress.
+	 *
+	 * @param customer The customer being served
+	 * @param remainingTime The service time left for the customer
+	 */
+	@Override
+	public void resumeService(Customer customer, double remainingTime) {
+		customer.setQueueEntryTime(Clock.getInstance().getTime());
+		schedule(customer, remainingTime);
+	}
+
+	/**
+	 * Removes and returns the customer whose departure is due.
+	 * Departure events are processed in time order, so this is the customer at the top of the heap.
+	 *
+	 * @param server Ignored, departures of this station carry no server number
+	 * @return The departing customer, or null if the station is empty
+	 */
+	@Override
+	public Customer removeQueue(int server) {
+		Customer customer = heap.poll();
+		if (customer == null) {
+			return null;
+		}
+		customer.setTimer(null);
+		customersServed++;
+		totalServiceTime += Clock.getInstance().getTime() - customer.getQueueEntryTime();
+		return customer;
+	}
+
+	/**
+	 * Takes a customer out of the station before its departure is due and cancels the departure.
+	 *
+	 * @param customer The customer to remove
+	 * @return True if the customer was in the station
+	 */
+	public boolean remove(Customer customer) {
+		if (!heap.remove(customer)) {
+			return false;
+		}
+		customer.getTimer().cancel();
+		customer.setTimer(null);
+		return true;
+	}
+
+	/**
+	 * Nothing to do, service starts as soon as a customer enters.
+	 */
+	@Override
+	public void beginService() {
+	}
+
+	/**
+	 * Schedules a customer's departure and adds it to the heap.
+	 *
+	 * @param customer The customer
+	 * @param serviceTime The time until the customer leaves
+	 */
+	private void schedule(Customer customer, double serviceTime) {
+		double time = Clock.getInstance().getTime() + serviceTime;
+		Event departure = new Event(eventTypeScheduled, time);
+		customer.setTimer(departure);
+		eventList.add(departure);
+		heap.add(customer, time);
+	}
+
+	/**
+	 * Gets the customers in the station, in no particular order.
+	 *
+	 * @return A copy of the customers in the station
+	 */
+	@Override
+	public List<Customer> getCustomers() {
+		List<Customer> customers = new ArrayList<>(heap.size());
+		for (int i = 0; i < heap.size(); i++) {
+			customers.add(heap.get(i));
+		}
+		return customers;
+	}
+
+	/**
+	 * Gets the time left until each customer's departure, in the order of {@link #getCustomers()}.
+	 *
+	 * @return The remaining service times
+	 */
+	@Override
+	public List<Double> getRemainingServiceTimes() {
+		double now = Clock.getInstance().getTime();
+		List<Double> remaining = new ArrayList<>();
+		for (int i = 0; i < heap.size(); i++) {
+			remaining.add(Math.max(0.0, heap.keyAt(i) - now));
+		}
+		return remaining;
+	}
+
+	/**
+	 * An infinite-server station is never fully reserved.
+	 *
+	 * @return Always false
+	 */
+	@Override
+	public boolean isReserved() {
+		return false;
+	}
+
+	/**
+	 * Nobody waits at an infinite-server station.
+	 *
+	 * @return Always false
+	 */
+	@Override
+	public boolean isOnQueue() {
+		return false;
+	}
+
+	/**
+	 * Gets the number of servers, which is unlimited for this station.
+	 *
+	 * @return 0, meaning an unlimited number of servers
+	 */
+	@Override
+	public int getServers() {
+		return 0;
+	}
+
+	@Override
+	public int getQueueLength() {
+		return 0;
+	}
+
+	@Override
+	public int getLaneLength(int lane) {
+		return heap.size();
+	}
+
+	@Override
+	public int getCustomersInService() {
+		return heap.size();
+	}
+
+	@Override
+	public int getCustomersServed() {
+		return customersServed;
+	}
+
+	@Override
+	public double getAverageWaitingTime() {
+		return 0.0;
+	}
+
+	@Override
+	public double getAverageServiceTime() {
+		return customersServed > 0 ? totalServiceTime / customersServed : 0.0;
+	}
+
+	/**
+	 * Resets the station to its initial state, removing all customers.
+	 */
+	@Override
+	public void reset() {
+		super.reset();
+		heap.clear();
+		customersServed = 0;
+		totalServiceTime = 0.0;
+	}
+}
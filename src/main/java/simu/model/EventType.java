@@ -36,5 +36,32 @@ public enum EventType implements IEventType {
 	/**
 	 * Customer departure from the self-checkout (complete service).
 	 */
-	DEP5;
+	DEP5,
+
+	/**
+	 * A waiting customer runs out of patience and leaves the checkout queue.
+	 * The event target is the id of the customer.
+	 */
+	RENEGE,
+
+	/**
+	 * A shift change that opens or closes servers at a station.
+	 * The event target is the index of the station.
+	 */
+	CAPACITY,
+
+	/**
+	 * A self-checkout kiosk fails. The event target is the kiosk (server) number.
+	 */
+	KIOSK_FAILURE,
+
+	/**
+	 * A failed self-checkout kiosk is repaired. The event target is the kiosk (server) number.
+	 */
+	KIOSK_REPAIR,
+
+	/**
+	 * Customers walking on the shopping floor move one time step.
+	 */
+	SHOPPING_STEP;
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package simu.model;
+
+import eduni.distributions.ContinuousGenerator;
+import simu.data.SimulationConfig;
+import simu.framework.RandomStreams;
+
+/**
+ * Groups of customers arriving together, such as families. One arrival event brings a whole
+ * group, and the members resemble the first customer of the group: with the configured
+ * correlation a member takes the first customer's type and class, drawing its items for
+ * that type.
+ *
+ * <p>Group sizes follow a geometric distribution on 1, 2, 3, ... with the configured mean,
+ * cut off at the largest group size. The size is drawn by inversion and members are
+ * correlated in place, so creating a group allocates nothing beyond the customers.</p>
+ */
+public class GroupArrivals {
+	private final int maxSize;
+	private final double correlation;
+	private final ContinuousGenerator random;
+	// 1 / log(1 - p) for the geometric distribution with success probability p, 0 if every group is a single customer
+	private final double inverseLogFailure;
+
+	/**
+	 * Creates a group arrival process.
+	 *
+	 * @param meanSize The mean group size before the cut-off, at least 1
+	 * @param maxSize The largest group size
+	 * @param correlation The probability that a member takes the first customer's type and class
+	 */
+	public GroupArrivals(double meanSize, int maxSize, double correlation) {
+		this(meanSize, maxSize, correlation, RandomStreams.getDefault().get("groups"));
+	}
+
+	/**
+	 * Creates a group arrival process drawing from a random stream.
+	 *
+	 * @param meanSize The mean group size before the cut-off, at least 1
+	 * @param maxSize The largest group size
+	 * @param correlation The probability that a member takes the first customer's type and class
+	 * @param random The uniform stream group sizes and correlations are drawn from
+	 */
+	public GroupArrivals(double meanSize, int maxSize, double correlation, ContinuousGenerator random) {
+		if (meanSize < 1 || maxSize < 1) {
+			throw new IllegalArgumentException("Group sizes must be at least 1");
+		}
+		if (correlation < 0 || correlation > 1) {
+			throw new IllegalArgumentException("Group correlation must be between 0 and 1");
+		}
+		this.maxSize = maxSize;
+		this.correlation = correlation;
+		this.random = random;
+		double p = 1.0 / meanSize;
+		inverseLogFailure = p < 1 ? 1.0 / Math.log(1.0 - p) : 0.0;
+	}
+
+	/**
+	 * Draws the size of the next group.
+	 *
+	 * @return The number of customers arriving together
+	 */
+	public int drawSize() {
+		if (inverseLogFailure == 0.0) {
+			return 1;
+		}
+		double extra = Math.floor(Math.log(1.0 - random.sample()) * inverseLogFailure);
+		return (int) Math.min(maxSize, 1 + extra);
+	}
+
+	/**
+	 * Makes a group member resemble the first customer of its group.
+	 *
+	 * @param first The first customer of the group
+	 * @param member Another customer of the same group
+	 * @param config The configuration holding the item ranges
+	 */
+	public void correlate(Customer first, Customer member, SimulationConfig config) {
+		if (random.sample() >= correlation) {
+			return;
+		}
+		member.setCustomerClass(first.getCustomerClass());
+		if (member.getType() != first.getType()) {
+			member.setType(first.getType());
+			member.drawItems(config, random);
+		}
+	}
+}
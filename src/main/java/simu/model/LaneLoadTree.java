@@ -0,0 +1,93 @@
+package simu.model;
+
+import java.util.Arrays;
+
+/**
+ * A tournament tree over the loads of a fixed number of lanes.
+ * Every internal node holds the lane with the smallest load below it, so the least loaded
+ * lane is read in O(1) and a load change is propagated to the root in O(log n).
+ * Of lanes with equal load, the lowest numbered one wins.
+ */
+class LaneLoadTree {
+	private final int lanes;
+	private final int leaves;
+	private final double[] loads;
+	private final int[] winners;
+
+	/**
+	 * Creates a tree for the given number of lanes, all with zero load.
+	 *
+	 * @param lanes The number of lanes
+	 */
+	LaneLoadTree(int lanes) {
+		this.lanes = lanes;
+		int size = 1;
+		while (size < lanes) {
+			size *= 2;
+		}
+		leaves = size;
+		loads = new double[leaves];
+		winners = new int[2 * leaves];
+		clear();
+	}
+
+	/**
+	 * Sets the load of a lane and updates the winners on its path to the root.
+	 *
+	 * @param lane The lane number
+	 * @param load The new load of the lane
+	 */
+	void update(int lane, double load) {
+		loads[lane] = load;
+		for (int node = (leaves + lane) / 2; node >= 1; node /= 2) {
+			winners[node] = better(winners[2 * node], winners[2 * node + 1]);
+		}
+	}
+
+	/**
+	 * Gets the load of a lane.
+	 *
+	 * @param lane The lane number
+	 * @return The load of the lane
+	 */
+	double get(int lane) {
+		return loads[lane];
+	}
+
+	/**
+	 * Gets the least loaded lane.
+	 *
+	 * @return The lane number with the smallest load
+	 */
+	int minIndex() {
+		return winners[1];
+	}
+
+	/**
+	 * Gets the smallest lane load.
+	 *
+	 * @return The load of the least loaded lane
+	 */
+	double minLoad() {
+		return loads[winners[1]];
+	}
+
+	/**
+	 * Sets the load of every lane to zero.
+	 */
+	void clear() {
+		Arrays.fill(loads, 0, lanes, 0.0);
+		// Padding leaves never win
+		Arrays.fill(loads, lanes, leaves, Double.POSITIVE_INFINITY);
+		for (int i = 0; i < leaves; i++) {
+			winners[leaves + i] = i;
+		}
+		for (int node = leaves - 1; node >= 1; node--) {
+			winners[node] = better(winners[2 * node], winners[2 * node + 1]);
+		}
+	}
+
+	private int better(int left, int right) {
+		return loads[right] < loads[left] ? right : left;
+	}
+}
@@ -0,0 +1,27 @@
+package simu.model;
+
+/**
+ * Enumeration of the ways customers choose a checkout lane when they finish shopping.
+ */
+public enum LanePolicy {
+	/**
+	 * The original rule: express customers and customers with few items use the express
+	 * checkout, others pick the self-checkout with a fixed probability and the regular checkout otherwise.
+	 */
+	FIXED,
+
+	/**
+	 * Join the shortest queue: the lane with the fewest customers among the checkouts the customer may use.
+	 */
+	JSQ,
+
+	/**
+	 * Join the lane with the least work ahead, measured as the items of the customers in it.
+	 */
+	SHORTEST_WORK,
+
+	/**
+	 * Power of d choices: sample d lanes at random and join the one with the fewest customers.
+	 */
+	POWER_OF_D
+}
@@ -6,7 +6,18 @@ import simu.framework.Clock;
 import simu.framework.Engine;
 import simu.framework.ArrivalProcess;
 import simu.framework.Event;
+import simu.framework.PresamplingPipeline;
+import simu.framework.RandomStreams;
+import simu.framework.RateProfile;
+import simu.framework.ResourcePool;
+import simu.framework.Trace;
 import simu.data.SimulationConfig;
+import utils.CSVReport;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Custom engine implementation for the store simulation model.
@@ -15,6 +26,27 @@ import simu.data.SimulationConfig;
 public class MyEngine extends Engine {
     private final ArrivalProcess arrivalProcess;
     private final SimulationConfig config;
+    private final CheckoutRouter router;
+    // Shift schedules by station index, null for stations without one
+    private final ShiftSchedule[] shifts;
+    // Self-checkout kiosk failures, null if kiosks never fail
+    private BreakdownProcess kioskBreakdowns;
+    // Shopping carts needed to enter the store, null if carts are unlimited
+    private ResourcePool carts;
+    // Attendants repairing failed kiosks and assisting self-checkout customers, null if there are none
+    private ResourcePool attendants;
+    // Customers arriving together, null if every arrival is a single customer
+    private GroupArrivals groups;
+    // Customers walking the shopping floor as agents, null if shopping takes a drawn time
+    private ShoppingFloor shoppingFloor;
+
+    // Customers in the store by id, for events that only carry the customer id
+    private final Map<Integer, Customer> customersInStore = new HashMap<>();
+
+    // Every random draw of the run comes from these streams
+    private final RandomStreams streams;
+    // Draws the times of the streams ahead on a helper thread, null if they are drawn when needed
+    private final PresamplingPipeline presampling;
 
     private volatile boolean paused = false;
     /**
@@ -30,60 +62,212 @@ public class MyEngine extends Engine {
         // Create service points for the store simulation
         servicePoints = new ServicePoint[5];
 
-        // Create distributions using configuration
-        ContinuousGenerator arrivalGenerator = createDistribution(
-                config.getArrivalDistribution(),
-                config.getArrivalParam()
-        );
+        // Derive every random stream of the run from one seed, a new one unless configured
+        RandomBackend backend = RandomBackend.valueOf(config.getRandomBackend());
+        streams = new RandomStreams(config.getRandomSeed() != 0 ? config.getRandomSeed() : System.nanoTime(), backend);
+        presampling = config.isPresampling() ? new PresamplingPipeline() : null;
 
-        arrivalProcess = new ArrivalProcess(arrivalGenerator, eventList, EventType.ARR1);
+        // Create distributions using configuration; a rate profile only needs unit exponential samples
+        if (config.getArrivalProfile().isBlank()) {
+            ContinuousGenerator arrivalGenerator = createDistribution(
+                    config.getArrivalDistribution(),
+                    config.getArrivalParam(),
+                    "arrivals"
+            );
+            arrivalProcess = new ArrivalProcess(arrivalGenerator, eventList, EventType.ARR1);
+        } else {
+            RateProfile profile = new RateProfile(config.getArrivalProfile(), "Linear".equals(config.getArrivalProfileShape()));
+            arrivalProcess = new ArrivalProcess(profile, createDistribution("Negexp", 1.0, "arrivals"), eventList,
+                    EventType.ARR1);
+        }
+
+        if (config.getMeanGroupSize() > 1) {
+            groups = new GroupArrivals(config.getMeanGroupSize(), config.getMaxGroupSize(), config.getGroupCorrelation(),
+                    streams.get("groups"));
+        }
 
         // Entrance - quick processing
         servicePoints[0] = new ServicePoint(
-                createDistribution("Negexp", 1.0),
+                createDistribution("Negexp", 1.0, "service.entrance"),
                 eventList,
                 EventType.DEP1
         );
 
-        // Shopping area - time depends on items
-        servicePoints[1] = new ServicePoint(
-                createDistribution(
-                        config.getServiceDistribution(),
-                        config.getServiceParam() * config.getShoppingMultiplier()
-                ),
-                eventList,
-                EventType.DEP2
+        // Shopping area - time depends on items, unlimited capacity unless configured otherwise
+        ContinuousGenerator shoppingGenerator = createDistribution(
+                config.getServiceDistribution(),
+                config.getServiceParam() * config.getShoppingMultiplier(),
+                "service.shopping"
         );
+        if (config.isAgentShopping()) {
+            shoppingFloor = new ShoppingFloor(eventList, EventType.DEP2, EventType.SHOPPING_STEP,
+                    config.getStoreWidth(), config.getStoreDepth(), config.getWalkingSpeed(),
+                    config.getMovementTimeStep(), config.isParallelMovement());
+            shoppingFloor.setRandom(streams.get("floor"));
+            servicePoints[1] = shoppingFloor;
+        } else if (config.getShoppingServers() <= 0) {
+            servicePoints[1] = new DelayStation(shoppingGenerator, eventList, EventType.DEP2);
+        } else {
+            servicePoints[1] = new ServicePoint(shoppingGenerator, eventList, EventType.DEP2,
+                    config.getShoppingServers(), false);
+        }
+        if (!config.getStoreLayout().isBlank() && shoppingFloor == null) {
+            servicePoints[1].setStoreLayout(new StoreLayout(config.getStoreLayout(), config.getAisleWeights(),
+                    streams.get("layout")),
+                    config.getWalkingSpeed());
+        }
 
         // Regular checkout
         servicePoints[2] = new ServicePoint(
                 createDistribution(
                         config.getServiceDistribution(),
-                        config.getServiceParam() * config.getRegularMultiplier()
+                        config.getServiceParam() * config.getRegularMultiplier(),
+                        "service.regular"
                 ),
                 eventList,
-                EventType.DEP3
+                EventType.DEP3,
+                config.getRegularServers(),
+                config.isDedicatedLaneQueues()
         );
 
         // Express checkout
         servicePoints[3] = new ServicePoint(
                 createDistribution(
                         config.getServiceDistribution(),
-                        config.getServiceParam() * config.getExpressMultiplier()
+                        config.getServiceParam() * config.getExpressMultiplier(),
+                        "service.express"
                 ),
                 eventList,
-                EventType.DEP4
+                EventType.DEP4,
+                config.getExpressServers(),
+                config.isDedicatedLaneQueues()
         );
 
         // Self-checkout
         servicePoints[4] = new ServicePoint(
                 createDistribution(
                         config.getServiceDistribution(),
-                        config.getServiceParam() * config.getSelfCheckoutMultiplier()
+                        config.getServiceParam() * config.getSelfCheckoutMultiplier(),
+                        "service.self"
                 ),
                 eventList,
-                EventType.DEP5
+                EventType.DEP5,
+                config.getSelfCheckoutServers(),
+                false
+        );
+
+        configureCheckoutQueues();
+        router = new CheckoutRouter(servicePoints, LanePolicy.valueOf(config.getLanePolicy()), config.getLaneChoices(),
+                streams.get("routing"));
+        shifts = new ShiftSchedule[servicePoints.length];
+        loadShift(2, config.getRegularShifts());
+        loadShift(3, config.getExpressShifts());
+        loadShift(4, config.getSelfCheckoutShifts());
+        if (!"None".equals(config.getStaffingMode())) {
+            configureStaffing();
+        }
+        if (config.getKioskAttendants() > 0
+                && (config.getKioskMeanTimeToFailure() > 0 || config.isKioskAssistedCheckout())) {
+            attendants = new ResourcePool("attendants", config.getKioskAttendants(),
+                    ResourcePool.WaitDiscipline.PRIORITY);
+        }
+        if (config.getKioskMeanTimeToFailure() > 0) {
+            kioskBreakdowns = new BreakdownProcess(
+                    servicePoints[4],
+                    createDistribution(config.getKioskFailureDistribution(), config.getKioskMeanTimeToFailure(),
+                            "kiosk.failure"),
+                    createDistribution(config.getKioskRepairDistribution(), config.getKioskMeanRepairTime(),
+                            "kiosk.repair"),
+                    eventList,
+                    EventType.KIOSK_FAILURE,
+                    EventType.KIOSK_REPAIR
+            );
+            kioskBreakdowns.setRepairCrew(attendants);
+        }
+        if (config.isKioskAssistedCheckout() && attendants != null) {
+            // Customers wait behind kiosk repairs, which request attendants with priority 0 or 1
+            servicePoints[4].requireResource(attendants, 2.0);
+        }
+        if (config.getCartCount() > 0) {
+            carts = new ResourcePool("carts", config.getCartCount(), ResourcePool.WaitDiscipline.FIFO);
+        }
+    }
+
+    /**
+     * Parses the shift schedule of a station, if it has one.
+     *
+     * @param station The station index
+     * @param schedule The schedule as start:servers pairs, blank for none
+     */
+    private void loadShift(int station, String schedule) {
+        if (schedule == null || schedule.isBlank()) {
+            return;
+        }
+        shifts[station] = new ShiftSchedule(schedule);
+        if (shifts[station].getMaxOpenServers() > servicePoints[station].getServers()) {
+            Trace.out(Trace.Level.WAR, ServicePointType.values()[station] + " shift schedule opens more than its "
+                    + servicePoints[station].getServers() + " servers");
+        }
+    }
+
+    /**
+     * Opens the servers of the current shift at a station and schedules the next shift change.
+     *
+     * @param station The station index
+     */
+    private void applyShift(int station) {
+        double now = Clock.getInstance().getTime();
+        servicePoints[station].setOpenServers(shifts[station].getOpenServers(now));
+        double next = shifts[station].getNextChange(now);
+        if (next != Double.POSITIVE_INFINITY) {
+            eventList.add(new Event(EventType.CAPACITY, next, station));
+        }
+    }
+
+    /**
+     * Lets a staffing controller open and close checkout servers as the queues grow and shrink.
+     * Stations with a shift schedule are staffed by the schedule instead.
+     */
+    private void configureStaffing() {
+        StaffingController staffing = new StaffingController(
+                config.getStaffingOpenThreshold(),
+                config.getStaffingCloseThreshold(),
+                "ExpectedWait".equals(config.getStaffingMode()),
+                config.getMinOpenServers()
         );
+        double serviceMean = config.getServiceParam();
+        double[] multipliers = {config.getRegularMultiplier(), config.getExpressMultiplier(),
+                config.getSelfCheckoutMultiplier()};
+        for (int i = 2; i < servicePoints.length; i++) {
+            if (shifts[i] == null) {
+                staffing.manage(servicePoints[i], serviceMean * multipliers[i - 2]);
+            }
+        }
+    }
+
+    /**
+     * Gets the seed every random stream of this run is derived from. Running again with this
+     * seed as the configured random seed repeats the run.
+     *
+     * @return The run seed
+     */
+    public long getRandomSeed() {
+        return streams.getSeed();
+    }
+
+    /**
+     * Applies the configured queue discipline, balking and reneging to the checkouts.
+     */
+    private void configureCheckoutQueues() {
+        QueueDiscipline discipline = QueueDiscipline.valueOf(config.getQueueDiscipline());
+        for (int i = 2; i < servicePoints.length; i++) {
+            servicePoints[i].setQueueDiscipline(discipline);
+            servicePoints[i].setBalkingThreshold(config.getBalkingThreshold());
+            if (config.getMeanPatience() > 0) {
+                servicePoints[i].setReneging(createDistribution("Negexp", config.getMeanPatience(),
+                        "patience." + ServicePointType.values()[i]), EventType.RENEGE);
+            }
+        }
     }
 
     /**
@@ -91,7 +275,8 @@ public class MyEngine extends Engine {
      *
      * @param type The distribution type ("Normal", "Uniform", or "Negexp")
      * @param param The primary parameter for the distribution
-     * @return A continuous generator for the specified distribution
+     * @param stream The name of the random stream the distribution is seeded from
+     * @return A continuous generator for the specified distribution, drawing ahead when presampling is on
      *
      * <p>For param=30, the distributions behave as follows:</p>
      * <ul>
@@ -103,22 +288,102 @@ public class MyEngine extends Engine {
      * </ul>
      */
     //TODO: More robust distribution creation? (Able to choose variance and range values)
-    private ContinuousGenerator createDistribution(String type, double param) {
-        return switch (type) {
-            case "Normal" -> new Normal(param, param / 3);
-            case "Uniform" -> new Uniform(param * 0.5, param * 1.5);
-            default -> new Negexp(param);
+    private ContinuousGenerator createDistribution(String type, double param, String stream) {
+        // Every generator draws from a source of the run's backend, so the default backend of
+        // Distributions, shared by all runs, is never changed; the seed only keeps the constructors
+        // from drawing one from the SeedGenerator
+        long seed = streams.seedFor(stream);
+        ContinuousGenerator source = streams.create(stream);
+        ContinuousGenerator generator = switch (type) {
+            case "Normal" -> {
+                Normal normal = new Normal(param, param / 3, seed);
+                normal.setSource(source);
+                normal.setZiggurat(config.isZigguratSampling());
+                yield normal;
+            }
+            case "Uniform" -> {
+                Uniform uniform = new Uniform(param * 0.5, param * 1.5, seed);
+                uniform.setSource(source);
+                yield uniform;
+            }
+            default -> {
+                Negexp negexp = new Negexp(param, seed);
+                negexp.setSource(source);
+                negexp.setZiggurat(config.isZigguratSampling());
+                yield negexp;
+            }
         };
+        return presampling != null ? presampling.wrap(generator) : generator;
     }
 
     /**
      * Initializes the simulation by scheduling the first customer arrival.
+     * When a warm-start mode is configured, the service point queues are filled first.
      */
     @Override
     protected void initialization() {
+        for (int i = 0; i < shifts.length; i++) {
+            if (shifts[i] != null) {
+                applyShift(i);
+            }
+        }
+        if (!"None".equals(config.getWarmStartMode())) {
+            warmStart();
+        }
+        if (kioskBreakdowns != null) {
+            kioskBreakdowns.start();
+        }
         arrivalProcess.generateNext(); // Schedule the first arrival
     }
 
+    /**
+     * Fills the service point queues from a sampled steady state or a saved end state
+     * and starts service for the first customer at each service point.
+     */
+    private void warmStart() {
+        WarmStart warmStart = new WarmStart(config, streams);
+        StoreState state;
+        if ("Saved".equals(config.getWarmStartMode())) {
+            try {
+                state = warmStart.loadState(config.getWarmStartStateName());
+            } catch (IOException e) {
+                System.err.println("Error loading store state: " + e.getMessage());
+                return;
+            }
+        } else {
+            state = warmStart.sampleSteadyState();
+        }
+
+        ServicePointType[] types = ServicePointType.values();
+        for (int i = 0; i < servicePoints.length; i++) {
+            List<Customer> customers = state.getCustomers(types[i]);
+            List<Double> remaining = state.getRemainingServiceTimes(types[i]);
+            for (int k = 0; k < customers.size(); k++) {
+                Customer customer = customers.get(k);
+                customersInStore.put(customer.getId(), customer);
+                if (carts != null) {
+                    customer.setHasCart(carts.tryAcquire());
+                }
+                controller.customerCreated(customer);
+                if (types[i] != ServicePointType.ENTRANCE) {
+                    controller.customerMoved(customer.getId(), ServicePointType.ENTRANCE, types[i]);
+                }
+                if (types[i] == ServicePointType.SHOPPING) {
+                    customer.startShopping();
+                } else if (types[i] != ServicePointType.ENTRANCE) {
+                    customer.startCheckout();
+                }
+
+                if (k < remaining.size()) {
+                    servicePoints[i].resumeService(customer, remaining.get(k));
+                } else {
+                    servicePoints[i].addQueue(customer);
+                }
+            }
+            servicePoints[i].beginService();
+        }
+    }
+
     /**
      * Processes simulation events based on their type.
      * Handles customer movement through different service points in the store.
@@ -141,16 +406,30 @@ public class MyEngine extends Engine {
 
         switch ((EventType) t.getType()) {
             case ARR1:
-                customer = new Customer(config);
+                // One arrival brings a whole group when customers arrive in groups
+                int groupSize = groups == null ? 1 : groups.drawSize();
+                Customer first = null;
+                for (int member = 0; member < groupSize; member++) {
+                    customer = new Customer(config, streams);
+                    if (first == null) {
+                        first = customer;
+                    } else {
+                        groups.correlate(first, customer, config);
+                    }
+                    customersInStore.put(customer.getId(), customer);
+                    controller.customerCreated(customer);
 
-                // Add to first service point (entrance)
-                servicePoints[0].addQueue(customer);
-                controller.customerCreated(customer);
+                    // Add to first service point (entrance), once a cart is free
+                    Customer arriving = customer;
+                    if (carts == null || carts.acquire(() -> enterStore(arriving))) {
+                        enterStore(customer);
+                    }
+                }
                 arrivalProcess.generateNext();
                 break;
 
             case DEP1: // Customer moves from entrance to shopping area
-                customer = servicePoints[0].removeQueue();
+                customer = servicePoints[0].removeQueue(t.getTarget());
 
                 // Update location and notify controller
                 controller.customerMoved(customer.getId(), ServicePointType.ENTRANCE, ServicePointType.SHOPPING);
@@ -163,7 +442,7 @@ public class MyEngine extends Engine {
 
             case DEP2: // Customer finishes shopping and moves to checkout
 
-                customer = servicePoints[1].removeQueue();
+                customer = servicePoints[1].removeQueue(t.getTarget());
                 if (customer == null) { // Null check for beginService() above, otherwise crashes
                     System.out.println("Warning: No customer found in shopping area queue");
                     break;
@@ -171,55 +450,132 @@ public class MyEngine extends Engine {
                 customer.endShopping();
 
 
-                // Determine which checkout to use based on customer type/items
-                ServicePointType checkoutType;
-                if (customer.getType() == CustomerType.EXPRESS || customer.getItems() <= 10) {
-                    checkoutType = ServicePointType.EXPRESS_CHECKOUT;
-                    customer.setCurrentLocation(checkoutType);
-                    controller.customerMoved(customer.getId(), ServicePointType.SHOPPING, checkoutType);
-                    servicePoints[3].addQueue(customer);
-                } else {
-                    // Regular checkout or self-checkout (random choice)
-                    if (Math.random() > 0.7) { // 30% chance for self-checkout
-                        checkoutType = ServicePointType.SELF_CHECKOUT;
-                        customer.setCurrentLocation(checkoutType);
-                        controller.customerMoved(customer.getId(), ServicePointType.SHOPPING, checkoutType);
-                        servicePoints[4].addQueue(customer);
-                    } else {
-                        checkoutType = ServicePointType.REGULAR_CHECKOUT;
-                        customer.setCurrentLocation(checkoutType);
-                        controller.customerMoved(customer.getId(), ServicePointType.SHOPPING, checkoutType);
-                        servicePoints[2].addQueue(customer);
-                    }
-                }
+                // Determine which checkout lane to use based on customer type/items and the lane policy
+                CheckoutRouter.LaneChoice choice = router.choose(customer);
+                ServicePointType checkoutType = choice.checkout();
 
+                // The customer may balk at a long queue and leave without buying
+                if (!servicePoints[checkoutType.ordinal()].tryJoin(customer, choice.lane())) {
+                    Trace.out(Trace.Level.INFO, "Customer #" + customer.getId() + " balked at " + checkoutType);
+                    customerLeft(customer, ServicePointType.SHOPPING);
+                    break;
+                }
+                customer.setCurrentLocation(checkoutType);
+                controller.customerMoved(customer.getId(), ServicePointType.SHOPPING, checkoutType);
                 customer.startCheckout();
 
                 break;
 
             case DEP3:
                 // Customer leaves regular checkout
-                customer = servicePoints[2].removeQueue();
-                customer.setRemovalTime(Clock.getInstance().getTime());
+                customer = servicePoints[2].removeQueue(t.getTarget());
+                leaveStore(customer);
                 controller.customerCompleted(customer.getId(), ServicePointType.REGULAR_CHECKOUT);
                 customer.reportResults();
                 break;
 
             case DEP4:
                 // Customer leaves express checkout
-                customer = servicePoints[3].removeQueue();
-                customer.setRemovalTime(Clock.getInstance().getTime());
+                customer = servicePoints[3].removeQueue(t.getTarget());
+                leaveStore(customer);
                 controller.customerCompleted(customer.getId(), ServicePointType.EXPRESS_CHECKOUT);
                 customer.reportResults();
                 break;
 
             case DEP5:
                 // Customer leaves self-checkout
-                customer = servicePoints[4].removeQueue();
-                customer.setRemovalTime(Clock.getInstance().getTime());
+                customer = servicePoints[4].removeQueue(t.getTarget());
+                leaveStore(customer);
                 controller.customerCompleted(customer.getId(), ServicePointType.SELF_CHECKOUT);
                 customer.reportResults();
                 break;
+
+            case RENEGE:
+                // Customer runs out of patience while waiting at a checkout
+                customer = customersInStore.get(t.getTarget());
+                if (customer == null) {
+                    break;
+                }
+                ServicePointType location = customer.getCurrentLocation();
+                if (servicePoints[location.ordinal()].renege(customer)) {
+                    Trace.out(Trace.Level.INFO, "Customer #" + customer.getId() + " reneged at " + location);
+                    customerLeft(customer, location);
+                }
+                break;
+
+            case CAPACITY:
+                // Shift change, in-service customers are finished by closing servers
+                applyShift(t.getTarget());
+                break;
+
+            case KIOSK_FAILURE:
+                // A self-checkout kiosk freezes, its customer waits for the repair
+                kioskBreakdowns.fail(t.getTarget());
+                break;
+
+            case KIOSK_REPAIR:
+                kioskBreakdowns.repair(t.getTarget());
+                break;
+
+            case SHOPPING_STEP:
+                shoppingFloor.step();
+                break;
+        }
+    }
+
+    /**
+     * Removes a customer who leaves the store without completing checkout.
+     *
+     * @param customer The customer leaving
+     * @param location The service point the customer leaves from
+     */
+    private void customerLeft(Customer customer, ServicePointType location) {
+        leaveStore(customer);
+        controller.customerLeft(customer.getId(), location);
+    }
+
+    /**
+     * Lets a customer into the store with a cart, if carts are limited.
+     *
+     * @param customer The arriving customer
+     */
+    private void enterStore(Customer customer) {
+        customer.setHasCart(carts != null);
+        servicePoints[0].addQueue(customer);
+    }
+
+    /**
+     * Records a customer leaving the store and returns its cart, which may go straight
+     * to a customer waiting for one.
+     *
+     * @param customer The customer leaving
+     */
+    private void leaveStore(Customer customer) {
+        customersInStore.remove(customer.getId());
+        customer.setRemovalTime(Clock.getInstance().getTime());
+        if (customer.hasCart()) {
+            customer.setHasCart(false);
+            carts.release();
+        }
+    }
+
+    /**
+     * Reports the per-server statistics of every service point.
+     */
+    private void reportServerStatistics() {
+        ServicePointType[] types = ServicePointType.values();
+        for (int i = 0; i < servicePoints.length; i++) {
+            ServicePoint sp = servicePoints[i];
+            Trace.out(Trace.Level.INFO, types[i] + ": served " + sp.getCustomersServed()
+                    + ", mean wait " + String.format("%.2f", sp.getAverageWaitingTime())
+                    + ", mean service " + String.format("%.2f", sp.getAverageServiceTime())
+                    + ", balked " + sp.getCustomersBalked() + ", reneged " + sp.getCustomersReneged()
+                    + ", open servers " + sp.getOpenServers());
+            for (int s = 0; s < sp.getServers(); s++) {
+                Trace.out(Trace.Level.INFO, "  server " + (s + 1) + ": served " + sp.getServerCustomersServed(s)
+                        + ", utilisation " + String.format("%.0f%%", sp.getServerUtilization(s) * 100)
+                        + ", availability " + String.format("%.0f%%", sp.getServerAvailability(s) * 100));
+            }
         }
     }
 
@@ -229,6 +585,36 @@ public class MyEngine extends Engine {
      */
     @Override
     protected void results() {
+        if (presampling != null) {
+            presampling.stop();
+        }
+        reportServerStatistics();
+        for (ResourcePool pool : new ResourcePool[] {carts, attendants}) {
+            if (pool != null) {
+                Trace.out(Trace.Level.INFO, pool.getName() + ": " + pool.getCapacity() + " units, "
+                        + String.format("%.0f%%", pool.getDelayedShare() * 100) + " of requests waited, mean wait "
+                        + String.format("%.2f", pool.getAverageWaitingTime()) + ", " + pool.getWaiting() + " still waiting");
+            }
+        }
+        for (CustomerClass customerClass : CustomerClass.values()) {
+            if (Customer.getCompletedCustomers(customerClass) > 0) {
+                Trace.out(Trace.Level.INFO, customerClass + ": " + Customer.getCompletedCustomers(customerClass)
+                        + " completed, mean time in store " + String.format("%.2f", Customer.getMeanTimeInStore(customerClass))
+                        + ", mean wait " + String.format("%.2f", Customer.getMeanWaitingTime(customerClass)));
+            }
+        }
+        if (shoppingFloor != null) {
+            Trace.out(Trace.Level.INFO, "Shopping floor: peak " + shoppingFloor.getPeakShoppers() + " shoppers, mean speed "
+                    + String.format("%.0f%%", shoppingFloor.getAverageSpeedShare() * 100) + " of walking speed");
+        }
+        if (config.isSaveEndState()) {
+            try {
+                WarmStart.saveState(servicePoints, config.getWarmStartStateName());
+            } catch (IOException e) {
+                System.err.println("Error saving store state: " + e.getMessage());
+            }
+        }
+        CSVReport.sortCsvByCustomerId();
         controller.showEndTime(Clock.getInstance().getTime());
     }
 
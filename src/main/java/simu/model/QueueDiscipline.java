@@ -0,0 +1,52 @@
+package simu.model;
+
+/**
+ * Enumeration of the orders in which a service point takes waiting customers into service.
+ * Customers with equal keys are always served first come, first served.
+ */
+public enum QueueDiscipline {
+	/**
+	 * First come, first served.
+	 */
+	FIFO,
+
+	/**
+	 * Customers of a higher priority class first, see {@link CustomerType#getPriority()}.
+	 */
+	PRIORITY,
+
+	/**
+	 * Shortest processing time first: customers with the fewest items first.
+	 */
+	SPT,
+
+	/**
+	 * Customers of a higher customer class first, see {@link CustomerClass#getPriority()}.
+	 * Each class is queued first come, first served in its own bucket.
+	 */
+	CLASS_PRIORITY;
+
+	/**
+	 * Gets the queue key of a customer. Customers with a smaller key are served first.
+	 *
+	 * @param customer The customer joining the queue
+	 * @return The key the customer is queued by
+	 */
+	double keyOf(Customer customer) {
+		return switch (this) {
+			case FIFO -> 0.0;
+			case PRIORITY -> customer.getType().getPriority();
+			case SPT -> customer.getItems();
+			case CLASS_PRIORITY -> customer.getCustomerClass().getPriority();
+		};
+	}
+
+	/**
+	 * Creates an empty queue suited to the discipline.
+	 *
+	 * @return A bucketed class queue for class priority, a heap otherwise
+	 */
+	CustomerQueue newQueue() {
+		return this == CLASS_PRIORITY ? new ClassQueue(CustomerClass.values().length) : new CustomerHeap();
+	}
+}
@@ -0,0 +1,92 @@
+package simu.model;
+
+import java.util.Arrays;
+
+/**
+ * A set of server numbers with constant-time add, remove, membership test and pick.
+ * Members are kept in a dense array and each server's position in it is indexed
+ * by server number, so no operation has to scan the servers.
+ */
+class ServerSet {
+	private final int[] members;
+	private final int[] position;
+	private int size = 0;
+
+	/**
+	 * Creates an empty set for servers numbered from 0 to capacity - 1.
+	 *
+	 * @param capacity The number of servers
+	 */
+	ServerSet(int capacity) {
+		members = new int[capacity];
+		position = new int[capacity];
+		clear();
+	}
+
+	/**
+	 * Adds a server to the set. Does nothing if it is already a member.
+	 *
+	 * @param server The server number
+	 */
+	void add(int server) {
+		if (position[server] >= 0) {
+			return;
+		}
+		members[size] = server;
+		position[server] = size++;
+	}
+
+	/**
+	 * Removes a server from the set. Does nothing if it is not a member.
+	 *
+	 * @param server The server number
+	 */
+	void remove(int server) {
+		int p = position[server];
+		if (p < 0) {
+			return;
+		}
+		int last = members[--size];
+		members[p] = last;
+		position[last] = p;
+		position[server] = -1;
+	}
+
+	/**
+	 * Checks whether a server is in the set.
+	 *
+	 * @param server The server number
+	 * @return True if the server is a member
+	 */
+	boolean contains(int server) {
+		return position[server] >= 0;
+	}
+
+	/**
+	 * Removes and returns the most recently added server.
+	 *
+	 * @return The server number
+	 */
+	int pop() {
+		int server = members[size - 1];
+		remove(server);
+		return server;
+	}
+
+	/**
+	 * Gets the number of servers in the set.
+	 *
+	 * @return The set size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all servers from the set.
+	 */
+	void clear() {
+		size = 0;
+		Arrays.fill(position, -1);
+	}
+}
@@ -1,114 +1,1095 @@
 package simu.model;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import eduni.distributions.ContinuousGenerator;
 import simu.framework.Clock;
 import simu.framework.Event;
 import simu.framework.EventList;
+import simu.framework.ResourcePool;
+import simu.framework.Trace;
 
 /**
  * Represents a service point in the simulation.
  * Handles customer queue management and service scheduling.
  * Tracks statistics about service operations.
+ *
+ * <p>A service point has one or more parallel servers. The servers either share one
+ * queue, or each server is a lane with its own queue. Departure events carry the number
+ * of the server that finished, and idle servers are kept in an indexed set so that
+ * finding a free server never requires scanning all of them.</p>
+ *
+ * <p>Each queue is an indexed heap ordered by the {@link QueueDiscipline} of the service point.
+ * Customers may balk at a queue that is too long, and may renege when their patience runs out
+ * while waiting. A patience timer is a cancellable event that is cancelled when the customer's
+ * service starts, and a reneging customer is taken out of its queue in O(log n).</p>
+ *
+ * <p>The load of every lane, either its customer count or the items of its customers, is kept
+ * in a {@link LaneLoadTree}, so the least loaded lane is known without scanning the lanes.</p>
+ *
+ * <p>Servers can be opened and closed while the simulation runs. A closed server finishes
+ * the customer it is serving, and a closed lane still serves the customers already in it,
+ * but no new customers join it. A {@link StaffingListener} is told when the number of waiting
+ * customers crosses configured triggers, so staffing decisions need no polling.</p>
+ *
+ * <p>A server can also fail. Its departure event is cancelled and the remaining service time
+ * kept, and on repair the service resumes with a newly scheduled departure.</p>
+ *
+ * <p>A service can require a unit of a {@link ResourcePool}, such as an attendant. A server that
+ * takes a customer then holds both until the unit is granted, and the unit is released when the
+ * customer departs.</p>
  */
 public class ServicePoint {
-	private LinkedList<Customer> queue = new LinkedList<Customer>();
+	/** Time to "enter" shopping, independent of the number of items. */
+	public static final double SHOPPING_BASE_TIME = 10.0;
+	/** Shopping time per item - LOWERED THIS TO PREVENT LAG */
+	public static final double SHOPPING_TIME_PER_ITEM = 2.0;
+
+	private final List<CustomerQueue> queues = new ArrayList<>();
 	private ContinuousGenerator generator;
-	private EventList eventList;
-	private EventType eventTypeScheduled;
-	private boolean reserved = false;
+	protected EventList eventList;
+	protected EventType eventTypeScheduled;
+	private final int servers;
+	private final boolean dedicatedQueues;
+	private int waitingCustomers = 0;
+
+	// Queueing behaviour
+	private QueueDiscipline discipline = QueueDiscipline.FIFO;
+	private int balkingThreshold = 0;
+	private ContinuousGenerator patience;
+	private EventType renegeType;
+
+	// Shopping routes through the store, null for the fixed time per item
+	private StoreLayout storeLayout;
+	private double walkingSpeed;
+
+	// Resource every service needs, null for none
+	private ResourcePool resource;
+	private double resourcePriority;
+
+	// Customers and items per lane (one lane for a shared queue), including those in service
+	private final int[] laneCustomers;
+	private final long[] laneItems;
+	private final LaneLoadTree laneLoads;
+	private boolean loadByWork = false;
+
+	// Server state, indexed by server number
+	private final Customer[] inService;
+	private final double[] serviceStartTime;
+	private final double[] departureTime;
+	private final Event[] departures;
+	private final double[] busySince;
+
+	// Failed servers, with the service time left for a customer whose server failed
+	private final boolean[] failed;
+	private final double[] remainingOnFailure;
+	private final double[] downSince;
+	private final double[] serverDownTime;
+
+	// Customers holding a server while waiting for the resource, with their service times,
+	// and servers with a request in the resource pool
+	private final Customer[] awaitingResource;
+	private final double[] awaitingServiceTime;
+	private final boolean[] resourceRequested;
+
+	// Idle servers, and idle lanes with customers waiting (dedicated queues only)
+	private final ServerSet idleServers;
+	private final ServerSet readyLanes;
+	private int busyServers = 0;
+
+	// Open and closed servers
+	private final boolean[] open;
+	private final ServerSet closedServers;
+	private int openServers;
+
+	// Staffing triggers on the number of waiting customers
+	private StaffingListener staffingListener;
+	private int openTrigger = Integer.MAX_VALUE;
+	private int closeTrigger = -1;
+	private int staffingBand = 0;
+
+	// Per-server statistics
+	private final int[] serverCustomersServed;
+	private final double[] serverBusyTime;
 
 	private int customersServed = 0;
+	private int customersStarted = 0;
 	private double totalServiceTime = 0.0;
 	private double totalWaitingTime = 0.0;
-	private double lastServiceStartTime = 0.0;
+	private int customersBalked = 0;
+	private int customersReneged = 0;
 
 	/**
-	 * Creates a new service point with the specified parameters.
+	 * Creates a new single-server service point with the specified parameters.
 	 *
 	 * @param generator The continuous generator used for service time sampling
 	 * @param eventList The event list where departure events will be scheduled
 	 * @param type The event type to be generated upon service completion
 	 */
 	public ServicePoint(ContinuousGenerator generator, EventList eventList, EventType type){
+		this(generator, eventList, type, 1, false);
+	}
+
+	/**
+	 * Creates a new service point with several parallel servers.
+	 *
+	 * @param generator The continuous generator used for service time sampling
+	 * @param eventList The event list where departure events will be scheduled
+	 * @param type The event type to be generated upon service completion
+	 * @param servers The number of parallel servers
+	 * @param dedicatedQueues True if every server is a lane with its own queue,
+	 *                        false if all servers share one queue
+	 */
+	public ServicePoint(ContinuousGenerator generator, EventList eventList, EventType type,
+						int servers, boolean dedicatedQueues) {
+		if (servers < 1) {
+			throw new IllegalArgumentException("A service point needs at least one server");
+		}
 		this.eventList = eventList;
 		this.generator = generator;
 		this.eventTypeScheduled = type;
+		this.servers = servers;
+		this.dedicatedQueues = dedicatedQueues && servers > 1;
+
+		int queueCount = this.dedicatedQueues ? servers : 1;
+		for (int i = 0; i < queueCount; i++) {
+			queues.add(discipline.newQueue());
+		}
+
+		laneCustomers = new int[queueCount];
+		laneItems = new long[queueCount];
+		laneLoads = new LaneLoadTree(queueCount);
+
+		inService = new Customer[servers];
+		serviceStartTime = new double[servers];
+		departureTime = new double[servers];
+		departures = new Event[servers];
+		busySince = new double[servers];
+		failed = new boolean[servers];
+		remainingOnFailure = new double[servers];
+		downSince = new double[servers];
+		serverDownTime = new double[servers];
+		awaitingResource = new Customer[servers];
+		awaitingServiceTime = new double[servers];
+		resourceRequested = new boolean[servers];
+		serverCustomersServed = new int[servers];
+		serverBusyTime = new double[servers];
+		idleServers = new ServerSet(servers);
+		readyLanes = new ServerSet(servers);
+		open = new boolean[servers];
+		closedServers = new ServerSet(servers);
+		releaseAllServers();
+	}
+
+	/**
+	 * Opens and marks every server idle, adding them so that the lowest numbered server is picked first.
+	 */
+	private void releaseAllServers() {
+		for (int s = servers - 1; s >= 0; s--) {
+			idleServers.add(s);
+			open[s] = true;
+		}
+		openServers = servers;
+	}
+
+	/**
+	 * Opens a closed server. An idle server can start serving in the next C phase.
+	 *
+	 * @return The opened server, or -1 if every server is already open
+	 */
+	public int openServer() {
+		if (closedServers.size() == 0) {
+			return -1;
+		}
+		int server = closedServers.pop();
+		open[server] = true;
+		openServers++;
+		if (inService[server] == null && !failed[server]) {
+			idleServers.add(server);
+			if (dedicatedQueues && !queues.get(server).isEmpty()) {
+				readyLanes.add(server);
+			}
+		}
+		if (dedicatedQueues) {
+			updateLaneLoad(server);
+		}
+		return server;
+	}
+
+	/**
+	 * Closes an open server, preferring one that is idle. A busy server finishes its customer,
+	 * and a closed lane serves the customers already in it before it goes idle.
+	 * The last open server cannot be closed.
+	 *
+	 * @return The closed server, or -1 if only one server is open
+	 */
+	public int closeServer() {
+		if (openServers <= 1) {
+			return -1;
+		}
+		int server = -1;
+		for (int s = servers - 1; s >= 0; s--) {
+			if (open[s] && (server < 0 || idleServers.contains(s) && !idleServers.contains(server))) {
+				server = s;
+			}
+		}
+		open[server] = false;
+		openServers--;
+		closedServers.add(server);
+		if (dedicatedQueues) {
+			updateLaneLoad(server);
+		}
+		if (inService[server] == null && !(dedicatedQueues && !queues.get(server).isEmpty())) {
+			idleServers.remove(server);
+		}
+		return server;
+	}
+
+	/**
+	 * Opens or closes servers until the given number of servers is open.
+	 *
+	 * @param count The number of open servers, between 1 and the server count
+	 */
+	public void setOpenServers(int count) {
+		int target = Math.max(1, Math.min(servers, count));
+		while (openServers < target) {
+			openServer();
+		}
+		while (openServers > target) {
+			closeServer();
+		}
+	}
+
+	/**
+	 * Gets the number of open servers.
+	 *
+	 * @return The open server count
+	 */
+	public int getOpenServers() {
+		return openServers;
+	}
+
+	/**
+	 * Checks whether a server is open.
+	 *
+	 * @param server The server number
+	 * @return True if the server is open
+	 */
+	public boolean isServerOpen(int server) {
+		return open[server];
+	}
+
+	/**
+	 * Sets the listener told when the number of waiting customers crosses the staffing triggers.
+	 *
+	 * @param listener The staffing listener, or null to stop notifications
+	 */
+	public void setStaffingListener(StaffingListener listener) {
+		this.staffingListener = listener;
+	}
+
+	/**
+	 * Sets the staffing triggers. The listener is told once when the number of waiting customers
+	 * reaches the open trigger, and once when it falls to the close trigger. If the queue is
+	 * already outside the triggers the listener is told straight away.
+	 *
+	 * @param openTrigger The waiting customer count that asks for more servers,
+	 *                    {@link Integer#MAX_VALUE} for never
+	 * @param closeTrigger The waiting customer count that allows fewer servers, -1 for never
+	 */
+	public void setStaffingTriggers(int openTrigger, int closeTrigger) {
+		this.openTrigger = openTrigger;
+		this.closeTrigger = closeTrigger;
+		staffingBand = 0;
+		checkStaffing();
+	}
+
+	/**
+	 * Tells the staffing listener if the number of waiting customers crossed a trigger.
+	 * Costs O(1) per change in the queue length.
+	 */
+	private void checkStaffing() {
+		if (staffingListener == null) {
+			return;
+		}
+		int band = waitingCustomers >= openTrigger ? 1 : waitingCustomers <= closeTrigger ? -1 : 0;
+		if (band == staffingBand) {
+			return;
+		}
+		staffingBand = band;
+		if (band > 0) {
+			staffingListener.queueLong(this);
+		} else if (band < 0) {
+			staffingListener.queueShort(this);
+		}
+	}
+
+	/**
+	 * Sets the order in which waiting customers are taken into service.
+	 * Applies to customers who join the queue after the call. Switching to or from class
+	 * priority changes the kind of queue, and customers already waiting are moved over in
+	 * the order they would have been served.
+	 *
+	 * @param discipline The queue discipline
+	 */
+	public void setQueueDiscipline(QueueDiscipline discipline) {
+		boolean bucketed = discipline == QueueDiscipline.CLASS_PRIORITY;
+		if (bucketed != (this.discipline == QueueDiscipline.CLASS_PRIORITY)) {
+			for (int q = 0; q < queues.size(); q++) {
+				List<Customer> waiting = queues.get(q).toSortedList();
+				queues.get(q).clear();
+				CustomerQueue queue = discipline.newQueue();
+				for (Customer customer : waiting) {
+					queue.add(customer, discipline.keyOf(customer));
+				}
+				queues.set(q, queue);
+			}
+		}
+		this.discipline = discipline;
+	}
+
+	/**
+	 * Gets the order in which waiting customers are taken into service.
+	 *
+	 * @return The queue discipline
+	 */
+	public QueueDiscipline getQueueDiscipline() {
+		return discipline;
+	}
+
+	/**
+	 * Sets how lane loads are measured: by the items of the customers in a lane for
+	 * {@link LanePolicy#SHORTEST_WORK}, and by the number of customers otherwise.
+	 *
+	 * @param policy The lane choice policy customers use
+	 */
+	public void setLanePolicy(LanePolicy policy) {
+		loadByWork = policy == LanePolicy.SHORTEST_WORK;
+		for (int q = 0; q < laneCustomers.length; q++) {
+			updateLaneLoad(q);
+		}
+	}
+
+	/**
+	 * Sets the queue length at which arriving customers balk instead of joining.
+	 *
+	 * @param balkingThreshold The number of waiting customers a customer refuses to queue behind,
+	 *                         or 0 if customers never balk
+	 */
+	public void setBalkingThreshold(int balkingThreshold) {
+		this.balkingThreshold = balkingThreshold;
+	}
+
+	/**
+	 * Lets waiting customers renege. Every customer who joins the queue draws a patience
+	 * from the generator, and an event of the given type carrying the customer id is scheduled
+	 * for the moment the patience runs out. The event is cancelled if service starts first.
+	 *
+	 * @param patience The generator for customer patience, or null to disable reneging
+	 * @param renegeType The event type to schedule when a customer's patience runs out
+	 */
+	public void setReneging(ContinuousGenerator patience, EventType renegeType) {
+		this.patience = patience;
+		this.renegeType = renegeType;
+	}
+
+	/**
+	 * Makes shopping time depend on the route through the store. Each customer's items are
+	 * drawn from the aisles of the layout, and the shopping time is the time to walk the route
+	 * through those aisles plus the time to pick each item.
+	 *
+	 * @param storeLayout The store layout, or null for a fixed base time plus time per item
+	 * @param walkingSpeed The distance a customer walks per time unit
+	 */
+	public void setStoreLayout(StoreLayout storeLayout, double walkingSpeed) {
+		if (storeLayout != null && walkingSpeed <= 0) {
+			throw new IllegalArgumentException("Walking speed must be positive");
+		}
+		this.storeLayout = storeLayout;
+		this.walkingSpeed = walkingSpeed;
+	}
+
+	/**
+	 * Makes every service wait for a unit of a resource pool, which is released when the customer
+	 * departs. Set before the run starts.
+	 *
+	 * @param pool The pool to take a unit from, or null for services that need no resource
+	 * @param priority The priority of the requests, used if the pool serves waiters by priority
+	 */
+	public void requireResource(ResourcePool pool, double priority) {
+		this.resource = pool;
+		this.resourcePriority = priority;
+	}
+
+	/**
+	 * Makes every service wait for a unit of a resource pool, first come, first served.
+	 *
+	 * @param pool The pool to take a unit from, or null for services that need no resource
+	 */
+	public void requireResource(ResourcePool pool) {
+		requireResource(pool, 0.0);
 	}
 
 	/**
 	 * Adds a customer to the service queue.
+	 * With dedicated lane queues the customer joins the lane with the fewest customers.
 	 *
 	 * @param a The customer to be added to the queue
 	 */
-	public void addQueue(Customer a){   // First customer at the queue is always on the service
-		queue.add(a);
+	public void addQueue(Customer a){
+		addQueue(a, chooseLane());
 	}
 
 	/**
-	 * Removes and returns the customer at the front of the queue.
-	 * Marks the service point as no longer reserved and updates service statistics.
+	 * Lets an arriving customer decide whether to join the queue.
+	 * The customer balks if at least the balking threshold of customers are waiting in the
+	 * line it would join, and joins it like {@link #addQueue(Customer)} otherwise.
 	 *
-	 * @return The customer who completed service
+	 * @param a The arriving customer
+	 * @return True if the customer joined the queue, false if it balked
 	 */
-	public Customer removeQueue(){		// Remove serviced customer
-		reserved = false;
-		Customer servedCustomer = queue.poll();
+	public boolean tryJoin(Customer a) {
+		return tryJoin(a, chooseLane());
+	}
 
-		if (servedCustomer != null) {
-			double serviceDuration = Clock.getInstance().getTime() - lastServiceStartTime;
-			totalServiceTime += serviceDuration;
-			customersServed++;
+	/**
+	 * Lets an arriving customer decide whether to join the queue of a specific lane.
+	 * When the servers share one queue the lane is ignored.
+	 *
+	 * @param a The arriving customer
+	 * @param lane The lane the customer considers
+	 * @return True if the customer joined the queue, false if it balked
+	 */
+	public boolean tryJoin(Customer a, int lane) {
+		if (balkingThreshold > 0 && queues.get(dedicatedQueues ? lane : 0).size() >= balkingThreshold) {
+			customersBalked++;
+			return false;
 		}
+		addQueue(a, lane);
+		return true;
+	}
 
+	/**
+	 * Chooses the lane for a customer joining the service point.
+	 *
+	 * @return The least loaded lane, or 0 when the servers share one queue
+	 */
+	private int chooseLane() {
+		return laneLoads.minIndex();
+	}
+
+	/**
+	 * Gets the least loaded lane.
+	 *
+	 * @return The lane number, 0 when the servers share one queue
+	 */
+	public int getLeastLoadedLane() {
+		return laneLoads.minIndex();
+	}
+
+	/**
+	 * Gets the load of a lane as seen by a customer choosing where to queue: the number of
+	 * customers or items in the lane, including those in service. For a shared queue the
+	 * load is divided between the open servers.
+	 *
+	 * @param lane The lane number, ignored when the servers share one queue
+	 * @return The load per server of the lane
+	 */
+	public double getLaneLoad(int lane) {
+		return dedicatedQueues ? laneLoads.get(lane) : laneLoads.get(0) / openServers;
+	}
+
+	/**
+	 * Gets the load of the least loaded lane, see {@link #getLaneLoad(int)}.
+	 *
+	 * @return The smallest load per server
+	 */
+	public double getLeastLaneLoad() {
+		return getLaneLoad(laneLoads.minIndex());
+	}
+
+	/**
+	 * Records a customer joining or leaving a lane and updates the lane load.
+	 *
+	 * @param q The lane
+	 * @param customer The customer
+	 * @param delta 1 when the customer joins, -1 when it leaves
+	 */
+	private void changeLaneLoad(int q, Customer customer, int delta) {
+		laneCustomers[q] += delta;
+		laneItems[q] += (long) delta * customer.getItems();
+		updateLaneLoad(q);
+	}
+
+	private void updateLaneLoad(int q) {
+		if (dedicatedQueues && (!open[q] || failed[q])) {
+			laneLoads.update(q, Double.POSITIVE_INFINITY);
+		} else {
+			laneLoads.update(q, loadByWork ? laneItems[q] : laneCustomers[q]);
+		}
+	}
+
+	/**
+	 * Adds a customer to the queue of a specific lane.
+	 * When the servers share one queue the lane is ignored.
+	 *
+	 * @param a The customer to be added to the queue
+	 * @param lane The lane to join
+	 */
+	public void addQueue(Customer a, int lane) {
+		int q = dedicatedQueues ? lane : 0;
+		if (dedicatedQueues && !open[q]) {
+			q = chooseLane();
+		}
+		double now = Clock.getInstance().getTime();
+		a.setQueueEntryTime(now);
+		a.setLane(q);
+		queues.get(q).add(a, discipline.keyOf(a));
+		waitingCustomers++;
+		changeLaneLoad(q, a, 1);
+		if (dedicatedQueues && idleServers.contains(q)) {
+			readyLanes.add(q);
+		}
+		if (patience != null) {
+			Event timer = new Event(renegeType, now + patience.sample(), a.getId());
+			a.setTimer(timer);
+			eventList.add(timer);
+		}
+		checkStaffing();
+	}
+
+	/**
+	 * Takes a waiting customer out of the queue because its patience ran out.
+	 *
+	 * @param customer The customer whose patience event fired
+	 * @return True if the customer was still waiting here, false otherwise
+	 */
+	public boolean renege(Customer customer) {
+		int q = customer.getLane();
+		if (q >= queues.size() || !queues.get(q).remove(customer)) {
+			return false;
+		}
+		customer.setTimer(null);
+		waitingCustomers--;
+		customersReneged++;
+		changeLaneLoad(q, customer, -1);
+		if (dedicatedQueues && queues.get(q).isEmpty()) {
+			readyLanes.remove(q);
+			if (!open[q] && inService[q] == null) {
+				idleServers.remove(q);
+			}
+		}
+		checkStaffing();
+		return true;
+	}
+
+	/**
+	 * Removes and returns the customer served by the first server.
+	 * Intended for single-server service points.
+	 *
+	 * @return The customer who completed service, or null if the server was idle
+	 */
+	public Customer removeQueue(){
+		return removeQueue(0);
+	}
+
+	/**
+	 * Removes and returns the customer who completed service at the given server.
+	 * Frees the server and updates service statistics.
+	 *
+	 * @param server The server whose service completed, as carried by the departure event
+	 * @return The customer who completed service, or null if the server was idle
+	 */
+	public Customer removeQueue(int server) {
+		Customer servedCustomer = inService[server];
+		if (servedCustomer == null) {
+			return null;
+		}
+		inService[server] = null;
+		departures[server] = null;
+		changeLaneLoad(dedicatedQueues ? server : 0, servedCustomer, -1);
+
+		double now = Clock.getInstance().getTime();
+		totalServiceTime += now - serviceStartTime[server];
+		customersServed++;
+		serverBusyTime[server] += now - busySince[server];
+		serverCustomersServed[server]++;
+
+		busyServers--;
+		releaseServer(server);
+		if (resource != null) {
+			resource.release();
+		}
 		return servedCustomer;
 	}
 
 	/**
-	 * Begins service for the customer at the front of the queue.
+	 * Makes a server that has no customer available for service again.
+	 * A closed lane keeps serving the customers already in it.
+	 *
+	 * @param server The server number
+	 */
+	private void releaseServer(int server) {
+		boolean laneWaiting = dedicatedQueues && !queues.get(server).isEmpty();
+		if (open[server] || laneWaiting) {
+			idleServers.add(server);
+			if (laneWaiting) {
+				readyLanes.add(server);
+			}
+		}
+	}
+
+	/**
+	 * Takes a server out of service because it failed. The service of a customer at the server
+	 * is suspended: its departure event is cancelled and the remaining service time kept.
+	 *
+	 * @param server The server number
+	 */
+	public void failServer(int server) {
+		if (failed[server]) {
+			return;
+		}
+		double now = Clock.getInstance().getTime();
+		failed[server] = true;
+		downSince[server] = now;
+		if (inService[server] != null) {
+			departures[server].cancel();
+			departures[server] = null;
+			remainingOnFailure[server] = Math.max(0.0, departureTime[server] - now);
+			serverBusyTime[server] += now - busySince[server];
+			if (resource != null) {
+				resource.release();
+			}
+		} else {
+			idleServers.remove(server);
+			readyLanes.remove(server);
+		}
+		if (dedicatedQueues) {
+			updateLaneLoad(server);
+		}
+	}
+
+	/**
+	 * Puts a repaired server back into service. A suspended service resumes with a newly
+	 * scheduled departure for the service time that was left, once the required resource
+	 * is granted again.
+	 *
+	 * @param server The server number
+	 */
+	public void repairServer(int server) {
+		if (!failed[server]) {
+			return;
+		}
+		double now = Clock.getInstance().getTime();
+		failed[server] = false;
+		serverDownTime[server] += now - downSince[server];
+		if (inService[server] != null && resource == null) {
+			resumeSuspendedService(server);
+		} else if (inService[server] != null || awaitingResource[server] != null) {
+			if (!resourceRequested[server]) {
+				requestResource(server);
+			}
+		} else {
+			releaseServer(server);
+		}
+		if (dedicatedQueues) {
+			updateLaneLoad(server);
+		}
+	}
+
+	/**
+	 * Schedules a new departure for the service time left when the server failed.
+	 *
+	 * @param server The server number
+	 */
+	private void resumeSuspendedService(int server) {
+		double now = Clock.getInstance().getTime();
+		busySince[server] = now;
+		departureTime[server] = now + remainingOnFailure[server];
+		departures[server] = new Event(eventTypeScheduled, departureTime[server], server);
+		eventList.add(departures[server]);
+	}
+
+	/**
+	 * Checks whether a server has a customer, whose service may be suspended by a failure.
+	 *
+	 * @param server The server number
+	 * @return True if a customer is at the server
+	 */
+	public boolean isServerBusy(int server) {
+		return inService[server] != null;
+	}
+
+	/**
+	 * Checks whether a server has failed and is waiting for repair.
+	 *
+	 * @param server The server number
+	 * @return True if the server is down
+	 */
+	public boolean isServerFailed(int server) {
+		return failed[server];
+	}
+
+	/**
+	 * Begins service for waiting customers on every server that can take one.
 	 * Samples a service time from the generator or calculates it based on customer items,
-	 * and schedules a departure event.
-	 * Marks the service point as reserved during service.
+	 * and schedules a departure event for each started service.
 	 */
 	public void beginService() {
-		if (queue.isEmpty()) {
+		int server;
+		while ((server = nextStartableServer()) >= 0) {
+			Customer customer = takeWaitingCustomer(server);
+			beginService(server, customer, serviceTimeFor(customer));
+			checkStaffing();
+		}
+	}
+
+	/**
+	 * Starts a service at once, or holds the server for the customer until the required
+	 * resource is granted.
+	 *
+	 * @param server The server number
+	 * @param customer The customer to serve
+	 * @param serviceTime The time until the service is completed
+	 */
+	private void beginService(int server, Customer customer, double serviceTime) {
+		if (resource == null) {
+			startService(server, customer, serviceTime);
 			return;
 		}
-		reserved = true;
+		awaitingResource[server] = customer;
+		awaitingServiceTime[server] = serviceTime;
+		requestResource(server);
+	}
 
-		Customer currentCustomer = queue.peek(); // Peek without removing
-		double serviceTime;
+	/**
+	 * Asks the resource pool for a unit for the customer holding a server.
+	 *
+	 * @param server The server number
+	 */
+	private void requestResource(int server) {
+		resourceRequested[server] = true;
+		if (resource.acquire(resourcePriority, () -> resourceGranted(server))) {
+			resourceGranted(server);
+		}
+	}
 
+	/**
+	 * Starts or resumes the service at a server once its unit is granted.
+	 * A server that failed meanwhile gives the unit back, so that it cannot hold a unit
+	 * needed for its own repair, and asks again once it is repaired.
+	 *
+	 * @param server The server number
+	 */
+	private void resourceGranted(int server) {
+		resourceRequested[server] = false;
+		if (failed[server]) {
+			resource.release();
+			return;
+		}
+		if (inService[server] != null) {
+			resumeSuspendedService(server);
+			return;
+		}
+		Customer customer = awaitingResource[server];
+		awaitingResource[server] = null;
+		startService(server, customer, awaitingServiceTime[server]);
+	}
+
+	/**
+	 * Adds a customer whose service is already in progress.
+	 * Used when the store is warm-started from a saved state, where the remaining
+	 * service time of the customer being served is already known.
+	 * If no server is free the customer waits in the queue instead.
+	 *
+	 * @param customer The customer being served
+	 * @param remainingTime The service time left for the customer
+	 */
+	public void resumeService(Customer customer, double remainingTime) {
+		addQueue(customer);
+		int server = nextStartableServer();
+		if (server < 0) {
+			return;
+		}
+		beginService(server, takeWaitingCustomer(server), remainingTime);
+		checkStaffing();
+	}
+
+	/**
+	 * Finds an idle server that has a customer waiting for it.
+	 *
+	 * @return The server number, or -1 if no service can be started
+	 */
+	private int nextStartableServer() {
+		if (dedicatedQueues) {
+			return readyLanes.size() > 0 ? readyLanes.pop() : -1;
+		}
+		if (idleServers.size() == 0 || queues.get(0).isEmpty()) {
+			return -1;
+		}
+		return idleServers.pop();
+	}
+
+	/**
+	 * Takes the next waiting customer for a server from its queue.
+	 *
+	 * @param server The server that is starting service
+	 * @return The customer to serve
+	 */
+	private Customer takeWaitingCustomer(int server) {
+		idleServers.remove(server);
+		waitingCustomers--;
+		Customer customer = queues.get(dedicatedQueues ? server : 0).poll();
+		Event timer = customer.getTimer();
+		if (timer != null) {
+			timer.cancel();
+			customer.setTimer(null);
+		}
+		return customer;
+	}
+
+	/**
+	 * Calculates the service time for a customer.
+	 * Shopping time depends on the items, and on the route through the store if a layout is set.
+	 * Other service points sample the generator.
+	 *
+	 * @param customer The customer to serve
+	 * @return The service time
+	 */
+	protected double serviceTimeFor(Customer customer) {
 		if (eventTypeScheduled == EventType.DEP2) { // Shopping service point
-			int items = currentCustomer.getItems();
-			double baseTime = 10.0;      // seconds to "enter" shopping
-			double timePerItem = 2.0;   // seconds per item - LOWERED THIS TO PREVENT LAG
-			serviceTime = baseTime + timePerItem * items;
-			System.out.println("Shopping time: " + serviceTime + "Custom Id: " + currentCustomer.getId() + "Item: " + currentCustomer.getItems());
-		} else {
-			serviceTime = generator.sample();
+			int items = customer.getItems();
+			double serviceTime = storeLayout == null
+					? SHOPPING_BASE_TIME + SHOPPING_TIME_PER_ITEM * items
+					: storeLayout.getRouteLength(storeLayout.sampleBasket(items)) / walkingSpeed + SHOPPING_TIME_PER_ITEM * items;
+			Trace.out(Trace.Level.INFO, "Shopping time: " + serviceTime + "Custom Id: " + customer.getId() + "Item: " + customer.getItems());
+			return serviceTime;
 		}
-		lastServiceStartTime = Clock.getInstance().getTime();
-		eventList.add(new Event(eventTypeScheduled, Clock.getInstance().getTime()+serviceTime));
+		return generator.sample();
 	}
 
 	/**
-	 * Checks if the service point is currently servicing a customer.
+	 * Starts serving a customer at a server and schedules its departure.
 	 *
-	 * @return True if the service point is reserved, false otherwise
+	 * @param server The server number
+	 * @param customer The customer to serve
+	 * @param serviceTime The time until the service is completed
+	 */
+	private void startService(int server, Customer customer, double serviceTime) {
+		double now = Clock.getInstance().getTime();
+		inService[server] = customer;
+		busyServers++;
+		serviceStartTime[server] = now;
+		busySince[server] = now;
+		departureTime[server] = now + serviceTime;
+		totalWaitingTime += now - customer.getQueueEntryTime();
+		customer.addWaitingTime(now - customer.getQueueEntryTime());
+		customersStarted++;
+		departures[server] = new Event(eventTypeScheduled, departureTime[server], server);
+		eventList.add(departures[server]);
+	}
+
+	/**
+	 * Gets the service times left for the customers currently being served,
+	 * in the same order as the in-service customers returned by {@link #getCustomers()}.
+	 *
+	 * @return The remaining service times
+	 */
+	public List<Double> getRemainingServiceTimes() {
+		double now = Clock.getInstance().getTime();
+		List<Double> remaining = new ArrayList<>();
+		for (int s = 0; s < servers; s++) {
+			if (inService[s] != null) {
+				remaining.add(departures[s] == null ? remainingOnFailure[s] : Math.max(0.0, departureTime[s] - now));
+			}
+		}
+		return remaining;
+	}
+
+	/**
+	 * Gets the customers at the service point.
+	 * The customers being served come first in server order, followed by the customers waiting
+	 * for the required resource and then the waiting customers.
+	 *
+	 * @return A copy of the customers at the service point
+	 */
+	public List<Customer> getCustomers() {
+		List<Customer> customers = new ArrayList<>();
+		for (Customer customer : inService) {
+			if (customer != null) {
+				customers.add(customer);
+			}
+		}
+		for (Customer customer : awaitingResource) {
+			if (customer != null) {
+				customers.add(customer);
+			}
+		}
+		for (CustomerQueue queue : queues) {
+			customers.addAll(queue.toSortedList());
+		}
+		return customers;
+	}
+
+	/**
+	 * Checks if all servers of the service point are busy.
+	 *
+	 * @return True if no server is idle, false otherwise
 	 */
 	public boolean isReserved(){
-		return reserved;
+		return idleServers.size() == 0;
 	}
 
 	/**
-	 * Checks if there are any customers in the queue.
+	 * Checks if there are any customers waiting in the queue.
 	 *
-	 * @return True if there are customers in the queue, false otherwise
+	 * @return True if there are customers waiting, false otherwise
 	 */
 	public boolean isOnQueue(){
-		return queue.size() != 0;
+		return waitingCustomers != 0;
+	}
+
+	/**
+	 * Gets the number of parallel servers.
+	 *
+	 * @return The server count
+	 */
+	public int getServers() {
+		return servers;
+	}
+
+	/**
+	 * Checks if every server has its own lane queue.
+	 *
+	 * @return True for dedicated lane queues, false for one shared queue
+	 */
+	public boolean hasDedicatedQueues() {
+		return dedicatedQueues;
+	}
+
+	/**
+	 * Gets the number of customers waiting for service.
+	 *
+	 * @return The waiting customer count
+	 */
+	public int getQueueLength() {
+		return waitingCustomers;
+	}
+
+	/**
+	 * Gets the number of customers in a lane, including the one being served.
+	 * When the servers share one queue, the shared queue is counted.
+	 *
+	 * @param lane The lane number
+	 * @return The customer count of the lane
+	 */
+	public int getLaneLength(int lane) {
+		if (!dedicatedQueues) {
+			return queues.get(0).size();
+		}
+		return queues.get(lane).size() + (inService[lane] != null ? 1 : 0);
+	}
+
+	/**
+	 * Gets the number of customers being served.
+	 *
+	 * @return The number of busy servers
+	 */
+	public int getCustomersInService() {
+		return busyServers;
+	}
+
+	/**
+	 * Gets the number of customers that have completed service.
+	 *
+	 * @return The served customer count
+	 */
+	public int getCustomersServed() {
+		return customersServed;
+	}
+
+	/**
+	 * Gets the number of customers that refused to join a queue that was too long.
+	 *
+	 * @return The balked customer count
+	 */
+	public int getCustomersBalked() {
+		return customersBalked;
+	}
+
+	/**
+	 * Gets the number of customers that left the queue before their service started.
+	 *
+	 * @return The reneged customer count
+	 */
+	public int getCustomersReneged() {
+		return customersReneged;
+	}
+
+	/**
+	 * Gets the number of customers that have completed service at a server.
+	 *
+	 * @param server The server number
+	 * @return The served customer count of the server
+	 */
+	public int getServerCustomersServed(int server) {
+		return serverCustomersServed[server];
+	}
+
+	/**
+	 * Gets the fraction of the elapsed simulation time a server has been busy.
+	 *
+	 * @param server The server number
+	 * @return The utilisation of the server, between 0 and 1
+	 */
+	public double getServerUtilization(int server) {
+		double now = Clock.getInstance().getTime();
+		if (now <= 0) {
+			return 0.0;
+		}
+		double busy = serverBusyTime[server];
+		if (inService[server] != null && !failed[server]) {
+			busy += now - busySince[server];
+		}
+		return busy / now;
+	}
+
+	/**
+	 * Gets the fraction of the elapsed simulation time a server has been working, not failed.
+	 *
+	 * @param server The server number
+	 * @return The availability of the server, between 0 and 1
+	 */
+	public double getServerAvailability(int server) {
+		double now = Clock.getInstance().getTime();
+		if (now <= 0) {
+			return 1.0;
+		}
+		double down = serverDownTime[server];
+		if (failed[server]) {
+			down += now - downSince[server];
+		}
+		return 1.0 - down / now;
+	}
+
+	/**
+	 * Gets the mean time customers waited in the queue before their service started.
+	 *
+	 * @return The average waiting time
+	 */
+	public double getAverageWaitingTime() {
+		return customersStarted > 0 ? totalWaitingTime / customersStarted : 0.0;
+	}
+
+	/**
+	 * Gets the mean duration of completed services.
+	 *
+	 * @return The average service time
+	 */
+	public double getAverageServiceTime() {
+		return customersServed > 0 ? totalServiceTime / customersServed : 0.0;
 	}
 
 	/**
@@ -116,11 +1097,39 @@ public class ServicePoint {
 	 * Clears the queue and all tracked statistics.
 	 */
 	public void reset() {
-		queue.clear();
-		reserved = false;
+		for (CustomerQueue queue : queues) {
+			queue.clear();
+		}
+		waitingCustomers = 0;
+		Arrays.fill(laneCustomers, 0);
+		Arrays.fill(laneItems, 0);
+		laneLoads.clear();
+		for (int s = 0; s < servers; s++) {
+			inService[s] = null;
+			serviceStartTime[s] = 0.0;
+			departureTime[s] = 0.0;
+			departures[s] = null;
+			busySince[s] = 0.0;
+			failed[s] = false;
+			remainingOnFailure[s] = 0.0;
+			serverDownTime[s] = 0.0;
+			awaitingResource[s] = null;
+			awaitingServiceTime[s] = 0.0;
+			resourceRequested[s] = false;
+			serverCustomersServed[s] = 0;
+			serverBusyTime[s] = 0.0;
+		}
+		readyLanes.clear();
+		idleServers.clear();
+		closedServers.clear();
+		releaseAllServers();
+		busyServers = 0;
+		staffingBand = 0;
 		customersServed = 0;
+		customersStarted = 0;
 		totalServiceTime = 0.0;
 		totalWaitingTime = 0.0;
-		lastServiceStartTime = 0.0;
+		customersBalked = 0;
+		customersReneged = 0;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package simu.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The number of open servers at a station over the trading day.
+ * A schedule is written as comma separated {@code start:servers} pairs, where each pair opens
+ * the given number of servers from its start time until the start of the next pair, for example
+ * {@code "0:2,120:4,480:3,720:2"}. Times are in simulation time units and must increase.
+ */
+public class ShiftSchedule {
+	private final double[] startTimes;
+	private final int[] openServers;
+
+	/**
+	 * Parses a shift schedule.
+	 *
+	 * @param schedule The schedule as {@code start:servers} pairs
+	 * @throws IllegalArgumentException If the schedule is malformed
+	 */
+	public ShiftSchedule(String schedule) {
+		List<double[]> shifts = new ArrayList<>();
+		for (String entry : schedule.split(",")) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			String[] parts = entry.trim().split(":");
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Shift should be start:servers, was " + entry.trim());
+			}
+			double start;
+			int servers;
+			try {
+				start = Double.parseDouble(parts[0].trim());
+				servers = Integer.parseInt(parts[1].trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid shift " + entry.trim(), e);
+			}
+			if (servers < 1) {
+				throw new IllegalArgumentException("A shift needs at least one open server, was " + entry.trim());
+			}
+			if (!shifts.isEmpty() && start <= shifts.get(shifts.size() - 1)[0]) {
+				throw new IllegalArgumentException("Shift start times must increase, was " + entry.trim());
+			}
+			shifts.add(new double[] {start, servers});
+		}
+		if (shifts.isEmpty()) {
+			throw new IllegalArgumentException("A shift schedule needs at least one shift");
+		}
+
+		startTimes = new double[shifts.size()];
+		openServers = new int[shifts.size()];
+		for (int i = 0; i < shifts.size(); i++) {
+			startTimes[i] = shifts.get(i)[0];
+			openServers[i] = (int) shifts.get(i)[1];
+		}
+	}
+
+	/**
+	 * Gets the number of servers open at a time. Before the first shift starts,
+	 * the first shift applies.
+	 *
+	 * @param time The simulation time
+	 * @return The number of open servers
+	 */
+	public int getOpenServers(double time) {
+		return openServers[Math.max(0, shiftAt(time))];
+	}
+
+	/**
+	 * Gets the time of the first change in open servers after a time.
+	 *
+	 * @param time The simulation time
+	 * @return The next shift start, or {@link Double#POSITIVE_INFINITY} if the last shift has started
+	 */
+	public double getNextChange(double time) {
+		int next = shiftAt(time) + 1;
+		return next < startTimes.length ? startTimes[next] : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Gets the largest number of servers open during any shift.
+	 *
+	 * @return The peak open server count
+	 */
+	public int getMaxOpenServers() {
+		int max = 0;
+		for (int servers : openServers) {
+			max = Math.max(max, servers);
+		}
+		return max;
+	}
+
+	/**
+	 * Finds the last shift that started at or before a time with a binary search.
+	 *
+	 * @param time The simulation time
+	 * @return The shift index, or -1 if the first shift has not started
+	 */
+	private int shiftAt(double time) {
+		int low = 0;
+		int high = startTimes.length - 1;
+		int found = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (startTimes[mid] <= time) {
+				found = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return found;
+	}
+}
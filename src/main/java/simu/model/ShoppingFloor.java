@@ -0,0 +1,507 @@
+package simu.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import eduni.distributions.ContinuousGenerator;
+import simu.framework.Clock;
+import simu.framework.Event;
+import simu.framework.EventList;
+import simu.framework.RandomStreams;
+
+/**
+ * A shopping area where every customer walks through the store as an agent instead of
+ * drawing a shopping time. The store is a rectangle with the entrance in one corner and the
+ * checkouts in the next. Each customer walks to a few picking stops, spends the time per item
+ * at each, and leaves for the checkouts when it reaches them. Customers slow down when many
+ * others are close by, so busy periods make shopping take longer.
+ *
+ * <p>Positions advance in fixed time steps, driven by a step event that is only scheduled
+ * while someone is shopping. The agents are kept in parallel arrays, and each step puts them
+ * in a uniform grid of cells as wide as the crowding radius, so counting the neighbours of a
+ * customer only looks at the 3 &times; 3 cells around it. Every agent's move is computed from
+ * the positions at the start of the step, so large crowds can be moved with a parallel stream
+ * and still give the same result as a sequential pass.</p>
+ */
+public class ShoppingFloor extends ServicePoint {
+	/** Distance within which other customers slow a customer down. */
+	public static final double CROWDING_RADIUS = 2.0;
+	/** Number of close customers at which a customer moves at the minimum speed. */
+	public static final int JAM_NEIGHBOURS = 8;
+	/** Share of the walking speed left in a jam. */
+	public static final double MIN_SPEED_SHARE = 0.2;
+	/** Items picked at one stop. */
+	public static final int ITEMS_PER_STOP = 3;
+	/** Number of shoppers from which a step is computed in parallel, if enabled. */
+	private static final int PARALLEL_THRESHOLD = 1024;
+
+	private final EventType stepType;
+	private final double width;
+	private final double depth;
+	private final double walkingSpeed;
+	private final double timeStep;
+	private final boolean parallel;
+	private boolean stepScheduled = false;
+	// Picking stops are placed with this stream
+	private ContinuousGenerator random = RandomStreams.getDefault().get("floor");
+
+	// Agents in slots 0 .. shoppers-1
+	private int shoppers = 0;
+	private Customer[] customers = new Customer[64];
+	private double[] x = new double[64];
+	private double[] y = new double[64];
+	private double[] dwell = new double[64];
+	private int[] stop = new int[64];
+	// Stops as x, y, picking time triples, the last one at the checkouts
+	private double[][] routes = new double[64][];
+
+	// Positions after the step being computed
+	private double[] nextX = new double[64];
+	private double[] nextY = new double[64];
+	private double[] nextDwell = new double[64];
+	private int[] nextStop = new int[64];
+	private double[] speedShare = new double[64];
+
+	// Uniform grid, agents sorted by cell
+	private final int columns;
+	private final int rows;
+	private final int[] cellStart;
+	private int[] cellOf = new int[64];
+	private int[] byCell = new int[64];
+
+	// Customers who reached the checkouts, in the order of their departure events
+	private final ArrayDeque<Customer> finished = new ArrayDeque<>();
+
+	// Statistics
+	private int customersServed = 0;
+	private double totalServiceTime = 0.0;
+	private double speedShareSum = 0.0;
+	private long agentSteps = 0;
+	private int peakShoppers = 0;
+
+	/**
+	 * Creates a shopping floor.
+	 *
+	 * @param eventList The event list where departure and step events are scheduled
+	 * @param type The event type scheduled when a customer finishes shopping
+	 * @param stepType The event type scheduled to move the customers one time step
+	 * @param width The width of the store, from the entrance to the checkouts
+	 * @param depth The depth of the store
+	 * @param walkingSpeed The distance a customer walks per time unit when nobody is near
+	 * @param timeStep The time between position updates
+	 * @param parallel True if large crowds may be moved with a parallel stream
+	 */
+	public ShoppingFloor(EventList eventList, EventType type, EventType stepType, double width, double depth,
+						 double walkingSpeed, double timeStep, boolean parallel) {
+		super(null, eventList, type);
+		if (width <= 0 || depth <= 0 || walkingSpeed <= 0 || timeStep <= 0) {
+			throw new IllegalArgumentException("Store size, walking speed and time step must be positive");
+		}
+		this.stepType = stepType;
+		this.width = width;
+		this.depth = depth;
+		this.walkingSpeed = walkingSpeed;
+		this.timeStep = timeStep;
+		this.parallel = parallel;
+		columns = (int) Math.ceil(width / CROWDING_RADIUS);
+		rows = (int) Math.ceil(depth / CROWDING_RADIUS);
+		cellStart = new int[columns * rows + 1];
+	}
+
+	/**
+	 * Sets the random stream picking stops are placed with.
+	 *
+	 * @param random A generator of numbers uniformly distributed between 0 and 1
+	 */
+	public void setRandom(ContinuousGenerator random) {
+		this.random = random;
+	}
+
+	/**
+	 * Lets a customer in at the entrance with picking stops for its items.
+	 *
+	 * @param a The customer starting to shop
+	 */
+	@Override
+	public void addQueue(Customer a) {
+		a.setQueueEntryTime(Clock.getInstance().getTime());
+		int items = a.getItems();
+		int stops = (items + ITEMS_PER_STOP - 1) / ITEMS_PER_STOP;
+		double[] route = new double[3 * (stops + 1)];
+		for (int s = 0; s < stops; s++) {
+			route[3 * s] = random.sample() * width;
+			route[3 * s + 1] = random.sample() * depth;
+			route[3 * s + 2] = SHOPPING_TIME_PER_ITEM * Math.min(ITEMS_PER_STOP, items - s * ITEMS_PER_STOP);
+		}
+		route[3 * stops] = width;
+		enter(a, 0.0, 0.0, 0.0, route);
+	}
+
+	/**
+	 * Lets a customer in. There are no lanes, so the lane is ignored.
+	 *
+	 * @param a The customer starting to shop
+	 * @param lane Ignored
+	 */
+	@Override
+	public void addQueue(Customer a, int lane) {
+		addQueue(a);
+	}
+
+	/**
+	 * Lets a customer in. Nobody queues to shop, so customers never balk.
+	 *
+	 * @param a The customer starting to shop
+	 * @return Always true
+	 */
+	@Override
+	public boolean tryJoin(Customer a) {
+		addQueue(a);
+		return true;
+	}
+
+	/**
+	 * Lets in a customer who has already been shopping for a while. The customer picks
+	 * its remaining items for the remaining time at a random spot and then walks to the checkouts.
+	 *
+	 * @param customer The customer
+	 * @param remainingTime The shopping time left for the customer
+	 */
+	@Override
+	public void resumeService(Customer customer, double remainingTime) {
+		customer.setQueueEntryTime(Clock.getInstance().getTime());
+		double[] route = {random.sample() * width, random.sample() * depth, remainingTime, width, 0.0, 0.0};
+		enter(customer, route[0], route[1], 0.0, route);
+	}
+
+	private void enter(Customer customer, double startX, double startY, double startDwell, double[] route) {
+		if (shoppers == customers.length) {
+			grow();
+		}
+		int slot = shoppers++;
+		customers[slot] = customer;
+		x[slot] = startX;
+		y[slot] = startY;
+		dwell[slot] = startDwell;
+		stop[slot] = 0;
+		routes[slot] = route;
+		peakShoppers = Math.max(peakShoppers, shoppers);
+		if (!stepScheduled) {
+			eventList.add(new Event(stepType, Clock.getInstance().getTime() + timeStep));
+			stepScheduled = true;
+		}
+	}
+
+	private void grow() {
+		int size = customers.length * 2;
+		customers = Arrays.copyOf(customers, size);
+		x = Arrays.copyOf(x, size);
+		y = Arrays.copyOf(y, size);
+		dwell = Arrays.copyOf(dwell, size);
+		stop = Arrays.copyOf(stop, size);
+		routes = Arrays.copyOf(routes, size);
+		nextX = new double[size];
+		nextY = new double[size];
+		nextDwell = new double[size];
+		nextStop = new int[size];
+		speedShare = new double[size];
+		cellOf = new int[size];
+		byCell = new int[size];
+	}
+
+	/**
+	 * Moves every customer one time step. Customers who reach the checkouts leave the floor
+	 * with a departure event at the current time, and the next step is scheduled while anyone
+	 * is still shopping.
+	 */
+	public void step() {
+		stepScheduled = false;
+		buildGrid();
+		if (parallel && shoppers >= PARALLEL_THRESHOLD) {
+			IntStream.range(0, shoppers).parallel().forEach(this::move);
+		} else {
+			for (int i = 0; i < shoppers; i++) {
+				move(i);
+			}
+		}
+		for (int i = 0; i < shoppers; i++) {
+			speedShareSum += speedShare[i];
+		}
+		agentSteps += shoppers;
+
+		double[] swap = x; x = nextX; nextX = swap;
+		swap = y; y = nextY; nextY = swap;
+		swap = dwell; dwell = nextDwell; nextDwell = swap;
+		int[] swapStop = stop; stop = nextStop; nextStop = swapStop;
+
+		double now = Clock.getInstance().getTime();
+		for (int i = shoppers - 1; i >= 0; i--) {
+			if (stop[i] * 3 == routes[i].length) {
+				finished.add(customers[i]);
+				eventList.add(new Event(eventTypeScheduled, now));
+				removeSlot(i);
+			}
+		}
+		if (shoppers > 0) {
+			eventList.add(new Event(stepType, now + timeStep));
+			stepScheduled = true;
+		}
+	}
+
+	/**
+	 * Sorts the agents by grid cell with a counting sort.
+	 */
+	private void buildGrid() {
+		Arrays.fill(cellStart, 0);
+		for (int i = 0; i < shoppers; i++) {
+			int cell = cellAt(x[i], y[i]);
+			cellOf[i] = cell;
+			cellStart[cell + 1]++;
+		}
+		for (int c = 0; c < columns * rows; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+		int[] fill = Arrays.copyOf(cellStart, cellStart.length);
+		for (int i = 0; i < shoppers; i++) {
+			byCell[fill[cellOf[i]]++] = i;
+		}
+	}
+
+	private int cellAt(double px, double py) {
+		int column = Math.min(columns - 1, Math.max(0, (int) (px / CROWDING_RADIUS)));
+		int row = Math.min(rows - 1, Math.max(0, (int) (py / CROWDING_RADIUS)));
+		return row * columns + column;
+	}
+
+	/**
+	 * Counts the other customers within the crowding radius of an agent.
+	 *
+	 * @param i The agent slot
+	 * @return The neighbour count
+	 */
+	int countNeighbours(int i) {
+		int cell = cellOf[i];
+		int column = cell % columns;
+		int row = cell / columns;
+		double limit = CROWDING_RADIUS * CROWDING_RADIUS;
+		int count = 0;
+		for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+			for (int c = Math.max(0, column - 1); c <= Math.min(columns - 1, column + 1); c++) {
+				int neighbourCell = r * columns + c;
+				for (int k = cellStart[neighbourCell]; k < cellStart[neighbourCell + 1]; k++) {
+					int j = byCell[k];
+					double dx = x[j] - x[i];
+					double dy = y[j] - y[i];
+					if (j != i && dx * dx + dy * dy <= limit) {
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Computes where an agent is after one time step, reading only the positions at the start
+	 * of the step and writing only the agent's own slot of the next positions.
+	 *
+	 * @param i The agent slot
+	 */
+	private void move(int i) {
+		double share = Math.max(MIN_SPEED_SHARE, 1.0 - (double) countNeighbours(i) / JAM_NEIGHBOURS);
+		speedShare[i] = share;
+		double speed = walkingSpeed * share;
+		double[] route = routes[i];
+		double px = x[i];
+		double py = y[i];
+		double left = dwell[i];
+		int s = stop[i];
+		double time = timeStep;
+		while (time > 0 && s * 3 < route.length) {
+			if (left > 0) {
+				double picking = Math.min(left, time);
+				left -= picking;
+				time -= picking;
+				continue;
+			}
+			double dx = route[3 * s] - px;
+			double dy = route[3 * s + 1] - py;
+			double distance = Math.sqrt(dx * dx + dy * dy);
+			double reach = speed * time;
+			if (reach < distance) {
+				px += dx * reach / distance;
+				py += dy * reach / distance;
+				time = 0;
+			} else {
+				px = route[3 * s];
+				py = route[3 * s + 1];
+				time -= distance / speed;
+				left = route[3 * s + 2];
+				s++;
+			}
+		}
+		nextX[i] = px;
+		nextY[i] = py;
+		nextDwell[i] = left;
+		nextStop[i] = s;
+	}
+
+	/**
+	 * Removes an agent by moving the last agent into its slot.
+	 *
+	 * @param i The agent slot
+	 */
+	private void removeSlot(int i) {
+		int last = --shoppers;
+		customers[i] = customers[last];
+		x[i] = x[last];
+		y[i] = y[last];
+		dwell[i] = dwell[last];
+		stop[i] = stop[last];
+		routes[i] = routes[last];
+		customers[last] = null;
+		routes[last] = null;
+	}
+
+	/**
+	 * Removes and returns a customer who has reached the checkouts.
+	 *
+	 * @param server Ignored, departures from the floor carry no server number
+	 * @return The departing customer, or null if nobody has finished shopping
+	 */
+	@Override
+	public Customer removeQueue(int server) {
+		Customer customer = finished.poll();
+		if (customer == null) {
+			return null;
+		}
+		customersServed++;
+		totalServiceTime += Clock.getInstance().getTime() - customer.getQueueEntryTime();
+		return customer;
+	}
+
+	/**
+	 * Nothing to do, customers start shopping as soon as they enter.
+	 */
+	@Override
+	public void beginService() {
+	}
+
+	/**
+	 * Gets the customers on the floor, in no particular order.
+	 *
+	 * @return A copy of the customers shopping
+	 */
+	@Override
+	public List<Customer> getCustomers() {
+		return new ArrayList<>(Arrays.asList(customers).subList(0, shoppers));
+	}
+
+	/**
+	 * Estimates the shopping time left for each customer, in the order of {@link #getCustomers()},
+	 * as the picking time left plus the rest of the route walked at full speed.
+	 *
+	 * @return The remaining shopping times
+	 */
+	@Override
+	public List<Double> getRemainingServiceTimes() {
+		List<Double> remaining = new ArrayList<>(shoppers);
+		for (int i = 0; i < shoppers; i++) {
+			double[] route = routes[i];
+			double time = dwell[i];
+			double px = x[i];
+			double py = y[i];
+			for (int s = stop[i]; s * 3 < route.length; s++) {
+				time += Math.hypot(route[3 * s] - px, route[3 * s + 1] - py) / walkingSpeed + route[3 * s + 2];
+				px = route[3 * s];
+				py = route[3 * s + 1];
+			}
+			remaining.add(time);
+		}
+		return remaining;
+	}
+
+	/**
+	 * Gets the mean share of the walking speed customers moved at, showing how crowded the floor was.
+	 *
+	 * @return The average speed share, 1 if nobody was ever slowed down
+	 */
+	public double getAverageSpeedShare() {
+		return agentSteps > 0 ? speedShareSum / agentSteps : 1.0;
+	}
+
+	/**
+	 * Gets the largest number of customers shopping at the same time.
+	 *
+	 * @return The peak shopper count
+	 */
+	public int getPeakShoppers() {
+		return peakShoppers;
+	}
+
+	@Override
+	public boolean isReserved() {
+		return false;
+	}
+
+	@Override
+	public boolean isOnQueue() {
+		return false;
+	}
+
+	@Override
+	public int getServers() {
+		return 0;
+	}
+
+	@Override
+	public int getQueueLength() {
+		return 0;
+	}
+
+	@Override
+	public int getLaneLength(int lane) {
+		return shoppers;
+	}
+
+	@Override
+	public int getCustomersInService() {
+		return shoppers;
+	}
+
+	@Override
+	public int getCustomersServed() {
+		return customersServed;
+	}
+
+	@Override
+	public double getAverageWaitingTime() {
+		return 0.0;
+	}
+
+	@Override
+	public double getAverageServiceTime() {
+		return customersServed > 0 ? totalServiceTime / customersServed : 0.0;
+	}
+
+	/**
+	 * Resets the floor to its initial state, removing all customers.
+	 */
+	@Override
+	public void reset() {
+		super.reset();
+		Arrays.fill(customers, null);
+		Arrays.fill(routes, null);
+		shoppers = 0;
+		finished.clear();
+		stepScheduled = false;
+		customersServed = 0;
+		totalServiceTime = 0.0;
+		speedShareSum = 0.0;
+		agentSteps = 0;
+		peakShoppers = 0;
+	}
+}
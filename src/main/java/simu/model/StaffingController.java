@@ -0,0 +1,100 @@
+package simu.model;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import simu.framework.Clock;
+import simu.framework.Trace;
+
+/**
+ * Opens and closes checkout servers as queues grow and shrink.
+ * A server is opened when the queue per open server reaches the open threshold, and one is
+ * closed when the queue per remaining server would be at most the close threshold.
+ * Thresholds are either queue lengths or expected waiting times, where the expected wait is
+ * the number of waiting customers times the mean service time divided by the open servers.
+ *
+ * <p>The thresholds are turned into waiting customer counts for the current number of open
+ * servers and handed to the service point, which calls back only when a count is crossed.
+ * The counts are recomputed after every opening or closing.</p>
+ */
+public class StaffingController implements StaffingListener {
+	private final double openThreshold;
+	private final double closeThreshold;
+	private final boolean byExpectedWait;
+	private final int minOpenServers;
+	private final Map<ServicePoint, Double> meanServiceTimes = new IdentityHashMap<>();
+
+	/**
+	 * Creates a staffing controller.
+	 *
+	 * @param openThreshold Queue length per open server, or expected wait, at which a server is opened
+	 * @param closeThreshold Queue length per remaining server, or expected wait, at which a server is closed
+	 * @param byExpectedWait True if the thresholds are expected waiting times, false for queue lengths
+	 * @param minOpenServers The number of servers that are always open
+	 */
+	public StaffingController(double openThreshold, double closeThreshold, boolean byExpectedWait, int minOpenServers) {
+		if (closeThreshold >= openThreshold) {
+			throw new IllegalArgumentException("The close threshold must be below the open threshold");
+		}
+		this.openThreshold = openThreshold;
+		this.closeThreshold = closeThreshold;
+		this.byExpectedWait = byExpectedWait;
+		this.minOpenServers = Math.max(1, minOpenServers);
+	}
+
+	/**
+	 * Starts managing the servers of a service point. Only the minimum number of servers is
+	 * left open, more are opened as the queue grows.
+	 *
+	 * @param servicePoint The service point to manage
+	 * @param meanServiceTime The mean service time at the service point, used for expected waits
+	 */
+	public void manage(ServicePoint servicePoint, double meanServiceTime) {
+		meanServiceTimes.put(servicePoint, meanServiceTime);
+		servicePoint.setOpenServers(minOpenServers);
+		servicePoint.setStaffingListener(this);
+		updateTriggers(servicePoint);
+	}
+
+	@Override
+	public void queueLong(ServicePoint servicePoint) {
+		int server = servicePoint.openServer();
+		if (server >= 0) {
+			Trace.out(Trace.Level.INFO, "Staffing: opened server " + (server + 1) + " at " + Clock.getInstance().getTime()
+					+ ", " + servicePoint.getQueueLength() + " waiting");
+			updateTriggers(servicePoint);
+		}
+	}
+
+	@Override
+	public void queueShort(ServicePoint servicePoint) {
+		if (servicePoint.getOpenServers() <= minOpenServers) {
+			return;
+		}
+		int server = servicePoint.closeServer();
+		if (server >= 0) {
+			Trace.out(Trace.Level.INFO, "Staffing: closed server " + (server + 1) + " at " + Clock.getInstance().getTime()
+					+ ", " + servicePoint.getQueueLength() + " waiting");
+			updateTriggers(servicePoint);
+		}
+	}
+
+	/**
+	 * Converts the thresholds into waiting customer counts for the current number of open servers.
+	 *
+	 * @param servicePoint The managed service point
+	 */
+	private void updateTriggers(ServicePoint servicePoint) {
+		int open = servicePoint.getOpenServers();
+		// Waiting customers per server that correspond to one threshold unit
+		double perUnit = byExpectedWait ? 1.0 / meanServiceTimes.get(servicePoint) : 1.0;
+
+		int openTrigger = open < servicePoint.getServers()
+				? Math.max(1, (int) Math.ceil(openThreshold * perUnit * open))
+				: Integer.MAX_VALUE;
+		int closeTrigger = open > minOpenServers
+				? (int) Math.floor(closeThreshold * perUnit * (open - 1))
+				: -1;
+		servicePoint.setStaffingTriggers(openTrigger, Math.min(closeTrigger, openTrigger - 1));
+	}
+}
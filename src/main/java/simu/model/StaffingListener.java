@@ -0,0 +1,21 @@
+package simu.model;
+
+/**
+ * Receives notifications when the number of customers waiting at a service point
+ * crosses the staffing triggers set with {@link ServicePoint#setStaffingTriggers(int, int)}.
+ */
+public interface StaffingListener {
+	/**
+	 * Called when the number of waiting customers reaches the open trigger.
+	 *
+	 * @param servicePoint The service point whose queue grew
+	 */
+	void queueLong(ServicePoint servicePoint);
+
+	/**
+	 * Called when the number of waiting customers falls to the close trigger.
+	 *
+	 * @param servicePoint The service point whose queue shrank
+	 */
+	void queueShort(ServicePoint servicePoint);
+}
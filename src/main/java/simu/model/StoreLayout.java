@@ -0,0 +1,358 @@
+package simu.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import eduni.distributions.ContinuousGenerator;
+import simu.framework.RandomStreams;
+
+/**
+ * The aisles of the store as a graph, used to turn a customer's basket into a walking route.
+ * A layout is written as comma separated {@code from-to:distance} walkways between named
+ * nodes, for example {@code "entrance-dairy:10,dairy-bakery:6,bakery-checkout:12"}. The nodes
+ * {@code entrance} and {@code checkout} must be present, every other node is an aisle that
+ * items can be picked from.
+ *
+ * <p>Shortest distances between all nodes are computed once with Floyd-Warshall. A basket is
+ * the set of aisles a customer's items come from, and its route is built with a nearest
+ * neighbour tour from the entrance to the checkout improved with 2-opt. Route lengths are
+ * cached per basket, so most customers cost one map lookup.</p>
+ */
+public class StoreLayout {
+	/** Most aisles a layout can have, so that a basket fits in a bit mask. */
+	public static final int MAX_AISLES = 63;
+	/** Most baskets whose route length is cached. */
+	private static final int MAX_CACHED_ROUTES = 1 << 16;
+
+	private final String[] aisleNames;
+	private final double[][] distances;
+	private final int entrance;
+	private final int checkout;
+	private final double[] cumulativeWeights;
+	private final Map<Long, Double> routeLengths = new HashMap<>();
+	private final ContinuousGenerator random;
+
+	/**
+	 * Parses a store layout with every aisle equally popular.
+	 *
+	 * @param layout The walkways as {@code from-to:distance} entries
+	 * @throws IllegalArgumentException If the layout is malformed or some aisle cannot be reached
+	 */
+	public StoreLayout(String layout) {
+		this(layout, "");
+	}
+
+	/**
+	 * Parses a store layout.
+	 *
+	 * @param layout The walkways as {@code from-to:distance} entries
+	 * @param aisleWeights How often items come from each aisle as {@code aisle:weight} entries,
+	 *                     aisles left out have weight 1
+	 * @throws IllegalArgumentException If the layout or weights are malformed or some aisle cannot be reached
+	 */
+	public StoreLayout(String layout, String aisleWeights) {
+		this(layout, aisleWeights, RandomStreams.getDefault().get("layout"));
+	}
+
+	/**
+	 * Parses a store layout whose baskets are drawn from a random stream.
+	 *
+	 * @param layout The walkways as {@code from-to:distance} entries
+	 * @param aisleWeights How often items come from each aisle as {@code aisle:weight} entries,
+	 *                     aisles left out have weight 1
+	 * @param random The uniform stream baskets are drawn from
+	 * @throws IllegalArgumentException If the layout or weights are malformed or some aisle cannot be reached
+	 */
+	public StoreLayout(String layout, String aisleWeights, ContinuousGenerator random) {
+		this.random = random;
+		Map<String, Integer> nodes = new LinkedHashMap<>();
+		nodes.put("entrance", 0);
+		nodes.put("checkout", 1);
+		List<double[]> walkways = new ArrayList<>();
+		for (String entry : layout.split(",")) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			String[] parts = entry.trim().split(":");
+			String[] ends = parts[0].split("-");
+			if (parts.length != 2 || ends.length != 2) {
+				throw new IllegalArgumentException("Walkway should be from-to:distance, was " + entry.trim());
+			}
+			double distance;
+			try {
+				distance = Double.parseDouble(parts[1].trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid walkway " + entry.trim(), e);
+			}
+			if (distance < 0) {
+				throw new IllegalArgumentException("Walkway distance cannot be negative, was " + entry.trim());
+			}
+			int from = nodes.computeIfAbsent(ends[0].trim(), name -> nodes.size());
+			int to = nodes.computeIfAbsent(ends[1].trim(), name -> nodes.size());
+			walkways.add(new double[] {from, to, distance});
+		}
+		int aisles = nodes.size() - 2;
+		if (aisles < 1) {
+			throw new IllegalArgumentException("A store layout needs at least one aisle");
+		}
+		if (aisles > MAX_AISLES) {
+			throw new IllegalArgumentException("A store layout can have at most " + MAX_AISLES + " aisles");
+		}
+
+		entrance = 0;
+		checkout = 1;
+		distances = shortestPaths(nodes.size(), walkways);
+		aisleNames = new String[aisles];
+		for (Map.Entry<String, Integer> node : nodes.entrySet()) {
+			int index = node.getValue();
+			if (index >= 2) {
+				aisleNames[index - 2] = node.getKey();
+			}
+			if (Double.isInfinite(distances[entrance][index]) || Double.isInfinite(distances[index][checkout])) {
+				throw new IllegalArgumentException("Node " + node.getKey() + " cannot be reached from the entrance and checkout");
+			}
+		}
+		cumulativeWeights = parseWeights(aisleWeights, nodes);
+	}
+
+	/**
+	 * Computes the shortest distance between every pair of nodes with Floyd-Warshall.
+	 * Walkways can be walked both ways.
+	 *
+	 * @param size The number of nodes
+	 * @param walkways The walkways as from, to, distance triples
+	 * @return The distance matrix, infinite between nodes that are not connected
+	 */
+	private static double[][] shortestPaths(int size, List<double[]> walkways) {
+		double[][] dist = new double[size][size];
+		for (int i = 0; i < size; i++) {
+			Arrays.fill(dist[i], Double.POSITIVE_INFINITY);
+			dist[i][i] = 0.0;
+		}
+		for (double[] walkway : walkways) {
+			int from = (int) walkway[0];
+			int to = (int) walkway[1];
+			dist[from][to] = Math.min(dist[from][to], walkway[2]);
+			dist[to][from] = dist[from][to];
+		}
+		for (int k = 0; k < size; k++) {
+			double[] viaK = dist[k];
+			for (int i = 0; i < size; i++) {
+				double toK = dist[i][k];
+				if (Double.isInfinite(toK)) {
+					continue;
+				}
+				double[] fromI = dist[i];
+				for (int j = 0; j < size; j++) {
+					double through = toK + viaK[j];
+					if (through < fromI[j]) {
+						fromI[j] = through;
+					}
+				}
+			}
+		}
+		return dist;
+	}
+
+	/**
+	 * Parses aisle weights into a cumulative table for sampling.
+	 *
+	 * @param aisleWeights The weights as {@code aisle:weight} entries
+	 * @param nodes The node numbers by name
+	 * @return The cumulative weights by aisle
+	 */
+	private double[] parseWeights(String aisleWeights, Map<String, Integer> nodes) {
+		double[] weights = new double[aisleNames.length];
+		Arrays.fill(weights, 1.0);
+		for (String entry : aisleWeights.split(",")) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			String[] parts = entry.trim().split(":");
+			Integer node = parts.length == 2 ? nodes.get(parts[0].trim()) : null;
+			if (node == null || node < 2) {
+				throw new IllegalArgumentException("Aisle weight should be aisle:weight for a known aisle, was " + entry.trim());
+			}
+			try {
+				weights[node - 2] = Double.parseDouble(parts[1].trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid aisle weight " + entry.trim(), e);
+			}
+			if (weights[node - 2] < 0) {
+				throw new IllegalArgumentException("Aisle weight cannot be negative, was " + entry.trim());
+			}
+		}
+		double[] cumulative = new double[weights.length];
+		double total = 0.0;
+		for (int i = 0; i < weights.length; i++) {
+			total += weights[i];
+			cumulative[i] = total;
+		}
+		if (total <= 0) {
+			throw new IllegalArgumentException("At least one aisle needs a positive weight");
+		}
+		return cumulative;
+	}
+
+	/**
+	 * Gets the shortest walking distance between two nodes.
+	 *
+	 * @param from The name of the first node
+	 * @param to The name of the second node
+	 * @return The distance
+	 * @throws IllegalArgumentException If either node is not in the layout
+	 */
+	public double getDistance(String from, String to) {
+		return distances[node(from)][node(to)];
+	}
+
+	/**
+	 * Gets the number of aisles items can be picked from.
+	 *
+	 * @return The aisle count
+	 */
+	public int getAisles() {
+		return aisleNames.length;
+	}
+
+	/**
+	 * Draws the aisles a basket of items comes from, each item from an aisle picked by weight.
+	 *
+	 * @param items The number of items
+	 * @return The basket as a bit mask of aisles
+	 */
+	public long sampleBasket(int items) {
+		long basket = 0L;
+		double total = cumulativeWeights[cumulativeWeights.length - 1];
+		for (int i = 0; i < items; i++) {
+			basket |= 1L << aisleAt(random.sample() * total);
+		}
+		return basket;
+	}
+
+	/**
+	 * Gets the length of the route from the entrance through every aisle of a basket to the
+	 * checkout. The route is computed on first use and cached.
+	 *
+	 * @param basket The basket as a bit mask of aisles
+	 * @return The route length
+	 */
+	public double getRouteLength(long basket) {
+		Double cached = routeLengths.get(basket);
+		if (cached != null) {
+			return cached;
+		}
+		double length = planRoute(basket);
+		if (routeLengths.size() < MAX_CACHED_ROUTES) {
+			routeLengths.put(basket, length);
+		}
+		return length;
+	}
+
+	/**
+	 * Gets the number of baskets whose route length is cached.
+	 *
+	 * @return The cached route count
+	 */
+	public int getCachedRoutes() {
+		return routeLengths.size();
+	}
+
+	/**
+	 * Finds the aisle a cumulative weight falls in with a binary search.
+	 *
+	 * @param value A value between 0 and the total weight
+	 * @return The aisle index
+	 */
+	private int aisleAt(double value) {
+		int low = 0;
+		int high = cumulativeWeights.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cumulativeWeights[mid] > value) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Builds a route through a basket's aisles with a nearest neighbour tour from the entrance,
+	 * then shortens it with 2-opt moves while any improve it.
+	 *
+	 * @param basket The basket as a bit mask of aisles
+	 * @return The route length
+	 */
+	private double planRoute(long basket) {
+		int stops = Long.bitCount(basket);
+		// The route with the entrance first and the checkout last
+		int[] route = new int[stops + 2];
+		route[0] = entrance;
+		route[stops + 1] = checkout;
+		long left = basket;
+		for (int i = 1; i <= stops; i++) {
+			int best = -1;
+			double bestDistance = Double.POSITIVE_INFINITY;
+			for (long rest = left; rest != 0; rest &= rest - 1) {
+				int aisle = Long.numberOfTrailingZeros(rest);
+				double distance = distances[route[i - 1]][aisle + 2];
+				if (distance < bestDistance) {
+					best = aisle;
+					bestDistance = distance;
+				}
+			}
+			route[i] = best + 2;
+			left &= ~(1L << best);
+		}
+
+		boolean improved = true;
+		while (improved) {
+			improved = false;
+			for (int i = 1; i < stops; i++) {
+				for (int j = i + 1; j <= stops; j++) {
+					double before = distances[route[i - 1]][route[i]] + distances[route[j]][route[j + 1]];
+					double after = distances[route[i - 1]][route[j]] + distances[route[i]][route[j + 1]];
+					if (after < before - 1e-9) {
+						reverse(route, i, j);
+						improved = true;
+					}
+				}
+			}
+		}
+
+		double length = 0.0;
+		for (int i = 1; i < route.length; i++) {
+			length += distances[route[i - 1]][route[i]];
+		}
+		return length;
+	}
+
+	private static void reverse(int[] route, int from, int to) {
+		while (from < to) {
+			int swap = route[from];
+			route[from++] = route[to];
+			route[to--] = swap;
+		}
+	}
+
+	private int node(String name) {
+		if ("entrance".equals(name)) {
+			return entrance;
+		}
+		if ("checkout".equals(name)) {
+			return checkout;
+		}
+		for (int i = 0; i < aisleNames.length; i++) {
+			if (aisleNames[i].equals(name)) {
+				return i + 2;
+			}
+		}
+		throw new IllegalArgumentException("No node " + name + " in the store layout");
+	}
+}
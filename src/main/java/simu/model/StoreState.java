@@ -0,0 +1,59 @@
+package simu.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of the customers present at each service point.
+ * Used to warm-start a simulation run from a non-empty store.
+ */
+public class StoreState {
+    private final Map<ServicePointType, List<Customer>> customers = new EnumMap<>(ServicePointType.class);
+    private final Map<ServicePointType, List<Double>> remainingServiceTimes = new EnumMap<>(ServicePointType.class);
+
+    /**
+     * Adds a customer to the end of a service point's queue.
+     *
+     * @param type The service point the customer is at
+     * @param customer The customer to add
+     */
+    public void addCustomer(ServicePointType type, Customer customer) {
+        customers.computeIfAbsent(type, t -> new ArrayList<>()).add(customer);
+    }
+
+    /**
+     * Gets the customers at a service point in queue order.
+     * The first customers are the ones being served.
+     *
+     * @param type The service point type
+     * @return The customers at the service point, or an empty list if there are none
+     */
+    public List<Customer> getCustomers(ServicePointType type) {
+        return customers.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Adds the service time left for the next customer being served at a service point.
+     * Remaining times are matched to the customers in queue order.
+     *
+     * @param type The service point type
+     * @param remainingTime The remaining service time
+     */
+    public void addRemainingServiceTime(ServicePointType type, double remainingTime) {
+        remainingServiceTimes.computeIfAbsent(type, t -> new ArrayList<>()).add(remainingTime);
+    }
+
+    /**
+     * Gets the service times left for the customers being served at a service point.
+     * Services without a known remaining time are sampled when the run starts.
+     *
+     * @param type The service point type
+     * @return The remaining service times, or an empty list if none are known
+     */
+    public List<Double> getRemainingServiceTimes(ServicePointType type) {
+        return remainingServiceTimes.getOrDefault(type, Collections.emptyList());
+    }
+}
@@ -0,0 +1,308 @@
+package simu.model;
+
+import eduni.distributions.ContinuousGenerator;
+import eduni.distributions.Geometric;
+import eduni.distributions.Poisson;
+import simu.data.SimulationConfig;
+import simu.framework.RandomStreams;
+import simu.framework.Trace;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Builds the initial store state for warm-started simulation runs.
+ * The state is either sampled from a steady-state queueing approximation of the store
+ * or restored from a state saved at the end of an earlier run, so that runs do not
+ * have to spend their first part warming up from an empty store.
+ */
+public class WarmStart {
+    private static final String STATE_DIR = "states";
+    private static final String FILE_EXTENSION = ".properties";
+
+    // Routing rules used when customers leave the shopping area, see CheckoutRouter
+    private static final int EXPRESS_ITEM_LIMIT = CheckoutRouter.EXPRESS_ITEM_LIMIT;
+    private static final double SELF_CHECKOUT_SHARE = CheckoutRouter.SELF_CHECKOUT_SHARE;
+
+    // Entrance service time mean used by MyEngine
+    private static final double ENTRANCE_SERVICE_MEAN = 1.0;
+
+    private final SimulationConfig config;
+    private final RandomStreams streams;
+    // Stream the sampled state is drawn from
+    private final ContinuousGenerator random;
+
+    /**
+     * Creates a warm-start helper for the given configuration.
+     *
+     * @param config The simulation configuration the store is modelled with
+     */
+    public WarmStart(SimulationConfig config) {
+        this(config, RandomStreams.getDefault());
+    }
+
+    /**
+     * Creates a warm-start helper for the given configuration that draws from the streams of a run.
+     *
+     * @param config The simulation configuration the store is modelled with
+     * @param streams The random streams of the run
+     */
+    public WarmStart(SimulationConfig config, RandomStreams streams) {
+        this.config = config;
+        this.streams = streams;
+        this.random = streams.get("warmstart");
+    }
+
+    /**
+     * Samples an initial store state from a steady-state approximation.
+     * Each service point is treated as an M/M/c queue whose arrival rate follows from the
+     * configured arrival rate and routing rules, and the number of customers at it is drawn
+     * from the stationary distribution of that queue. An unlimited shopping area is treated
+     * as an M/G/&infin; queue.
+     * Service points without a steady state (&rho; &ge; 1) are left empty.
+     *
+     * @return The sampled store state
+     */
+    public StoreState sampleSteadyState() {
+        StoreState state = new StoreState();
+        double arrivalRate = 1.0 / config.getArrivalParam();
+        double expressShare = expressCheckoutShare();
+        double otherRate = arrivalRate * (1 - expressShare);
+        double serviceParam = config.getServiceParam();
+
+        fill(state, ServicePointType.ENTRANCE, arrivalRate * ENTRANCE_SERVICE_MEAN, 1);
+        if (config.getShoppingServers() <= 0) {
+            fillInfiniteServer(state, ServicePointType.SHOPPING, arrivalRate * meanShoppingTime());
+        } else {
+            fill(state, ServicePointType.SHOPPING, arrivalRate * meanShoppingTime(), config.getShoppingServers());
+        }
+        fill(state, ServicePointType.REGULAR_CHECKOUT,
+                otherRate * (1 - SELF_CHECKOUT_SHARE) * serviceParam * config.getRegularMultiplier(),
+                config.getRegularServers());
+        fill(state, ServicePointType.EXPRESS_CHECKOUT,
+                arrivalRate * expressShare * serviceParam * config.getExpressMultiplier(),
+                config.getExpressServers());
+        fill(state, ServicePointType.SELF_CHECKOUT,
+                otherRate * SELF_CHECKOUT_SHARE * serviceParam * config.getSelfCheckoutMultiplier(),
+                config.getSelfCheckoutServers());
+        return state;
+    }
+
+    /**
+     * Adds a number of customers drawn from the M/M/c stationary distribution to a service point.
+     * With offered load a = &lambda; * E[S] and &rho; = a / c, the probability of n customers is
+     * proportional to a<sup>n</sup>/n! below c and to a<sup>c</sup>/c! * &rho;<sup>n-c</sup> from c on,
+     * so the tail is geometric.
+     *
+     * @param state The state to add the customers to
+     * @param type The service point type
+     * @param offeredLoad The offered load &lambda; * E[S] of the service point
+     * @param servers The number of servers at the service point
+     */
+    private void fill(StoreState state, ServicePointType type, double offeredLoad, int servers) {
+        double rho = offeredLoad / servers;
+        if (rho <= 0) {
+            return;
+        }
+        if (rho >= 1) {
+            Trace.out(Trace.Level.WAR, "Warm start: " + type + " has no steady state (utilisation "
+                    + String.format("%.2f", rho) + "), starting it empty");
+            return;
+        }
+
+        // Unnormalised probabilities of 0..c-1 customers, followed by the mass of the geometric tail
+        double[] weights = new double[servers + 1];
+        double term = 1.0;
+        double total = 0.0;
+        for (int n = 0; n < servers; n++) {
+            weights[n] = term;
+            total += term;
+            term *= offeredLoad / (n + 1);
+        }
+        weights[servers] = term / (1 - rho);
+        total += weights[servers];
+
+        double u = random.sample() * total;
+        long count = 0;
+        while (count < servers && u >= weights[(int) count]) {
+            u -= weights[(int) count];
+            count++;
+        }
+        if (count == servers) {
+            Geometric tail = new Geometric(1 - rho);
+            tail.setSource(random);
+            count += tail.sample() - 1;
+        }
+        for (long i = 0; i < count; i++) {
+            state.addCustomer(type, createCustomer(type));
+        }
+    }
+
+    /**
+     * Adds a Poisson distributed number of customers to an infinite-server service point,
+     * which is the M/G/&infin; stationary distribution with mean a = &lambda; * E[S].
+     * Each customer gets a uniformly distributed part of its shopping time left.
+     *
+     * @param state The state to add the customers to
+     * @param type The service point type
+     * @param offeredLoad The offered load &lambda; * E[S] of the service point
+     */
+    private void fillInfiniteServer(StoreState state, ServicePointType type, double offeredLoad) {
+        if (offeredLoad <= 0) {
+            return;
+        }
+        Poisson poisson = new Poisson(offeredLoad);
+        poisson.setSource(random);
+        long count = poisson.sample();
+        for (long i = 0; i < count; i++) {
+            Customer customer = createCustomer(type);
+            state.addCustomer(type, customer);
+            double shoppingTime = ServicePoint.SHOPPING_BASE_TIME + ServicePoint.SHOPPING_TIME_PER_ITEM * customer.getItems();
+            state.addRemainingServiceTime(type, random.sample() * shoppingTime);
+        }
+    }
+
+    /**
+     * Creates a customer whose type and items are consistent with the service point it is placed at.
+     *
+     * @param type The service point the customer is placed at
+     * @return The new customer
+     */
+    private Customer createCustomer(ServicePointType type) {
+        Customer customer = new Customer(config, streams);
+        boolean expressEligible = CheckoutRouter.isExpressEligible(customer);
+
+        if (type == ServicePointType.EXPRESS_CHECKOUT && !expressEligible) {
+            customer.setType(CustomerType.EXPRESS);
+            customer.setItems(randomItems(config.getMinExpressItems(), config.getMaxExpressItems()));
+        } else if ((type == ServicePointType.REGULAR_CHECKOUT || type == ServicePointType.SELF_CHECKOUT)
+                && expressEligible) {
+            customer.setType(CustomerType.REGULAR);
+            customer.setItems(randomItems(Math.max(EXPRESS_ITEM_LIMIT + 1, config.getMinRegularItems()),
+                    Math.max(EXPRESS_ITEM_LIMIT + 1, config.getMaxRegularItems())));
+        }
+        customer.setCurrentLocation(type);
+        return customer;
+    }
+
+    private int randomItems(int min, int max) {
+        return min + (int) (random.sample() * (max - min + 1));
+    }
+
+    /**
+     * Calculates the share of customers routed to the express checkout.
+     * Express customers and regular customers with few items use the express checkout.
+     *
+     * @return The probability that a customer uses the express checkout
+     */
+    private double expressCheckoutShare() {
+        double express = config.getExpressCustomerPercentage() / 100.0;
+        int min = config.getMinRegularItems();
+        int max = config.getMaxRegularItems();
+        double fewItems = Math.max(0, Math.min(max, EXPRESS_ITEM_LIMIT) - min + 1) / (double) (max - min + 1);
+        return express + (1 - express) * fewItems;
+    }
+
+    /**
+     * Calculates the mean shopping time, which depends on the number of items.
+     *
+     * @return The mean time spent in the shopping area
+     */
+    private double meanShoppingTime() {
+        double express = config.getExpressCustomerPercentage() / 100.0;
+        double meanItems = express * (config.getMinExpressItems() + config.getMaxExpressItems()) / 2.0
+                + (1 - express) * (config.getMinRegularItems() + config.getMaxRegularItems()) / 2.0;
+        return ServicePoint.SHOPPING_BASE_TIME + ServicePoint.SHOPPING_TIME_PER_ITEM * meanItems;
+    }
+
+    /**
+     * Loads a store state saved at the end of an earlier run.
+     * New customers are created with the saved types and item counts.
+     *
+     * @param stateName The name of the saved state
+     * @return The loaded store state
+     * @throws IOException If the state file cannot be read
+     * @throws FileNotFoundException If the specified state doesn't exist
+     */
+    public StoreState loadState(String stateName) throws IOException {
+        String filePath = STATE_DIR + File.separator + stateName + FILE_EXTENSION;
+        File stateFile = new File(filePath);
+
+        if (!stateFile.exists()) {
+            throw new FileNotFoundException("Store state file not found: " + filePath);
+        }
+
+        Properties props = new Properties();
+        try (InputStream is = new FileInputStream(stateFile)) {
+            props.load(is);
+        }
+
+        StoreState state = new StoreState();
+        for (ServicePointType type : ServicePointType.values()) {
+            String customers = props.getProperty(type + ".customers", "");
+            for (String entry : customers.split(",")) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                String[] parts = entry.split(":");
+                Customer customer = new Customer(config, streams);
+                customer.setType(CustomerType.valueOf(parts[0]));
+                customer.setItems(Integer.parseInt(parts[1]));
+                if (parts.length > 2) {
+                    customer.setCustomerClass(CustomerClass.valueOf(parts[2]));
+                }
+                customer.setCurrentLocation(type);
+                state.addCustomer(type, customer);
+            }
+            for (String remaining : props.getProperty(type + ".remaining", "").split(",")) {
+                if (!remaining.isBlank()) {
+                    state.addRemainingServiceTime(type, Double.parseDouble(remaining));
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Saves the current state of the service points so that later runs can be warm-started from it.
+     * The service points are expected in the order of {@link ServicePointType}.
+     *
+     * @param servicePoints The service points of the store
+     * @param stateName The name to give to the saved state
+     * @throws IOException If an error occurs while writing the file
+     */
+    public static void saveState(ServicePoint[] servicePoints, String stateName) throws IOException {
+        Files.createDirectories(Paths.get(STATE_DIR));
+
+        Properties props = new Properties();
+        ServicePointType[] types = ServicePointType.values();
+        for (int i = 0; i < servicePoints.length && i < types.length; i++) {
+            List<Customer> customers = servicePoints[i].getCustomers();
+            StringBuilder sb = new StringBuilder();
+            for (Customer customer : customers) {
+                if (sb.length() > 0) {
+                    sb.append(",");
+                }
+                sb.append(customer.getType()).append(":").append(customer.getItems())
+                        .append(":").append(customer.getCustomerClass());
+            }
+            props.setProperty(types[i] + ".customers", sb.toString());
+            StringBuilder remaining = new StringBuilder();
+            for (double time : servicePoints[i].getRemainingServiceTimes()) {
+                if (remaining.length() > 0) {
+                    remaining.append(",");
+                }
+                remaining.append(time);
+            }
+            props.setProperty(types[i] + ".remaining", remaining.toString());
+        }
+
+        String filePath = STATE_DIR + File.separator + stateName + FILE_EXTENSION;
+        try (OutputStream os = new FileOutputStream(filePath)) {
+            props.store(os, "Store state " + stateName);
+        }
+    }
+}
@@ -34,7 +34,7 @@ public class CSVReport {
         try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
             // Write header if the file is new
             if (!fileExists) {
-                writer.println("customer_id,customer_type,arrival_time,removal_time,total_time,items,mean_service_time(min)");
+                writer.println("customer_id,customer_type,arrival_time,removal_time,total_time,items,mean_service_time(min),customer_class,waiting_time");
             }
 
             double arrivalTime = customer.getArrivalTime();
@@ -46,16 +46,17 @@ public class CSVReport {
             String totalTimeFormatted = convertToTimeFormat(totalTime);
             int meanServiceTimeInt = (int) meanServiceTime;
 
-            writer.printf("%d,%s,%s,%s,%s,%d,%d%n",
+            writer.printf("%d,%s,%s,%s,%s,%d,%d,%s,%s%n",
                     customer.getId(),
                     customer.getType().toString(),
                     arrivalTimeFormatted,
                     removalTimeFormatted,
                     totalTimeFormatted,
                     customer.getItems(),
-                    meanServiceTimeInt
+                    meanServiceTimeInt,
+                    customer.getCustomerClass(),
+                    convertToTimeFormat(customer.getWaitingTime())
             );
-            sortCsvByCustomerId();
 
         } catch (IOException e) {
             System.err.println("Error writing report to CSV: " + e.getMessage());
@@ -71,6 +72,7 @@ public class CSVReport {
         return String.format("%02d:%02d:%02d", hours, minutes, seconds);
     }
 
+    // Sorts the report by customer id, called once at the end of a run
     public static void sortCsvByCustomerId() {
         File file = new File(csvFile);
         if (!file.exists()) {
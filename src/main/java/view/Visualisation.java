@@ -1,5 +1,7 @@
 package view;
 
+import eduni.distributions.ContinuousGenerator;
+import eduni.distributions.Xoshiro256PlusPlus;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -24,6 +26,8 @@ public class Visualisation extends Canvas implements IVisualisation {
     private Map<ServicePointType, Rectangle2D> servicePoints;
     private Map<ServicePointType, Integer> queueSizes;
     private Map<Integer, CustomerVisual> customers;
+    // Placement is cosmetic, so it has its own stream and never shifts the draws of the simulation
+    private final ContinuousGenerator placement = new Xoshiro256PlusPlus(System.nanoTime());
 
     /**
      * Creates a new visualization canvas with the specified dimensions.
@@ -290,8 +294,8 @@ public class Visualisation extends Canvas implements IVisualisation {
 
         // Place at random position within the service point
         double padding = 10; // Keep away from edges
-        double x = rect.getMinX() + padding + Math.random() * (rect.getWidth() - 40);
-        double y = rect.getMinY() + padding + Math.random() * (rect.getHeight() - 40);
+        double x = rect.getMinX() + padding + placement.sample() * (rect.getWidth() - 40);
+        double y = rect.getMinY() + padding + placement.sample() * (rect.getHeight() - 40);
 
         customer.setX(x);
         customer.setY(y);
@@ -0,0 +1,77 @@
+package eduni.distributions;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AliasTableTest {
+
+    @Test
+    void testDiscreteFollowsWeights() {
+        double[] weights = {5, 0, 1, 10, 4};
+        Discrete discrete = new Discrete(new long[] {10, 20, 30, 40, 50}, weights, 31);
+        int n = 200000;
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < n; i++) {
+            counts[(int) (discrete.sample() / 10 - 1)]++;
+        }
+        // Chi-square with 3 degrees of freedom over the values with positive weight, 16.27 at the 0.1% level
+        double chiSquare = 0;
+        for (int k = 0; k < weights.length; k++) {
+            double expected = n * weights[k] / 20;
+            if (expected == 0) {
+                assertEquals(0, counts[k], "A value with weight 0 should never be drawn");
+            } else {
+                chiSquare += (counts[k] - expected) * (counts[k] - expected) / expected;
+            }
+        }
+        assertTrue(chiSquare < 16.27, "Chi-square " + chiSquare);
+    }
+
+    @Test
+    void testDiscreteValueAtCoversEveryColumn() {
+        Discrete uniform = new Discrete(new double[] {1, 1, 1, 1});
+        assertEquals(0, uniform.valueAt(0.0));
+        assertEquals(2, uniform.valueAt(0.6));
+        assertEquals(3, uniform.valueAt(0.9999999));
+        assertThrows(ParameterException.class, () -> new Discrete(new double[] {0, 0}));
+        assertThrows(ParameterException.class, () -> new Discrete(new double[] {1, -1}));
+    }
+
+    @Test
+    void testEmpiricalHistogramIsPiecewiseLinear() {
+        // Half of the mass on [0, 1), half on [1, 5)
+        Empirical empirical = new Empirical(new double[] {0, 1, 5}, new double[] {1, 1}, 8);
+        int n = 100000;
+        int belowOne = 0;
+        int belowThree = 0;
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            double x = empirical.sample();
+            assertTrue(x >= 0 && x <= 5);
+            if (x < 1) belowOne++;
+            if (x < 3) belowThree++;
+            sum += x;
+        }
+        assertEquals(0.5, (double) belowOne / n, 0.01);
+        assertEquals(0.75, (double) belowThree / n, 0.01, "The CDF should be linear within a bin");
+        assertEquals(0.5 * 0.5 + 0.5 * 3.0, sum / n, 0.02);
+    }
+
+    @Test
+    void testEmpiricalFromData() {
+        Empirical empirical = Empirical.fromData(new double[] {4, 1, 3, 2});
+        assertEquals(1.0, empirical.valueAt(0.0, 0.0), 1e-12);
+        assertEquals(2.5, empirical.valueAt(0.5, 0.5), 1e-12, "The median of 1..4 lies halfway between 2 and 3");
+        assertEquals(4.0, empirical.valueAt(0.99, 1.0), 1e-12);
+        assertThrows(ParameterException.class, () -> new Empirical(new double[] {0, 2, 1}, new double[] {1, 1}));
+    }
+
+    @Test
+    void testSeededEmpiricalUsesNoDefaultSeed() {
+        SeedGenerator seeds = SeedGenerator.getDefaultSeedGenerator();
+        seeds.sample();
+        long before = seeds.getSeed();
+        new Empirical(new double[] { 0.0, 1.0, 3.0 }, new double[] { 1.0, 2.0 }, 5);
+        assertEquals(before, seeds.getSeed(), "A seeded generator should not take a seed from the SeedGenerator");
+    }
+}
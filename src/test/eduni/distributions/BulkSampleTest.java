@@ -0,0 +1,49 @@
+package eduni.distributions;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkSampleTest {
+
+    private static void assertSameAsSequential(ContinuousGenerator sequential, ContinuousGenerator bulk, String name) {
+        double[] out = new double[1003];
+        bulk.sample(out, 2, 600);
+        bulk.sample(out, 602, 401);
+        for (int i = 2; i < out.length; i++) {
+            assertEquals(sequential.sample(), out[i], name + " sample " + i);
+        }
+        assertEquals(0.0, out[0]);
+        assertEquals(0.0, out[1], "Nothing should be written before the offset");
+    }
+
+    @Test
+    void testBulkSamplesMatchSequentialSamples() {
+        for (RandomBackend backend : RandomBackend.values()) {
+            Negexp negexp = new Negexp(3.0, 99);
+            Negexp negexpBulk = new Negexp(3.0, 99);
+            negexp.setSource(backend.create(99));
+            negexpBulk.setSource(backend.create(99));
+            assertSameAsSequential(negexp, negexpBulk, backend + " negexp");
+
+            Uniform uniform = new Uniform(2.0, 5.0, 99);
+            Uniform uniformBulk = new Uniform(2.0, 5.0, 99);
+            uniform.setSource(backend.create(99));
+            uniformBulk.setSource(backend.create(99));
+            assertSameAsSequential(uniform, uniformBulk, backend + " uniform");
+
+            Normal normal = new Normal(10.0, 4.0, 99);
+            Normal normalBulk = new Normal(10.0, 4.0, 99);
+            normal.setSource(backend.create(99));
+            normalBulk.setSource(backend.create(99));
+            assertSameAsSequential(normal, normalBulk, backend + " normal");
+        }
+    }
+
+    @Test
+    void testDefaultBulkSampleAndBounds() {
+        Pareto pareto = new Pareto(1.0, 3.0, 5);
+        Pareto paretoBulk = new Pareto(1.0, 3.0, 5);
+        assertSameAsSequential(pareto, paretoBulk, "pareto");
+        assertThrows(IndexOutOfBoundsException.class, () -> new Negexp(1.0, 5).sample(new double[4], 2, 3));
+    }
+}
@@ -0,0 +1,111 @@
+package eduni.distributions;
+
+import java.util.Arrays;
+import java.util.function.DoubleSupplier;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GammaTest {
+    private static final int N = 50000;
+    // two-sample Kolmogorov-Smirnov critical value at the 0.1% level
+    private static final double KS_LIMIT = 1.95 * Math.sqrt(2.0 / N);
+
+    private static double[] draw(DoubleSupplier sampler) {
+        double[] samples = new double[N];
+        for (int i = 0; i < N; i++) samples[i] = sampler.getAsDouble();
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    /** Largest distance between the empirical CDFs of two sorted samples of equal size. */
+    private static double ksDistance(double[] a, double[] b) {
+        int i = 0, j = 0;
+        double d = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] <= b[j]) i++;
+            else j++;
+            d = Math.max(d, Math.abs(i - j) / (double) N);
+        }
+        return d;
+    }
+
+    private static double mean(double[] samples) {
+        return Arrays.stream(samples).average().orElseThrow();
+    }
+
+    private static void assertSameDistribution(String name, DoubleSupplier current, DoubleSupplier classic) {
+        double d = ksDistance(draw(current), draw(classic));
+        assertTrue(d < KS_LIMIT, name + " KS distance " + d);
+    }
+
+    @Test
+    void testGammaMatchesClassic() {
+        Distributions current = new Distributions(11), classic = new Distributions(12);
+        for (double shape : new double[] { 0.3, 1.0, 2.5, 7.0, 40.0 }) {
+            assertSameDistribution("gamma " + shape,
+                    () -> current.gamma(2.0, shape), () -> classic.gammaClassic(2.0, shape));
+        }
+        assertEquals(2.0 * 2.5, mean(draw(() -> current.gamma(2.0, 2.5))), 0.05);
+    }
+
+    @Test
+    void testErlangMatchesClassic() {
+        Distributions current = new Distributions(21), classic = new Distributions(22);
+        for (double shape : new double[] { 1, 3, 12 }) {
+            assertSameDistribution("erlang " + shape,
+                    () -> current.erlang(0.5, shape), () -> classic.erlangClassic(0.5, shape));
+        }
+    }
+
+    /** Beta(a, b) for integer shapes is the a-th smallest of a+b-1 uniforms. */
+    private static double orderStatistic(Distributions d, int a, int b) {
+        double[] u = new double[a + b - 1];
+        d.uniform(0.0, 1.0, u, 0, u.length);
+        Arrays.sort(u);
+        return u[a - 1];
+    }
+
+    @Test
+    void testBetaMatchesReference() {
+        Distributions current = new Distributions(31), reference = new Distributions(32);
+        double[][] small = { { 0.5, 0.5 }, { 0.3, 0.9 } };
+        for (double[] ab : small) {
+            assertSameDistribution("beta " + ab[0] + "," + ab[1],
+                    () -> current.beta(ab[0], ab[1]), () -> reference.betaClassic(ab[0], ab[1]));
+        }
+        int[][] integer = { { 2, 5 }, { 1, 3 }, { 9, 4 } };
+        for (int[] ab : integer) {
+            assertSameDistribution("beta " + ab[0] + "," + ab[1],
+                    () -> current.beta(ab[0], ab[1]), () -> orderStatistic(reference, ab[0], ab[1]));
+        }
+        // mixed shapes, which neither reference covers
+        double[] samples = draw(() -> current.beta(0.8, 3.0));
+        double mean = mean(samples);
+        double variance = Arrays.stream(samples).map(x -> (x - mean) * (x - mean)).sum() / (N - 1);
+        assertEquals(0.8 / 3.8, mean, 0.003);
+        assertEquals(0.8 * 3.0 / (3.8 * 3.8 * 4.8), variance, 0.001);
+    }
+
+    @Test
+    void testChiSquareAndF() {
+        Distributions current = new Distributions(41), classic = new Distributions(42);
+        for (long k : new long[] { 1, 4, 25 }) {
+            assertSameDistribution("chisquare " + k,
+                    () -> current.chisquare(k), () -> classic.chisquareClassic(k));
+            assertEquals(k, mean(draw(() -> current.chisquare(k))), 0.05 * k + 0.02);
+        }
+        // E[F(5, 10)] = 10 / 8
+        assertEquals(1.25, mean(draw(() -> current.f(5, 10))), 0.03);
+    }
+
+    @Test
+    void testErlangGeneratorUsesShapeAndScale() {
+        Erlang erlang = new Erlang(3.0, 2.0, 5);
+        double[] samples = draw(erlang::sample);
+        double mean = mean(samples);
+        double variance = Arrays.stream(samples).map(x -> (x - mean) * (x - mean)).sum() / (N - 1);
+        assertEquals(6.0, mean, 0.1);
+        assertEquals(12.0, variance, 0.5);
+    }
+}
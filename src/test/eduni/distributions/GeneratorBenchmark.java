@@ -0,0 +1,92 @@
+package eduni.distributions;
+
+/**
+ * Measures uniform, exponential and normal draws per second, one at a time, in bulk and with the ziggurat method, Poisson and binomial draws with large parameters, Erlang and beta draws, and direct against tabulated sampling, for each random backend.
+ * Run with {@code java eduni.distributions.GeneratorBenchmark [draws]}.
+ */
+public class GeneratorBenchmark {
+
+    public static void main(String[] args) {
+        int draws = args.length > 0 ? Integer.parseInt(args[0]) : 50_000_000;
+        for (int round = 0; round < 3; round++) {
+            for (RandomBackend backend : RandomBackend.values()) {
+                ContinuousGenerator uniform = backend.create(12345);
+                report(backend + " uniform", draws, () -> uniform.sample());
+
+                Negexp negexp = new Negexp(1.0, 12345);
+                negexp.setSource(backend.create(12345));
+                report(backend + " negexp", draws, negexp::sample);
+                reportBulk(backend + " negexp bulk", draws, negexp);
+
+                Normal normal = new Normal(0.0, 1.0, 12345);
+                normal.setSource(backend.create(12345));
+                report(backend + " normal", draws, normal::sample);
+                reportBulk(backend + " normal bulk", draws, normal);
+
+                Negexp negexpZiggurat = new Negexp(1.0, 12345);
+                negexpZiggurat.setSource(backend.create(12345));
+                negexpZiggurat.setZiggurat(true);
+                report(backend + " negexp ziggurat", draws, negexpZiggurat::sample);
+
+                Normal normalZiggurat = new Normal(0.0, 1.0, 12345);
+                normalZiggurat.setSource(backend.create(12345));
+                normalZiggurat.setZiggurat(true);
+                report(backend + " normal ziggurat", draws, normalZiggurat::sample);
+
+                Poisson poisson = new Poisson(1000.0, 12345);
+                poisson.setSource(backend.create(12345));
+                report(backend + " poisson(1000)", draws / 10, () -> poisson.sample());
+
+                Binomial binomial = new Binomial(0.3, 100000, 12345);
+                binomial.setSource(backend.create(12345));
+                report(backend + " binomial(0.3, 1e5)", draws / 10, () -> binomial.sample());
+
+                Erlang erlang = new Erlang(20.0, 1.0, 12345);
+                erlang.setSource(backend.create(12345));
+                report(backend + " erlang(20)", draws / 10, erlang::sample);
+
+                Beta beta = new Beta(2.0, 5.0, 12345);
+                beta.setSource(backend.create(12345));
+                report(backend + " beta(2, 5)", draws / 10, beta::sample);
+
+                Generator[][] pairs = {
+                    { new LogNormal(1.0, 0.25, 12345), Tabulated.lognormal(1.0, 0.25, 12345) },
+                    { new Weibull(2.0, 0.7, 12345), Tabulated.weibull(2.0, 0.7, 12345) },
+                    { new Pareto(1.5, 2.5, 12345), Tabulated.pareto(1.5, 2.5, 12345) },
+                    { new Beta(2.0, 5.0, 12345), Tabulated.beta(2.0, 5.0, 12345) }
+                };
+                for (Generator[] pair : pairs) {
+                    String name = pair[0].getClass().getSimpleName().toLowerCase();
+                    for (Generator generator : pair) {
+                        generator.setSource(backend.create(12345));
+                        ContinuousGenerator continuous = (ContinuousGenerator) generator;
+                        report(backend + " " + name + (generator instanceof Tabulated ? " table" : ""), draws / 10,
+                                continuous::sample);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reportBulk(String name, int draws, ContinuousGenerator generator) {
+        double[] buffer = new double[1024];
+        double sink = 0.0;
+        long start = System.nanoTime();
+        for (int done = 0; done < draws; done += buffer.length) {
+            generator.sample(buffer, 0, buffer.length);
+            sink += buffer[done & 1023];
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-26s %8.1f M draws/s (checksum %.3f)%n", name, draws / seconds / 1e6, sink);
+    }
+
+    private static void report(String name, int draws, java.util.function.DoubleSupplier generator) {
+        double sink = 0.0;
+        long start = System.nanoTime();
+        for (int i = 0; i < draws; i++) {
+            sink += generator.getAsDouble();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-26s %8.1f M draws/s (checksum %.3f)%n", name, draws / seconds / 1e6, sink / draws);
+    }
+}
@@ -0,0 +1,109 @@
+package eduni.distributions;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoissonBinomialTest {
+    private static final int N = 100000;
+
+    /** log(k!) summed term by term. */
+    private static double exactLogFactorial(long k) {
+        double sum = 0;
+        for (long i = 2; i <= k; i++) {
+            sum += Math.log(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Chi-square statistic of the samples against a probability mass function, over the values
+     * whose expected count is at least 20, with the rest pooled into one cell.
+     *
+     * @return The statistic divided by its degrees of freedom, about 1 for a good fit
+     */
+    private static double chiSquarePerDegree(long[] samples, java.util.function.LongToDoubleFunction logPmf, long from, long to) {
+        int cells = (int) (to - from + 1);
+        int[] counts = new int[cells];
+        int outside = 0;
+        for (long x : samples) {
+            if (x >= from && x <= to) counts[(int) (x - from)]++;
+            else outside++;
+        }
+        double chiSquare = 0;
+        double pooledExpected = 0;
+        int pooledCount = outside;
+        int degrees = 0;
+        double inside = 0;
+        for (int c = 0; c < cells; c++) {
+            double expected = N * Math.exp(logPmf.applyAsDouble(from + c));
+            inside += expected;
+            if (expected >= 20) {
+                chiSquare += (counts[c] - expected) * (counts[c] - expected) / expected;
+                degrees++;
+            } else {
+                pooledExpected += expected;
+                pooledCount += counts[c];
+            }
+        }
+        pooledExpected += N - inside;
+        if (pooledExpected > 0) {
+            chiSquare += (pooledCount - pooledExpected) * (pooledCount - pooledExpected) / pooledExpected;
+        }
+        return chiSquare / degrees;
+    }
+
+    @Test
+    void testLogFactorial() {
+        for (long k = 0; k < 300; k++) {
+            assertEquals(exactLogFactorial(k), Distributions.logFactorial(k), 1e-9 * Math.max(1, exactLogFactorial(k)), "log " + k + "!");
+        }
+    }
+
+    @Test
+    void testPoissonMatchesDistribution() {
+        for (double mean : new double[] {3.0, 10.0, 47.5, 1000.0}) {
+            Poisson poisson = new Poisson(mean, 4242);
+            long[] samples = new long[N];
+            for (int i = 0; i < N; i++) samples[i] = poisson.sample();
+            double ratio = chiSquarePerDegree(samples,
+                    k -> -mean + k * Math.log(mean) - exactLogFactorial(k),
+                    Math.max(0, (long) (mean - 6 * Math.sqrt(mean)) - 3), (long) (mean + 6 * Math.sqrt(mean)) + 3);
+            assertTrue(ratio < 1.5, "Poisson(" + mean + ") chi-square per degree " + ratio);
+        }
+    }
+
+    @Test
+    void testBinomialMatchesDistribution() {
+        double[][] cases = {{0.3, 20}, {0.002, 2000}, {0.3, 1000}, {0.9, 1000}, {0.5, 100000}};
+        for (double[] c : cases) {
+            double p = c[0];
+            int n = (int) c[1];
+            Binomial binomial = new Binomial(p, n, 777);
+            long[] samples = new long[N];
+            for (int i = 0; i < N; i++) {
+                samples[i] = binomial.sample();
+                assertTrue(samples[i] >= 0 && samples[i] <= n);
+            }
+            double sd = Math.sqrt(n * p * (1 - p));
+            double ratio = chiSquarePerDegree(samples,
+                    k -> exactLogFactorial(n) - exactLogFactorial(k) - exactLogFactorial(n - k)
+                            + k * Math.log(p) + (n - k) * Math.log(1 - p),
+                    Math.max(0, (long) (n * p - 6 * sd) - 3), Math.min(n, (long) (n * p + 6 * sd) + 3));
+            assertTrue(ratio < 1.5, "Binomial(" + p + ", " + n + ") chi-square per degree " + ratio);
+        }
+    }
+
+    @Test
+    void testSmallParametersKeepTheirSequence() {
+        // Below the switching points the original methods are kept, so existing seeds give the same numbers
+        Distributions d = new Distributions(99);
+        RandomGenerator u = new RandomGenerator(99);
+        long x = -1;
+        double product = 1;
+        do {
+            x++;
+            product *= u.sample();
+        } while (Math.exp(-4.0) < product);
+        assertEquals(x, d.poisson(4.0));
+    }
+}
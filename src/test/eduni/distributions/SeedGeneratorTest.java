@@ -0,0 +1,63 @@
+package eduni.distributions;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeedGeneratorTest {
+
+    /** The seeds as the generator produced them before skip-ahead, stepping the LCG one draw at a time. */
+    private static long[] loopSeeds(long root, int spacing, int count) {
+        RandomGenerator source = new RandomGenerator(root);
+        long[] seeds = new long[count];
+        seeds[0] = source.getSeed();
+        for (int s = 1; s < count; s++) {
+            for (int i = 0; i < spacing; i++) {
+                source.nextLong();
+            }
+            seeds[s] = source.getSeed();
+        }
+        return seeds;
+    }
+
+    @Test
+    void testSameSeedsAsLoop() {
+        for (int spacing : new int[] {1, 7, 1000, 100000}) {
+            long[] expected = loopSeeds(4851L, spacing, 25);
+            SeedGenerator generator = new SeedGenerator(4851L, spacing);
+            for (int s = 0; s < expected.length; s++) {
+                assertEquals(expected[s], generator.sample(), "Seed " + s + " with spacing " + spacing);
+            }
+        }
+    }
+
+    @Test
+    void testSkipMatchesRepeatedSampling() {
+        SeedGenerator stepped = new SeedGenerator(123456789L, 100000);
+        for (int i = 0; i < 300; i++) {
+            stepped.sample();
+        }
+        SeedGenerator skipped = new SeedGenerator(123456789L, 100000);
+        skipped.skip(300);
+        assertEquals(stepped.sample(), skipped.sample());
+
+        skipped.sample();
+        stepped.sample();
+        skipped.skip(1);
+        stepped.sample();
+        assertEquals(stepped.sample(), skipped.sample(), "Skipping after sampling should step whole spacings");
+    }
+
+    @Test
+    void testRandomGeneratorSkipMatchesNextLong() {
+        RandomGenerator stepped = new RandomGenerator(42);
+        RandomGenerator skipped = new RandomGenerator(42);
+        for (int i = 0; i < 123457; i++) {
+            stepped.nextLong();
+        }
+        skipped.skip(123457);
+        assertEquals(stepped.getSeed(), skipped.getSeed());
+        skipped.skip(2147483646L);
+        assertEquals(stepped.getSeed(), skipped.getSeed(), "Skipping the full period should come back to the same state");
+        assertThrows(IllegalArgumentException.class, () -> skipped.skip(-1));
+    }
+}
@@ -0,0 +1,107 @@
+package eduni.distributions;
+
+import java.util.Arrays;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabulatedTest {
+    private static final int N = 50000;
+    // two-sample Kolmogorov-Smirnov critical value at the 0.1% level
+    private static final double KS_LIMIT = 1.95 * Math.sqrt(2.0 / N);
+
+    /** Feeds a generator a chosen sequence of uniform numbers. */
+    private static class FixedSource implements ContinuousGenerator {
+        private final double[] values;
+        private int next;
+
+        FixedSource(double[] values) { this.values = values; }
+
+        public double sample() { return values[next++]; }
+        public void setSeed(long seed) {}
+        public long getSeed() { return 0; }
+        public void reseed() {}
+    }
+
+    private static double[] draw(DoubleSupplier sampler) {
+        double[] samples = new double[N];
+        for (int i = 0; i < N; i++) samples[i] = sampler.getAsDouble();
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static double ksDistance(double[] a, double[] b) {
+        int i = 0, j = 0;
+        double d = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] <= b[j]) i++;
+            else j++;
+            d = Math.max(d, Math.abs(i - j) / (double) N);
+        }
+        return d;
+    }
+
+    private static void assertSameDistribution(String name, ContinuousGenerator tabulated, ContinuousGenerator direct) {
+        double d = ksDistance(draw(tabulated::sample), draw(direct::sample));
+        assertTrue(d < KS_LIMIT, name + " KS distance " + d);
+    }
+
+    @Test
+    void testMatchesDirectSampling() {
+        assertSameDistribution("lognormal", Tabulated.lognormal(1.0, 0.25, 1), new LogNormal(1.0, 0.25, 2));
+        assertSameDistribution("weibull", Tabulated.weibull(2.0, 0.7, 3), new Weibull(2.0, 0.7, 4));
+        assertSameDistribution("beta", Tabulated.beta(2.0, 5.0, 5), new Beta(2.0, 5.0, 6));
+        assertSameDistribution("beta", Tabulated.beta(0.5, 0.5, 7), new Beta(0.5, 0.5, 8));
+        assertSameDistribution("pareto", Tabulated.pareto(1.5, 2.5, 9), new Pareto(1.5, 2.5, 10));
+    }
+
+    @Test
+    void testErrorStaysWithinTolerance() {
+        DoubleUnaryOperator quantile = p -> 2.0 * Math.pow(-Math.log1p(-p), 1 / 0.6);
+        double[] uniforms = new double[N];
+        Distributions uniform = new Distributions(11);
+        for (int i = 0; i < N; i++) uniforms[i] = uniform.uniform(0.0, 1.0);
+        // the extreme tails too
+        uniforms[0] = 1e-12;
+        uniforms[1] = 1 - 1e-12;
+        uniforms[2] = 0.5 / Tabulated.CELLS;
+
+        Tabulated tabulated = new Tabulated("test weibull(2.0,0.6)", quantile, 12);
+        tabulated.setSource(new FixedSource(uniforms));
+        for (double u : uniforms) {
+            double exact = quantile.applyAsDouble(u);
+            assertEquals(exact, tabulated.sample(), 1.01 * Tabulated.TOLERANCE * exact, "at " + u);
+        }
+        assertTrue(tabulated.getMaxError() <= Tabulated.TOLERANCE);
+        assertTrue(tabulated.getExactShare() < 0.01, "exact share " + tabulated.getExactShare());
+    }
+
+    @Test
+    void testTablesAreSharedByKey() {
+        Tabulated first = new Tabulated("test shared", p -> 1 + p, 1);
+        Tabulated second = new Tabulated("test shared", p -> 100 + p, 1);
+        assertEquals(first.sample(), second.sample());
+        assertTrue(first.sample() < 2);
+    }
+
+    @Test
+    void testQuantileHelpers() {
+        assertEquals(1.959963985, Tabulated.normalQuantile(0.975), 1e-8);
+        assertEquals(-1.959963985, Tabulated.normalQuantile(0.025), 1e-8);
+        // Beta(2, 2) has CDF 3x^2 - 2x^3
+        double x = Tabulated.betaQuantile(0.2, 2.0, 2.0);
+        assertEquals(0.2, 3 * x * x - 2 * x * x * x, 1e-12);
+        assertEquals(0.5, Tabulated.betaQuantile(0.5, 3.0, 3.0), 1e-12);
+        // Beta(1, b) has CDF 1 - (1-x)^b
+        assertEquals(1 - Math.pow(0.9, 1 / 4.0), Tabulated.betaQuantile(0.1, 1.0, 4.0), 1e-12);
+    }
+
+    @Test
+    void testRejectsInvalidParameters() {
+        assertThrows(ParameterException.class, () -> Tabulated.weibull(0.0, 1.0, 1));
+        assertThrows(ParameterException.class, () -> Tabulated.beta(1.0, -1.0, 1));
+        assertThrows(ParameterException.class, () -> Tabulated.pareto(1.0, 0.0, 1));
+    }
+}
@@ -0,0 +1,60 @@
+package eduni.distributions;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Xoshiro256PlusPlusTest {
+
+    @Test
+    void testMatchesReferenceSequence() {
+        // Reference values from the C implementation with the state expanded from seed 42 by SplitMix64
+        Xoshiro256PlusPlus generator = new Xoshiro256PlusPlus(42);
+        assertEquals(-3425465463722317665L, generator.nextLong());
+        assertEquals(5881210131331364753L, generator.nextLong());
+        assertEquals(-297100157724070516L, generator.nextLong());
+    }
+
+    @Test
+    void testJumpMatchesReference() {
+        Xoshiro256PlusPlus generator = new Xoshiro256PlusPlus(42);
+        generator.jump();
+        assertEquals(-4560188475093345563L, generator.nextLong());
+        assertEquals(6751983904886340403L, generator.nextLong());
+    }
+
+    @Test
+    void testSplitContinuesAndJumpsAhead() {
+        Xoshiro256PlusPlus generator = new Xoshiro256PlusPlus(42);
+        Xoshiro256PlusPlus stream = generator.split();
+        assertEquals(-3425465463722317665L, stream.nextLong(), "The split stream should continue the sequence");
+        assertEquals(-4560188475093345563L, generator.nextLong(), "The generator should have jumped ahead");
+    }
+
+    @Test
+    void testSamplesAreStrictlyInsideUnitInterval() {
+        Xoshiro256PlusPlus generator = new Xoshiro256PlusPlus(7);
+        double sum = 0.0;
+        int n = 100000;
+        for (int i = 0; i < n; i++) {
+            double u = generator.sample();
+            assertTrue(u > 0.0 && u < 1.0);
+            sum += u;
+        }
+        assertEquals(0.5, sum / n, 0.005);
+    }
+
+    @Test
+    void testDefaultBackendIsUsedByNewGenerators() {
+        assertEquals(RandomBackend.LCG, Distributions.getDefaultBackend());
+        try {
+            Distributions.setDefaultBackend(RandomBackend.XOSHIRO256PP);
+            Negexp a = new Negexp(5.0, 11);
+            Negexp b = new Negexp(5.0, 11);
+            assertTrue(a.getSource() instanceof Xoshiro256PlusPlus);
+            assertEquals(a.sample(), b.sample(), "The same seed should give the same sequence");
+        } finally {
+            Distributions.setDefaultBackend(RandomBackend.LCG);
+        }
+        assertTrue(new Negexp(5.0, 11).getSource() instanceof RandomGenerator);
+    }
+}
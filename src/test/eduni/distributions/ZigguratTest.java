@@ -0,0 +1,91 @@
+package eduni.distributions;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZigguratTest {
+    private static final int N = 200000;
+    // Kolmogorov-Smirnov critical value at the 0.1% level
+    private static final double KS_LIMIT = 1.95 / Math.sqrt(N);
+
+    /** Standard normal CDF through erf, Abramowitz and Stegun 7.1.26, error below 1.5e-7. */
+    private static double normalCdf(double x) {
+        double z = Math.abs(x) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * z);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))))
+                * Math.exp(-z * z);
+        return x >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+
+    private interface Cdf {
+        double at(double x);
+    }
+
+    private static double ksDistance(double[] samples, Cdf cdf) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double d = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            double p = cdf.at(sorted[i]);
+            d = Math.max(d, Math.max(p - (double) i / sorted.length, (double) (i + 1) / sorted.length - p));
+        }
+        return d;
+    }
+
+    @Test
+    void testNormalMatchesDistribution() {
+        for (RandomBackend backend : RandomBackend.values()) {
+            Normal normal = new Normal(0.0, 1.0, 2024);
+            normal.setSource(backend.create(2024));
+            normal.setZiggurat(true);
+            double[] samples = new double[N];
+            normal.sample(samples, 0, N);
+
+            double mean = Arrays.stream(samples).average().orElseThrow();
+            double variance = Arrays.stream(samples).map(x -> (x - mean) * (x - mean)).sum() / (N - 1);
+            long tail = Arrays.stream(samples).filter(x -> Math.abs(x) > 3.442619855899).count();
+            assertEquals(0.0, mean, 0.01, backend + " mean");
+            assertEquals(1.0, variance, 0.015, backend + " variance");
+            // P(|Z| > R) = 5.76e-4, about 115 of 200000
+            assertTrue(tail > 70 && tail < 165, backend + " samples in the tail: " + tail);
+            assertTrue(ksDistance(samples, ZigguratTest::normalCdf) < KS_LIMIT, backend + " KS distance");
+        }
+    }
+
+    @Test
+    void testNegexpMatchesDistribution() {
+        for (RandomBackend backend : RandomBackend.values()) {
+            Negexp negexp = new Negexp(2.0, 77);
+            negexp.setSource(backend.create(77));
+            negexp.setZiggurat(true);
+            double[] samples = new double[N];
+            for (int i = 0; i < N; i++) {
+                samples[i] = negexp.sample();
+                assertTrue(samples[i] >= 0);
+            }
+            double mean = Arrays.stream(samples).average().orElseThrow();
+            double variance = Arrays.stream(samples).map(x -> (x - mean) * (x - mean)).sum() / (N - 1);
+            assertEquals(2.0, mean, 0.02, backend + " mean");
+            assertEquals(4.0, variance, 0.1, backend + " variance");
+            assertTrue(ksDistance(samples, x -> 1 - Math.exp(-x / 2.0)) < KS_LIMIT, backend + " KS distance");
+        }
+    }
+
+    @Test
+    void testZigguratIsReproducibleAndSelectable() {
+        Negexp a = new Negexp(1.0, 5);
+        Negexp b = new Negexp(1.0, 5);
+        Negexp inversion = new Negexp(1.0, 5);
+        a.setZiggurat(true);
+        b.setZiggurat(true);
+        assertFalse(inversion.isZiggurat(), "Inversion should stay the default");
+        double[] bulk = new double[10];
+        b.sample(bulk, 0, bulk.length);
+        for (double x : bulk) {
+            assertEquals(a.sample(), x);
+        }
+        assertNotEquals(new Negexp(1.0, 5).sample(), bulk[0]);
+    }
+}
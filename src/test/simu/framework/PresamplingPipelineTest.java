@@ -0,0 +1,63 @@
+package simu.framework;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import eduni.distributions.ContinuousGenerator;
+import eduni.distributions.Negexp;
+import eduni.distributions.Normal;
+import eduni.distributions.RandomBackend;
+
+class PresamplingPipelineTest {
+
+    @Test
+    void testPresampledValuesMatchDirectDraws() {
+        PresamplingPipeline pipeline = new PresamplingPipeline();
+        for (RandomBackend backend : RandomBackend.values()) {
+            Negexp direct = new Negexp(4.0, 17);
+            Negexp ahead = new Negexp(4.0, 17);
+            direct.setSource(backend.create(17));
+            ahead.setSource(backend.create(17));
+            Normal directNormal = new Normal(10.0, 2.0, 18);
+            Normal aheadNormal = new Normal(10.0, 2.0, 18);
+            directNormal.setSource(backend.create(18));
+            aheadNormal.setSource(backend.create(18));
+            ContinuousGenerator presampled = pipeline.wrap(ahead);
+            ContinuousGenerator presampledNormal = pipeline.wrap(aheadNormal);
+
+            // many times round the ring, with the streams read at different rates
+            for (int i = 0; i < 50000; i++) {
+                assertEquals(direct.sample(), presampled.sample(), backend + " negexp draw " + i);
+                if (i % 3 == 0) {
+                    assertEquals(directNormal.sample(), presampledNormal.sample(), backend + " normal draw " + i);
+                }
+            }
+        }
+        pipeline.stop();
+    }
+
+    @Test
+    void testDrawsContinueAfterStop() throws InterruptedException {
+        PresamplingPipeline pipeline = new PresamplingPipeline();
+        Negexp direct = new Negexp(1.0, 5);
+        ContinuousGenerator presampled = pipeline.wrap(new Negexp(1.0, 5));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(direct.sample(), presampled.sample());
+        }
+        pipeline.stop();
+        Thread.sleep(50);
+        for (int i = 0; i < 20000; i++) {
+            assertEquals(direct.sample(), presampled.sample(), "Draw " + i + " after stopping");
+        }
+    }
+
+    @Test
+    void testPresampledGeneratorCannotBeReseeded() {
+        PresamplingPipeline pipeline = new PresamplingPipeline();
+        Negexp negexp = new Negexp(1.0, 9);
+        ContinuousGenerator presampled = pipeline.wrap(negexp);
+        assertEquals(negexp.getSeed(), presampled.getSeed());
+        assertThrows(UnsupportedOperationException.class, () -> presampled.setSeed(1));
+        pipeline.stop();
+    }
+}
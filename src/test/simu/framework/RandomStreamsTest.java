@@ -0,0 +1,57 @@
+package simu.framework;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import eduni.distributions.ContinuousGenerator;
+import eduni.distributions.RandomBackend;
+
+class RandomStreamsTest {
+
+    @Test
+    void testSameSeedGivesSameStreams() {
+        for (RandomBackend backend : RandomBackend.values()) {
+            ContinuousGenerator a = new RandomStreams(42, backend).get("arrivals");
+            ContinuousGenerator b = new RandomStreams(42, backend).get("arrivals");
+            for (int i = 0; i < 100; i++) {
+                assertEquals(a.sample(), b.sample(), backend + " streams with the same seed should match");
+            }
+        }
+    }
+
+    @Test
+    void testStreamsDoNotDependOnEachOther() {
+        RandomStreams busy = new RandomStreams(7, RandomBackend.XOSHIRO256PP);
+        RandomStreams quiet = new RandomStreams(7, RandomBackend.XOSHIRO256PP);
+        for (int i = 0; i < 1000; i++) {
+            busy.get("routing").sample();
+        }
+        assertEquals(quiet.get("arrivals").sample(), busy.get("arrivals").sample(),
+                "Drawing from one stream should not shift another");
+        assertSame(busy.get("routing"), busy.get("routing"), "A stream should be created once");
+        assertNotEquals(quiet.seedFor("arrivals"), quiet.seedFor("routing"));
+        assertNotEquals(quiet.seedFor("arrivals"), new RandomStreams(8, RandomBackend.XOSHIRO256PP).seedFor("arrivals"));
+    }
+
+    @Test
+    void testLcgSeedsAreValid() {
+        RandomStreams streams = new RandomStreams(-3, RandomBackend.LCG);
+        for (String name : new String[] {"arrivals", "routing", "customer.items", "service.self", ""}) {
+            long seed = streams.seedFor(name);
+            assertTrue(seed >= 1 && seed < 2147483647L, "LCG seeds should lie between 1 and the modulus");
+        }
+    }
+
+    @Test
+    void testCreatedGeneratorsAreNotShared() {
+        for (RandomBackend backend : RandomBackend.values()) {
+            RandomStreams streams = new RandomStreams(11, backend);
+            ContinuousGenerator created = streams.create("service.regular");
+            assertNotSame(streams.get("service.regular"), created, backend + " a created generator should be new");
+            ContinuousGenerator shared = streams.get("service.regular");
+            for (int i = 0; i < 100; i++) {
+                assertEquals(shared.sample(), created.sample(), backend + " a created generator should give the stream's numbers");
+            }
+        }
+    }
+}
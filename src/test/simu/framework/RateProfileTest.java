@@ -0,0 +1,66 @@
+package simu.framework;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import eduni.distributions.Negexp;
+
+class RateProfileTest {
+
+    @Test
+    void testPiecewiseConstantCumulativeRate() {
+        RateProfile profile = new RateProfile("0:1,10:3,20:0", false);
+        assertEquals(3.0, profile.getRate(15), 1e-9, "The rate should hold until the next time");
+        assertEquals(10.0, profile.getCumulativeRate(10), 1e-9, "Ten time units at rate 1");
+        assertEquals(40.0, profile.getCumulativeRate(25), 1e-9, "Nothing arrives after the rate drops to 0");
+        assertEquals(10 + 2.5 / 3, profile.nextArrival(0, 12.5), 1e-9, "The rest after 10 units at rate 1 should arrive at rate 3");
+    }
+
+    @Test
+    void testInversionMatchesCumulativeRate() {
+        RateProfile profile = new RateProfile("0:0.5,60:2,120:0.2,200:1", true);
+        assertEquals(1.25, profile.getRate(30), 1e-9, "A linear rate should be halfway at the middle of a segment");
+        double time = 0.0;
+        for (double e : new double[] {0.3, 5.0, 17.0, 0.01, 40.0, 2.0}) {
+            double next = profile.nextArrival(time, e);
+            assertEquals(profile.getCumulativeRate(time) + e, profile.getCumulativeRate(next), 1e-6,
+                    "The cumulative rate should grow by the exponential sample between arrivals");
+            time = next;
+        }
+    }
+
+    @Test
+    void testNoArrivalsOnceTheRateStaysZero() {
+        RateProfile profile = new RateProfile("0:1,10:0", false);
+        assertEquals(Double.POSITIVE_INFINITY, profile.nextArrival(9, 5.0),
+                "Only one arrival is expected before the store closes");
+        assertEquals(30.5, new RateProfile("0:1,10:0,30:2", false).nextArrival(9, 2.0), 1e-9,
+                "Arrivals should skip a closed period");
+    }
+
+    @Test
+    void testArrivalCountsFollowTheProfile() {
+        RateProfile profile = new RateProfile("0:2,100:8,200:2", false);
+        Negexp exponential = new Negexp(1.0, 42);
+        int busy = 0;
+        int quiet = 0;
+        double time = profile.nextArrival(0, exponential.sample());
+        while (time < 300) {
+            if (time >= 100 && time < 200) {
+                busy++;
+            } else {
+                quiet++;
+            }
+            time = profile.nextArrival(time, exponential.sample());
+        }
+        assertEquals(800, busy, 4 * Math.sqrt(800), "About 800 arrivals are expected in the busy period");
+        assertEquals(400, quiet, 4 * Math.sqrt(400), "About 400 arrivals are expected in the quiet periods");
+    }
+
+    @Test
+    void testInvalidProfiles() {
+        assertThrows(IllegalArgumentException.class, () -> new RateProfile("", false), "A profile needs a rate");
+        assertThrows(IllegalArgumentException.class, () -> new RateProfile("10:1,5:2", false), "Times must increase");
+        assertThrows(IllegalArgumentException.class, () -> new RateProfile("0:-1", false), "Rates cannot be negative");
+    }
+}
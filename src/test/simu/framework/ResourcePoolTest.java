@@ -0,0 +1,59 @@
+package simu.framework;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ResourcePoolTest {
+
+    @BeforeEach
+    void setUp() {
+        Clock.getInstance().setTime(0);
+    }
+
+    @Test
+    void testFifoWaitersGetReleasedUnits() {
+        ResourcePool carts = new ResourcePool("carts", 1, ResourcePool.WaitDiscipline.FIFO);
+        List<String> granted = new ArrayList<>();
+
+        assertTrue(carts.acquire(() -> granted.add("first")), "The free cart should be taken at once");
+        assertFalse(carts.acquire(() -> granted.add("second")), "The second request should wait");
+        assertFalse(carts.acquire(() -> granted.add("third")), "The third request should wait");
+        assertEquals(2, carts.getWaiting(), "Two requests should be waiting");
+
+        Clock.getInstance().setTime(4.0);
+        carts.release();
+        assertEquals(List.of("second"), granted, "The released cart should go to the first waiter");
+        assertEquals(0, carts.getAvailable(), "The cart is handed over, not returned to the pool");
+
+        carts.release();
+        carts.release();
+        assertEquals(List.of("second", "third"), granted, "Waiters should be served in arrival order");
+        assertEquals(1, carts.getAvailable(), "The cart should be back in the pool");
+        assertEquals(8.0 / 3, carts.getAverageWaitingTime(), 1e-9, "Two requests waited 4 time units each");
+    }
+
+    @Test
+    void testPriorityWaiters() {
+        ResourcePool attendants = new ResourcePool("attendants", 1, ResourcePool.WaitDiscipline.PRIORITY);
+        List<String> granted = new ArrayList<>();
+        attendants.tryAcquire();
+        attendants.acquire(1.0, () -> granted.add("idle kiosk"));
+        attendants.acquire(0.0, () -> granted.add("kiosk with customer"));
+        attendants.acquire(1.0, () -> granted.add("second idle kiosk"));
+
+        attendants.release();
+        attendants.release();
+        attendants.release();
+        assertEquals(List.of("kiosk with customer", "idle kiosk", "second idle kiosk"), granted,
+                "Lower priority values should be served first, equal ones in arrival order");
+    }
+
+    @Test
+    void testReleaseWithoutAcquire() {
+        ResourcePool pool = new ResourcePool("carts", 2, ResourcePool.WaitDiscipline.FIFO);
+        assertThrows(IllegalStateException.class, pool::release, "Releasing a unit that was never taken is an error");
+    }
+}
@@ -0,0 +1,100 @@
+package simu.model;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import eduni.distributions.ContinuousGenerator;
+import simu.data.SimulationConfig;
+import simu.framework.Clock;
+import simu.framework.EventList;
+
+class CheckoutRouterTest {
+    private ServicePoint[] servicePoints;
+    private SimulationConfig config;
+
+    @BeforeEach
+    void setUp() {
+        Clock.getInstance().setTime(0);
+        ContinuousGenerator generator = mock(ContinuousGenerator.class);
+        EventList eventList = mock(EventList.class);
+        config = new SimulationConfig();
+        servicePoints = new ServicePoint[] {
+                new ServicePoint(generator, eventList, EventType.DEP1),
+                new DelayStation(generator, eventList, EventType.DEP2),
+                new ServicePoint(generator, eventList, EventType.DEP3, 4, true),
+                new ServicePoint(generator, eventList, EventType.DEP4, 2, true),
+                new ServicePoint(generator, eventList, EventType.DEP5, 2, false)
+        };
+    }
+
+    private Customer customerWithItems(int items) {
+        Customer customer = new Customer(config);
+        customer.setType(CustomerType.REGULAR);
+        customer.setItems(items);
+        return customer;
+    }
+
+    @Test
+    void testJoinShortestQueue() {
+        CheckoutRouter router = new CheckoutRouter(servicePoints, LanePolicy.JSQ, 2);
+        ServicePoint regular = servicePoints[ServicePointType.REGULAR_CHECKOUT.ordinal()];
+        ServicePoint self = servicePoints[ServicePointType.SELF_CHECKOUT.ordinal()];
+        regular.addQueue(customerWithItems(20), 0);
+        regular.addQueue(customerWithItems(20), 1);
+        regular.addQueue(customerWithItems(20), 3);
+        self.addQueue(customerWithItems(20));
+        self.addQueue(customerWithItems(20));
+
+        CheckoutRouter.LaneChoice choice = router.choose(customerWithItems(20));
+        assertEquals(ServicePointType.REGULAR_CHECKOUT, choice.checkout(), "Lane 2 of the regular checkout is empty");
+        assertEquals(2, choice.lane(), "The empty lane should be chosen");
+
+        regular.addQueue(customerWithItems(20), 2);
+        choice = router.choose(customerWithItems(20));
+        assertEquals(ServicePointType.REGULAR_CHECKOUT, choice.checkout(),
+                "One customer per lane equals one per self-checkout server, ties go to the regular checkout");
+
+        assertEquals(ServicePointType.EXPRESS_CHECKOUT, router.choose(customerWithItems(5)).checkout(),
+                "Customers with few items should find the empty express checkout");
+    }
+
+    @Test
+    void testShortestWorkCountsItems() {
+        CheckoutRouter router = new CheckoutRouter(servicePoints, LanePolicy.SHORTEST_WORK, 2);
+        ServicePoint regular = servicePoints[ServicePointType.REGULAR_CHECKOUT.ordinal()];
+        regular.addQueue(customerWithItems(40), 0);
+        regular.addQueue(customerWithItems(12), 1);
+        regular.addQueue(customerWithItems(15), 1);
+        regular.addQueue(customerWithItems(30), 2);
+        regular.addQueue(customerWithItems(50), 3);
+        for (int i = 0; i < 4; i++) {
+            servicePoints[ServicePointType.SELF_CHECKOUT.ordinal()].addQueue(customerWithItems(30));
+        }
+
+        CheckoutRouter.LaneChoice choice = router.choose(customerWithItems(20));
+        assertEquals(ServicePointType.REGULAR_CHECKOUT, choice.checkout(), "The regular checkout has the least work");
+        assertEquals(1, choice.lane(), "Two customers with 27 items is less work than one with 30");
+    }
+
+    @Test
+    void testPowerOfDFallsBackWhenSampledLanesAreClosed() {
+        // every sample picks regular lane 3
+        ContinuousGenerator routing = mock(ContinuousGenerator.class);
+        when(routing.sample()).thenReturn(0.5);
+        CheckoutRouter router = new CheckoutRouter(servicePoints, LanePolicy.POWER_OF_D, 2, routing);
+        ServicePoint regular = servicePoints[ServicePointType.REGULAR_CHECKOUT.ordinal()];
+        regular.setOpenServers(1);
+
+        CheckoutRouter.LaneChoice choice = router.choose(customerWithItems(20));
+        assertNotNull(choice, "A customer should get a lane even if every sampled lane is closed");
+        assertEquals(ServicePointType.REGULAR_CHECKOUT, choice.checkout());
+        assertEquals(0, choice.lane(), "The open lane should be chosen");
+
+        regular.setOpenServers(4);
+        regular.failServer(3);
+        choice = router.choose(customerWithItems(20));
+        assertNotNull(choice, "A customer should get a lane even if every sampled lane has failed");
+        assertNotEquals(3, choice.lane(), "The failed lane should not be chosen");
+    }
+}
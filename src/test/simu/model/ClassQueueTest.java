@@ -0,0 +1,81 @@
+package simu.model;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import simu.data.SimulationConfig;
+
+class ClassQueueTest {
+    private SimulationConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new SimulationConfig();
+    }
+
+    @Test
+    void testLowestClassFirstAndFifoWithinClass() {
+        ClassQueue queue = new ClassQueue(4);
+        Customer first = new Customer(config);
+        Customer second = new Customer(config);
+        Customer urgent = new Customer(config);
+        queue.add(first, 2);
+        queue.add(second, 2);
+        queue.add(urgent, 0);
+
+        assertEquals(3, queue.size(), "All customers should be waiting");
+        assertSame(urgent, queue.poll(), "Class 0 should be served first");
+        assertSame(first, queue.poll(), "Customers of a class should be served in arrival order");
+        assertSame(second, queue.poll(), "Customers of a class should be served in arrival order");
+        assertNull(queue.poll(), "The queue should be empty");
+    }
+
+    @Test
+    void testRemoveFromMiddle() {
+        ClassQueue queue = new ClassQueue(2);
+        Customer a = new Customer(config);
+        Customer b = new Customer(config);
+        Customer c = new Customer(config);
+        queue.add(a, 1);
+        queue.add(b, 1);
+        queue.add(c, 1);
+
+        assertTrue(queue.remove(b), "A waiting customer should be removable");
+        assertFalse(queue.remove(b), "A removed customer is no longer in the queue");
+        assertFalse(queue.contains(b), "A removed customer is no longer in the queue");
+        assertEquals(List.of(a, c), queue.toSortedList(), "The others should keep their order");
+
+        ClassQueue other = new ClassQueue(2);
+        assertFalse(other.remove(a), "A customer waiting in another queue should not be removed");
+        assertSame(a, queue.poll(), "The first customer should still be first");
+    }
+
+    @Test
+    void testEmptiedClassIsSkipped() {
+        ClassQueue queue = new ClassQueue(64);
+        Customer low = new Customer(config);
+        Customer high = new Customer(config);
+        queue.add(low, 63);
+        queue.add(high, 5);
+        assertTrue(queue.remove(high), "The class 5 customer should be removable");
+        assertSame(low, queue.peek(), "An emptied class should no longer be selected");
+
+        queue.clear();
+        assertTrue(queue.isEmpty(), "Clearing should empty the queue");
+        assertFalse(queue.contains(low), "Cleared customers are no longer in the queue");
+    }
+
+    @Test
+    void testClassSharesAreDrawn() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(CustomerClass.STAFF, CustomerClass.draw("STAFF:100"), "Every customer should be staff");
+        }
+        assertEquals(CustomerClass.STANDARD, CustomerClass.draw(""), "Without shares everyone is standard");
+        assertThrows(IllegalArgumentException.class, () -> CustomerClass.draw("LOYALTY:80,STAFF:30"),
+                "Shares above 100% should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> CustomerClass.draw("VIP:10"),
+                "Unknown classes should be rejected");
+    }
+}
@@ -53,6 +53,24 @@ class CustomerTest {
         assertTrue(regularCustomer.getItems() >= 15 && regularCustomer.getItems() <= 25, "Regular customer should have items between the min and max amount");
     }
 
+    @Test
+    void testItemHistogram() {
+        config.setExpressCustomerPercentage(0);
+        config.setRegularItemHistogram("12:1,40:3");
+        int large = 0;
+        for (int i = 0; i < 4000; i++) {
+            int items = new Customer(config).getItems();
+            assertTrue(items == 12 || items == 40, "Items should only take the histogram values");
+            if (items == 40) {
+                large++;
+            }
+        }
+        assertEquals(3000, large, 150, "Item counts should follow the histogram weights");
+
+        config.setRegularItemHistogram("12:1,x");
+        assertThrows(IllegalArgumentException.class, () -> new Customer(config));
+    }
+
     @Test
     void testLocationUpdates() {
         assertNull(customer.getPreviousLocation(), "Previous location should initially be null");
@@ -103,4 +121,22 @@ class CustomerTest {
         assertEquals(2, Customer.getTotalCompletedCustomers(), "Should have 2 completed customers");
         assertEquals(25, Customer.getMeanServiceTime(), "Mean service time should be 25)");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOverallMeanAgreesWithClassMeans() {
+        double[][] stays = { { 0.0, 10.4 }, { 1.5, 14.2 }, { 2.25, 30.0 } };
+        CustomerClass[] classes = { CustomerClass.STANDARD, CustomerClass.STANDARD, CustomerClass.LOYALTY };
+        for (int i = 0; i < stays.length; i++) {
+            Customer c = new Customer(config);
+            c.setCustomerClass(classes[i]);
+            c.setArrivalTime(stays[i][0]);
+            c.setRemovalTime(stays[i][1]);
+            c.reportResults();
+        }
+
+        assertEquals((10.4 + 12.7) / 2, Customer.getMeanTimeInStore(CustomerClass.STANDARD), 1e-9);
+        assertEquals(27.75, Customer.getMeanTimeInStore(CustomerClass.LOYALTY), 1e-9);
+        assertEquals((10.4 + 12.7 + 27.75) / 3, Customer.getMeanServiceTime(), 1e-9,
+                "The overall mean should be the pooled mean of the classes, not truncated");
+    }
+}
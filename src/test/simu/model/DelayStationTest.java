@@ -0,0 +1,74 @@
+package simu.model;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import eduni.distributions.ContinuousGenerator;
+import simu.data.SimulationConfig;
+import simu.framework.Clock;
+import simu.framework.EventList;
+
+import static org.mockito.Mockito.mock;
+
+class DelayStationTest {
+    private DelayStation shopping;
+    private EventList eventList;
+    private SimulationConfig config;
+
+    @BeforeEach
+    void setUp() {
+        Clock.getInstance().setTime(0);
+        eventList = new EventList();
+        shopping = new DelayStation(mock(ContinuousGenerator.class), eventList, EventType.DEP2);
+        config = new SimulationConfig();
+    }
+
+    private Customer customerWithItems(int items) {
+        Customer customer = new Customer(config);
+        customer.setItems(items);
+        return customer;
+    }
+
+    @Test
+    void testCustomersDoNotWait() {
+        shopping.addQueue(customerWithItems(20));
+        shopping.addQueue(customerWithItems(5));
+
+        assertFalse(shopping.isReserved(), "An infinite-server station should never be reserved");
+        assertFalse(shopping.isOnQueue(), "Nobody should wait at an infinite-server station");
+        assertEquals(2, shopping.getCustomersInService(), "Both customers should be shopping at once");
+    }
+
+    @Test
+    void testDeparturesInTimeOrder() {
+        Customer slow = customerWithItems(30);
+        Customer fast = customerWithItems(1);
+        Customer medium = customerWithItems(10);
+        shopping.addQueue(slow);
+        shopping.addQueue(fast);
+        shopping.addQueue(medium);
+
+        Customer[] expected = {fast, medium, slow};
+        for (Customer customer : expected) {
+            Clock.getInstance().setTime(eventList.getNextTime());
+            eventList.remove();
+            assertSame(customer, shopping.removeQueue(-1), "Customers should leave in order of their departure time");
+        }
+        assertEquals(3, shopping.getCustomersServed(), "All customers should have been served");
+    }
+
+    @Test
+    void testRemoveCancelsDeparture() {
+        Customer leaving = customerWithItems(1);
+        Customer staying = customerWithItems(30);
+        shopping.addQueue(leaving);
+        shopping.addQueue(staying);
+
+        assertTrue(shopping.remove(leaving), "A customer in the station should be removable");
+        assertFalse(shopping.remove(leaving), "A removed customer should not be removed twice");
+
+        assertEquals(ServicePoint.SHOPPING_BASE_TIME + ServicePoint.SHOPPING_TIME_PER_ITEM * 30,
+                eventList.getNextTime(), "The removed customer's departure should be cancelled");
+        assertSame(staying, shopping.removeQueue(-1), "The remaining customer should leave next");
+    }
+}
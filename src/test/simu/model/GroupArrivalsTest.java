@@ -0,0 +1,55 @@
+package simu.model;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import simu.data.SimulationConfig;
+
+class GroupArrivalsTest {
+
+    @Test
+    void testSingleCustomersByDefault() {
+        GroupArrivals groups = new GroupArrivals(1.0, 6, 0.8);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, groups.drawSize(), "A mean group size of 1 means customers arrive alone");
+        }
+    }
+
+    @Test
+    void testGroupSizesFollowTheMean() {
+        GroupArrivals groups = new GroupArrivals(2.5, 50, 0.8);
+        int total = 0;
+        int draws = 20000;
+        for (int i = 0; i < draws; i++) {
+            int size = groups.drawSize();
+            assertTrue(size >= 1 && size <= 50, "Group sizes should be between 1 and the maximum");
+            total += size;
+        }
+        assertEquals(2.5, (double) total / draws, 0.1, "The mean group size should match the configured mean");
+
+        GroupArrivals small = new GroupArrivals(4.0, 3, 0.8);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(small.drawSize() <= 3, "Group sizes should be cut off at the maximum");
+        }
+    }
+
+    @Test
+    void testMembersResembleTheFirstCustomer() {
+        SimulationConfig config = new SimulationConfig();
+        GroupArrivals groups = new GroupArrivals(3.0, 6, 1.0);
+        Customer first = new Customer(config);
+        first.setType(CustomerType.EXPRESS);
+        first.setCustomerClass(CustomerClass.LOYALTY);
+        for (int i = 0; i < 20; i++) {
+            Customer member = new Customer(config);
+            groups.correlate(first, member, config);
+            assertEquals(CustomerType.EXPRESS, member.getType(), "A fully correlated member should share the type");
+            assertEquals(CustomerClass.LOYALTY, member.getCustomerClass(), "A fully correlated member should share the class");
+            assertTrue(member.getItems() <= config.getMaxExpressItems(), "Items should be drawn for the shared type");
+        }
+
+        Customer independent = new Customer(config);
+        new GroupArrivals(3.0, 6, 0.0).correlate(first, independent, config);
+        assertEquals(CustomerClass.STANDARD, independent.getCustomerClass(), "An uncorrelated member keeps its own class");
+    }
+}
@@ -9,6 +9,7 @@ import simu.data.SimulationConfig;
 import simu.framework.Clock;
 import simu.framework.Event;
 import simu.framework.EventList;
+import simu.framework.ResourcePool;
 
 public class ServicePointTest {
     private ServicePoint servicePoint;
@@ -82,4 +83,227 @@ public class ServicePointTest {
         assertFalse(servicePoint.isReserved(), "Service point shouldn't be reserved when queue is empty");
         verify(eventList, never()).add(any(Event.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMultiServerSharedQueue() {
+        when(generator.sample()).thenReturn(10.0);
+        ServicePoint checkout = new ServicePoint(generator, eventList, EventType.DEP3, 2, false);
+        Customer second = new Customer(config);
+        Customer third = new Customer(config);
+        checkout.addQueue(customer);
+        checkout.addQueue(second);
+        checkout.addQueue(third);
+        checkout.beginService();
+
+        assertTrue(checkout.isReserved(), "Both servers should be busy");
+        assertEquals(2, checkout.getCustomersInService(), "Two customers should be in service");
+        assertEquals(1, checkout.getQueueLength(), "One customer should still be waiting");
+        verify(eventList, times(2)).add(any(Event.class));
+
+        assertSame(second, checkout.removeQueue(1), "Server 1 should have served the second customer");
+        assertFalse(checkout.isReserved(), "A server should be free after a departure");
+
+        checkout.beginService();
+        assertEquals(0, checkout.getQueueLength(), "The waiting customer should be taken by the free server");
+        assertSame(third, checkout.removeQueue(1), "The free server should serve the third customer");
+        assertEquals(2, checkout.getServerCustomersServed(1), "Server 1 should have served two customers");
+        assertEquals(0, checkout.getServerCustomersServed(0), "Server 0 is still serving its first customer");
+    }
+
+    @Test
+    void testDedicatedLaneQueues() {
+        when(generator.sample()).thenReturn(10.0);
+        ServicePoint checkout = new ServicePoint(generator, eventList, EventType.DEP3, 2, true);
+        Customer second = new Customer(config);
+        checkout.addQueue(customer, 1);
+        checkout.addQueue(second, 1);
+        checkout.beginService();
+
+        assertEquals(1, checkout.getCustomersInService(), "Only lane 1 has customers, so only one should be served");
+        assertEquals(2, checkout.getLaneLength(1), "Lane 1 should hold the served and the waiting customer");
+        assertEquals(0, checkout.getLaneLength(0), "Lane 0 should be empty");
+        assertSame(customer, checkout.removeQueue(1), "Lane 1 should serve its first customer");
+    }
+
+    @Test
+    void testShortestProcessingTimeDiscipline() {
+        when(generator.sample()).thenReturn(10.0);
+        servicePoint.setQueueDiscipline(QueueDiscipline.SPT);
+        Customer fewItems = new Customer(config);
+        Customer manyItems = new Customer(config);
+        customer.setItems(20);
+        fewItems.setItems(3);
+        manyItems.setItems(30);
+        servicePoint.addQueue(customer);
+        servicePoint.addQueue(manyItems);
+        servicePoint.addQueue(fewItems);
+
+        servicePoint.beginService();
+        assertSame(fewItems, servicePoint.removeQueue(), "The customer with the fewest items should be served first");
+        servicePoint.beginService();
+        assertSame(customer, servicePoint.removeQueue(), "The customer with 20 items should be served second");
+    }
+
+    @Test
+    void testClassPriorityDiscipline() {
+        when(generator.sample()).thenReturn(10.0);
+        Customer staff = new Customer(config);
+        Customer loyalty = new Customer(config);
+        staff.setCustomerClass(CustomerClass.STAFF);
+        loyalty.setCustomerClass(CustomerClass.LOYALTY);
+        servicePoint.addQueue(customer);
+        servicePoint.addQueue(loyalty);
+        servicePoint.setQueueDiscipline(QueueDiscipline.CLASS_PRIORITY);
+        servicePoint.addQueue(staff);
+
+        servicePoint.beginService();
+        assertSame(staff, servicePoint.removeQueue(), "Staff should be served ahead of every other class");
+        servicePoint.beginService();
+        assertSame(loyalty, servicePoint.removeQueue(), "A waiting loyalty customer should move ahead of a standard one");
+        assertEquals(1, servicePoint.getQueueLength(), "The standard customer should still be waiting");
+    }
+
+    @Test
+    void testBalking() {
+        servicePoint.setBalkingThreshold(2);
+        assertTrue(servicePoint.tryJoin(customer), "The first customer should join");
+        assertTrue(servicePoint.tryJoin(new Customer(config)), "The second customer should join");
+        assertFalse(servicePoint.tryJoin(new Customer(config)), "The third customer should balk at two waiting");
+        assertEquals(2, servicePoint.getQueueLength(), "Only the customers who joined should wait");
+        assertEquals(1, servicePoint.getCustomersBalked(), "One customer should have balked");
+    }
+
+    @Test
+    void testRenegingCancelsPatienceWhenServed() {
+        ContinuousGenerator patience = mock(ContinuousGenerator.class);
+        when(patience.sample()).thenReturn(5.0);
+        when(generator.sample()).thenReturn(10.0);
+        EventList events = new EventList();
+        ServicePoint checkout = new ServicePoint(generator, events, EventType.DEP3);
+        checkout.setReneging(patience, EventType.RENEGE);
+        Customer waiting = new Customer(config);
+        checkout.addQueue(customer);
+        checkout.addQueue(waiting);
+        checkout.beginService();
+
+        // The served customer's patience event is cancelled, so the waiting customer's comes first
+        assertEquals(5.0, events.getNextTime(), "Next event should be the patience of the waiting customer");
+        Event renege = events.remove();
+        assertEquals(EventType.RENEGE, renege.getType(), "Next event should be a renege event");
+        assertEquals(waiting.getId(), renege.getTarget(), "The renege event should carry the waiting customer");
+
+        assertTrue(checkout.renege(waiting), "The waiting customer should leave the queue");
+        assertFalse(checkout.isOnQueue(), "Nobody should be waiting after reneging");
+        assertFalse(checkout.renege(customer), "A customer in service cannot renege");
+        assertEquals(1, checkout.getCustomersReneged(), "One customer should have reneged");
+    }
+
+    @Test
+    void testFailureSuspendsAndResumesService() {
+        when(generator.sample()).thenReturn(10.0);
+        EventList events = new EventList();
+        ServicePoint kiosks = new ServicePoint(generator, events, EventType.DEP5, 2, false);
+        kiosks.addQueue(customer);
+        kiosks.beginService();
+
+        Clock.getInstance().setTime(4.0);
+        kiosks.failServer(0);
+
+        Customer next = new Customer(config);
+        kiosks.addQueue(next);
+        kiosks.beginService();
+        // The cancelled departure at 10 is skipped
+        assertEquals(14.0, events.getNextTime(), "Only the working kiosk's departure should be scheduled");
+
+        Clock.getInstance().setTime(7.0);
+        kiosks.repairServer(0);
+        assertEquals(13.0, events.getNextTime(), "Service should resume with the 6 time units that were left");
+        assertEquals(0, events.remove().getTarget(), "The resumed departure should belong to the repaired kiosk");
+
+        Clock.getInstance().setTime(10.0);
+        assertEquals(0.7, kiosks.getServerAvailability(0), 1e-9, "The kiosk was down 3 of 10 time units");
+        assertEquals(0.7, kiosks.getServerUtilization(0), 1e-9, "The kiosk worked 4 + 3 of 10 time units");
+    }
+
+    @Test
+    void testRequiredResourceHoldsServiceUntilReleased() {
+        when(generator.sample()).thenReturn(10.0);
+        EventList events = new EventList();
+        ServicePoint kiosks = new ServicePoint(generator, events, EventType.DEP5, 2, false);
+        ResourcePool attendants = new ResourcePool("attendants", 1, ResourcePool.WaitDiscipline.FIFO);
+        kiosks.requireResource(attendants);
+        Customer second = new Customer(config);
+        kiosks.addQueue(customer);
+        kiosks.addQueue(second);
+        kiosks.beginService();
+
+        assertEquals(1, kiosks.getCustomersInService(), "Only one service should start with one attendant");
+        assertTrue(kiosks.isReserved(), "The second kiosk should be held for the waiting customer");
+        assertEquals(1, attendants.getWaiting(), "The second customer should wait for the attendant");
+        assertEquals(2, kiosks.getCustomers().size(), "The waiting customer should still be at the kiosks");
+
+        Clock.getInstance().setTime(10.0);
+        Event departure = events.remove();
+        assertSame(customer, kiosks.removeQueue(departure.getTarget()), "The first customer should depart");
+        assertEquals(1, kiosks.getCustomersInService(), "The released attendant should start the second service");
+        assertEquals(20.0, events.getNextTime(), "The second service should start when the attendant is released");
+        assertEquals(0, attendants.getAvailable(), "The second customer should hold the attendant");
+
+        Clock.getInstance().setTime(20.0);
+        assertSame(second, kiosks.removeQueue(events.remove().getTarget()), "The second customer should depart");
+        assertEquals(1, attendants.getAvailable(), "The attendant should be released on departure");
+    }
+
+    @Test
+    void testFailedServerGivesRequiredResourceBack() {
+        when(generator.sample()).thenReturn(10.0);
+        EventList events = new EventList();
+        ServicePoint kiosks = new ServicePoint(generator, events, EventType.DEP5, 2, false);
+        ResourcePool attendants = new ResourcePool("attendants", 1, ResourcePool.WaitDiscipline.FIFO);
+        kiosks.requireResource(attendants);
+        Customer second = new Customer(config);
+        kiosks.addQueue(customer);
+        kiosks.addQueue(second);
+        kiosks.beginService();
+
+        Clock.getInstance().setTime(5.0);
+        kiosks.failServer(1);
+        Clock.getInstance().setTime(10.0);
+        kiosks.removeQueue(events.remove().getTarget());
+        assertEquals(0, kiosks.getCustomersInService(), "A failed kiosk should not start a service");
+        assertEquals(1, attendants.getAvailable(), "A failed kiosk should give the attendant back");
+
+        Clock.getInstance().setTime(12.0);
+        kiosks.repairServer(1);
+        assertEquals(1, kiosks.getCustomersInService(), "The repaired kiosk should start the service");
+        assertEquals(22.0, events.getNextTime(), "The service should start on repair");
+        assertSame(second, kiosks.removeQueue(1), "The second customer should be served at the repaired kiosk");
+    }
+
+    @Test
+    void testSuspendedServiceReleasesRequiredResource() {
+        when(generator.sample()).thenReturn(10.0);
+        EventList events = new EventList();
+        ServicePoint kiosks = new ServicePoint(generator, events, EventType.DEP5, 1, false);
+        ResourcePool attendants = new ResourcePool("attendants", 1, ResourcePool.WaitDiscipline.FIFO);
+        kiosks.requireResource(attendants);
+        kiosks.addQueue(customer);
+        kiosks.beginService();
+
+        Clock.getInstance().setTime(4.0);
+        kiosks.failServer(0);
+        assertEquals(1, attendants.getAvailable(), "The attendant should be free to repair the kiosk");
+        assertTrue(attendants.tryAcquire(), "The repair should get the attendant");
+
+        Clock.getInstance().setTime(7.0);
+        kiosks.repairServer(0);
+        assertEquals(Double.POSITIVE_INFINITY, events.getNextTime(), "The service should wait for the attendant after the repair");
+        assertEquals(6.0, kiosks.getRemainingServiceTimes().get(0), 1e-9, "The time left should be kept");
+
+        Clock.getInstance().setTime(8.0);
+        attendants.release();
+        assertEquals(14.0, events.getNextTime(), "The service should resume with the 6 time units that were left");
+        assertSame(customer, kiosks.removeQueue(0), "The customer should depart from the kiosk");
+        assertEquals(1, attendants.getAvailable(), "The attendant should be released on departure");
+    }
+}
@@ -0,0 +1,36 @@
+package simu.model;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShiftScheduleTest {
+
+    @Test
+    void testOpenServersOverTheDay() {
+        ShiftSchedule schedule = new ShiftSchedule("0:2, 120:4, 480:3");
+
+        assertEquals(2, schedule.getOpenServers(0), "The first shift should apply from its start");
+        assertEquals(2, schedule.getOpenServers(119.9), "The first shift should last until the second starts");
+        assertEquals(4, schedule.getOpenServers(120), "The second shift should apply from its start");
+        assertEquals(3, schedule.getOpenServers(1000), "The last shift should apply until the end of the day");
+        assertEquals(4, schedule.getMaxOpenServers(), "The peak shift has four servers");
+    }
+
+    @Test
+    void testNextChange() {
+        ShiftSchedule schedule = new ShiftSchedule("60:1,120:4,480:3");
+
+        assertEquals(1, schedule.getOpenServers(0), "Before the first shift the first shift should apply");
+        assertEquals(60, schedule.getNextChange(0), "The first change is the start of the first shift");
+        assertEquals(480, schedule.getNextChange(120), "The change after the second shift starts is the third shift");
+        assertEquals(Double.POSITIVE_INFINITY, schedule.getNextChange(480), "No change follows the last shift");
+    }
+
+    @Test
+    void testInvalidSchedules() {
+        assertThrows(IllegalArgumentException.class, () -> new ShiftSchedule(""), "Empty schedule");
+        assertThrows(IllegalArgumentException.class, () -> new ShiftSchedule("0:2,0:3"), "Start times must increase");
+        assertThrows(IllegalArgumentException.class, () -> new ShiftSchedule("0:0"), "At least one server");
+        assertThrows(IllegalArgumentException.class, () -> new ShiftSchedule("0-2"), "Missing separator");
+    }
+}
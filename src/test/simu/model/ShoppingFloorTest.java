@@ -0,0 +1,101 @@
+package simu.model;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import simu.data.SimulationConfig;
+import simu.framework.Clock;
+import simu.framework.Event;
+import simu.framework.EventList;
+
+class ShoppingFloorTest {
+    private EventList eventList;
+    private SimulationConfig config;
+
+    @BeforeEach
+    void setUp() {
+        Clock.getInstance().setTime(0);
+        eventList = new EventList();
+        config = new SimulationConfig();
+    }
+
+    private ShoppingFloor floor(boolean parallel) {
+        return new ShoppingFloor(eventList, EventType.DEP2, EventType.SHOPPING_STEP, 40.0, 25.0, 20.0, 0.25, parallel);
+    }
+
+    private Customer customer(int items) {
+        Customer customer = new Customer(config);
+        customer.setItems(items);
+        return customer;
+    }
+
+    /**
+     * Runs the floor until the given number of customers have left and returns their departure times.
+     */
+    private List<Double> runUntilLeft(ShoppingFloor floor, int customers) {
+        List<Double> departures = new ArrayList<>();
+        while (departures.size() < customers) {
+            Event event = eventList.remove();
+            Clock.getInstance().setTime(event.getTime());
+            if (event.getType() == EventType.SHOPPING_STEP) {
+                floor.step();
+            } else {
+                assertNotNull(floor.removeQueue(0), "Every departure event should have a departing customer");
+                departures.add(event.getTime());
+            }
+        }
+        return departures;
+    }
+
+    @Test
+    void testLoneCustomerWalksAtFullSpeed() {
+        ShoppingFloor floor = floor(false);
+        floor.addQueue(customer(0));
+        List<Double> departures = runUntilLeft(floor, 1);
+        assertEquals(2.0, departures.get(0), 1e-9, "Walking 40 to the checkouts at speed 20 takes 2 time units");
+        assertEquals(1.0, floor.getAverageSpeedShare(), 1e-9, "Nobody should have slowed the customer down");
+        assertEquals(0, floor.getCustomersInService(), "The floor should be empty");
+    }
+
+    @Test
+    void testPickingStopsAddTimePerItem() {
+        ShoppingFloor floor = floor(false);
+        floor.addQueue(customer(6));
+        double departure = runUntilLeft(floor, 1).get(0);
+        assertTrue(departure >= 2.0 + 6 * ServicePoint.SHOPPING_TIME_PER_ITEM,
+                "The customer should spend the time per item on top of walking to the checkouts");
+    }
+
+    @Test
+    void testCrowdSlowsCustomersDown() {
+        ShoppingFloor floor = floor(false);
+        for (int i = 0; i < 200; i++) {
+            floor.addQueue(customer(0));
+        }
+        assertEquals(200, floor.getCustomers().size(), "Everyone should be on the floor");
+        List<Double> departures = runUntilLeft(floor, 200);
+        assertTrue(departures.get(0) > 2.0, "A crowd walking together should be slower than a lone customer");
+        assertTrue(floor.getAverageSpeedShare() < 0.5, "The crowd should move well below walking speed");
+        assertEquals(200, floor.getPeakShoppers(), "The whole crowd was on the floor at once");
+    }
+
+    @Test
+    void testParallelStepsMatchSequentialSteps() {
+        ShoppingFloor sequential = floor(false);
+        for (int i = 0; i < 2000; i++) {
+            sequential.addQueue(customer(0));
+        }
+        List<Double> expected = runUntilLeft(sequential, 2000);
+
+        Clock.getInstance().setTime(0);
+        eventList.clear();
+        ShoppingFloor parallel = floor(true);
+        for (int i = 0; i < 2000; i++) {
+            parallel.addQueue(customer(0));
+        }
+        assertEquals(expected, runUntilLeft(parallel, 2000), "Parallel steps should move everyone the same way");
+    }
+}
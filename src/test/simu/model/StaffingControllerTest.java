@@ -0,0 +1,62 @@
+package simu.model;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import eduni.distributions.ContinuousGenerator;
+import simu.data.SimulationConfig;
+import simu.framework.Clock;
+import simu.framework.EventList;
+
+class StaffingControllerTest {
+    private ContinuousGenerator generator;
+    private EventList eventList;
+    private SimulationConfig config;
+
+    @BeforeEach
+    void setUp() {
+        Clock.getInstance().setTime(0);
+        generator = mock(ContinuousGenerator.class);
+        when(generator.sample()).thenReturn(10.0);
+        eventList = mock(EventList.class);
+        config = new SimulationConfig();
+    }
+
+    @Test
+    void testOpensAndClosesOnQueueLength() {
+        ServicePoint checkout = new ServicePoint(generator, eventList, EventType.DEP3, 3, false);
+        new StaffingController(2.0, 0.0, false, 1).manage(checkout, 10.0);
+        assertEquals(1, checkout.getOpenServers(), "Only the minimum number of servers should start open");
+
+        checkout.addQueue(new Customer(config));
+        assertEquals(1, checkout.getOpenServers(), "One waiting customer is below the open threshold");
+        checkout.addQueue(new Customer(config));
+        assertEquals(2, checkout.getOpenServers(), "Two waiting customers per open server should open a server");
+
+        checkout.beginService();
+        assertEquals(2, checkout.getCustomersInService(), "Both open servers should be serving");
+        assertEquals(1, checkout.getOpenServers(), "An empty queue should close a server again");
+
+        checkout.removeQueue(0);
+        checkout.removeQueue(1);
+        assertEquals(0, checkout.getCustomersInService(), "Both customers should have finished");
+        assertFalse(checkout.isReserved(), "The open server should be idle");
+    }
+
+    @Test
+    void testClosedLaneGetsNoNewCustomers() {
+        ServicePoint checkout = new ServicePoint(generator, eventList, EventType.DEP3, 3, true);
+        checkout.setOpenServers(2);
+        assertFalse(checkout.isServerOpen(2), "The highest numbered idle lane should be closed first");
+
+        for (int i = 0; i < 4; i++) {
+            checkout.addQueue(new Customer(config));
+        }
+        assertEquals(0, checkout.getLaneLength(2), "Customers should not join a closed lane");
+        assertEquals(2, checkout.getLaneLength(0), "Customers should spread over the open lanes");
+
+        checkout.addQueue(new Customer(config), 2);
+        assertEquals(0, checkout.getLaneLength(2), "A customer sent to a closed lane should join an open one");
+    }
+}
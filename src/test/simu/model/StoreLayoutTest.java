@@ -0,0 +1,60 @@
+package simu.model;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoreLayoutTest {
+    // A square of aisles with a long direct walkway from the entrance to the bakery
+    private static final String LAYOUT =
+            "entrance-dairy:5,dairy-bakery:5,bakery-produce:5,produce-checkout:5,entrance-bakery:30,dairy-checkout:40";
+
+    @Test
+    void testShortestDistancesGoThroughOtherAisles() {
+        StoreLayout layout = new StoreLayout(LAYOUT);
+        assertEquals(3, layout.getAisles(), "Every node but the entrance and checkout is an aisle");
+        assertEquals(10.0, layout.getDistance("entrance", "bakery"), 1e-9, "The path through dairy is shorter than the direct walkway");
+        assertEquals(20.0, layout.getDistance("entrance", "checkout"), 1e-9, "The shortest path goes through every aisle");
+        assertEquals(10.0, layout.getDistance("produce", "dairy"), 1e-9, "Walkways can be walked both ways");
+    }
+
+    @Test
+    void testRouteVisitsEveryAisleOfTheBasket() {
+        StoreLayout layout = new StoreLayout(LAYOUT);
+        long all = (1L << layout.getAisles()) - 1;
+        assertEquals(20.0, layout.getRouteLength(all), 1e-9, "Visiting every aisle in order is the shortest route");
+        assertEquals(20.0, layout.getRouteLength(0L), 1e-9, "An empty basket walks straight to the checkout");
+        assertEquals(2, layout.getCachedRoutes(), "Both routes should be cached");
+        assertEquals(20.0, layout.getRouteLength(all), 1e-9, "A cached route should have the same length");
+        assertEquals(2, layout.getCachedRoutes(), "A cached route should not be planned again");
+    }
+
+    @Test
+    void testTwoOptFixesCrossedRoute() {
+        // Nearest neighbour goes entrance, b, a, c and then walks back past a to the checkout
+        StoreLayout layout = new StoreLayout("entrance-a:3,a-b:3,entrance-b:2.9,b-c:3,a-checkout:1,c-checkout:20");
+        long basket = (1L << layout.getAisles()) - 1;
+        assertEquals(layout.getDistance("entrance", "c") + layout.getDistance("c", "b")
+                        + layout.getDistance("b", "a") + layout.getDistance("a", "checkout"),
+                layout.getRouteLength(basket), 1e-9, "The route should end at the aisle next to the checkout");
+    }
+
+    @Test
+    void testSampledBasketsUseOnlyWeightedAisles() {
+        StoreLayout layout = new StoreLayout(LAYOUT, "dairy:0,produce:0");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0b10L, layout.sampleBasket(5), "Every item should come from the bakery");
+        }
+    }
+
+    @Test
+    void testInvalidLayouts() {
+        assertThrows(IllegalArgumentException.class, () -> new StoreLayout("entrance-checkout:5"),
+                "A layout needs an aisle");
+        assertThrows(IllegalArgumentException.class, () -> new StoreLayout("entrance-dairy:5,bakery-checkout:5"),
+                "Every aisle must be reachable");
+        assertThrows(IllegalArgumentException.class, () -> new StoreLayout("entrance-dairy"),
+                "Walkways need a distance");
+        assertThrows(IllegalArgumentException.class, () -> new StoreLayout(LAYOUT, "deli:2"),
+                "Weights must name known aisles");
+    }
+}
@@ -0,0 +1,50 @@
+package simu.model;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import simu.data.SimulationConfig;
+import simu.framework.Clock;
+
+class WarmStartTest {
+    private SimulationConfig config;
+
+    @BeforeEach
+    void setUp() {
+        Clock.getInstance().setTime(0);
+        Customer.resetStatistics();
+        config = new SimulationConfig();
+    }
+
+    @Test
+    void testSteadyStateCustomersMatchCheckoutRules() {
+        // Light load so that every checkout has a steady state
+        config.setArrivalParam(40.0);
+        WarmStart warmStart = new WarmStart(config);
+
+        for (int run = 0; run < 20; run++) {
+            StoreState state = warmStart.sampleSteadyState();
+            for (Customer customer : state.getCustomers(ServicePointType.EXPRESS_CHECKOUT)) {
+                assertTrue(customer.getType() == CustomerType.EXPRESS || customer.getItems() <= 10,
+                        "Express checkout customers should be express customers or have few items");
+            }
+            for (Customer customer : state.getCustomers(ServicePointType.REGULAR_CHECKOUT)) {
+                assertEquals(CustomerType.REGULAR, customer.getType(), "Regular checkout customers should be regular");
+                assertTrue(customer.getItems() > 10, "Regular checkout customers should have more than 10 items");
+                assertEquals(ServicePointType.REGULAR_CHECKOUT, customer.getCurrentLocation(),
+                        "Customer location should be the service point it was placed at");
+            }
+        }
+    }
+
+    @Test
+    void testUnstableServicePointStartsEmpty() {
+        // A single-server shopping area takes far longer than the time between arrivals
+        config.setArrivalParam(1.0);
+        config.setShoppingServers(1);
+        StoreState state = new WarmStart(config).sampleSteadyState();
+
+        assertTrue(state.getCustomers(ServicePointType.SHOPPING).isEmpty(),
+                "A service point without a steady state should start empty");
+    }
+}